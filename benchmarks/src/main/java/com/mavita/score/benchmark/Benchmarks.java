@@ -0,0 +1,42 @@
+package com.mavita.score.benchmark;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * <p>Delegates to the JMH launcher with the GC profiler ({@code -prof gc}) enabled, so every result
+ * also reports the allocation rate ({@code gc.alloc.rate.norm}, bytes per operation). Accepts the
+ * usual JMH options, for example:
+ *
+ * <pre>{@code
+ * java -jar target/benchmarks.jar ScoreServiceBenchmark -rf json -rff baseline.json
+ * }</pre>
+ *
+ * <p>To judge a hot-path change, run the same selection before and after it on the same machine
+ * and compare the scores and {@code gc.alloc.rate.norm}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class Benchmarks {
+
+  private Benchmarks() {}
+
+  public static void main(String[] args) throws Exception {
+    Main.main(
+        hasGcProfiler(args)
+            ? args
+            : Stream.concat(Stream.of("-prof", "gc"), Arrays.stream(args))
+                .toArray(String[]::new));
+  }
+
+  private static boolean hasGcProfiler(String[] args) {
+    for (int i = 0; i + 1 < args.length; i++) {
+      if (args[i].equals("-prof") && args[i + 1].startsWith("gc")) return true;
+    }
+    return false;
+  }
+}
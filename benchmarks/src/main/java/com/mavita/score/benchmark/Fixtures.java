@@ -0,0 +1,204 @@
+package com.mavita.score.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mavita.score.config.ScoreOffHeapProperties;
+import com.mavita.score.config.ScoreRulesProperties;
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.domain.health.PersonalFamilyHistory;
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.offheap.OffHeapHealthRepository;
+import com.mavita.score.repository.offheap.OffHeapProfileRepository;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.health.dto.PersonalFamilyHistoryDTO;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.RuleSetSource;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Deterministic inputs and collaborators shared by the benchmarks.
+ *
+ * <p>Questionnaires are drawn from a fixed seed so every run scores the same population. Answers
+ * lean towards the low-risk end (half of the users pick the healthiest answer of each question,
+ * most report no chronic or parental condition), ages span 18 to 80 and the BMI spans every band.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class Fixtures {
+
+  /** Number of distinct questionnaires; a power of two so benchmarks can cycle with a mask. */
+  static final int SIZE = 1024;
+
+  static final long SEED = 20_240_501L;
+
+  private static final String[] CONDITIONS = {
+    "DIABETES", "HIGH_BLOOD_PRESSURE", "ASTHMA", "HEART_DISEASE", "DEPRESSION", "OTHER"
+  };
+
+  private Fixtures() {}
+
+  /**
+   * Builds a scoring engine on the rule set shipped with the service.
+   *
+   * @return a scoring engine that records its metrics in a private registry
+   */
+  static ScoringEngine scoringEngine() {
+    return new ScoringEngine(
+        new RuleSetSource(
+            new DefaultResourceLoader(),
+            new ScoreRulesProperties("classpath:rules/score-rules.yml", Duration.ofSeconds(30))),
+        new SimpleMeterRegistry());
+  }
+
+  /**
+   * Builds an object mapper configured like the one Spring Boot provides to the service, which
+   * writes dates and durations as ISO-8601 strings.
+   *
+   * @return the object mapper
+   */
+  static ObjectMapper objectMapper() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+            SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .build();
+  }
+
+  /**
+   * Generates {@link #SIZE} valid questionnaires.
+   *
+   * @return the profiles and health data, each with its own {@code userUuid}
+   */
+  static List<ScoreInputsDTO> inputs() {
+    final Random random = new Random(SEED);
+    final LocalDate today = LocalDate.now();
+    final List<ScoreInputsDTO> inputs = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      final UUID userUuid = new UUID(random.nextLong(), random.nextLong());
+      final ProfileDTO profile =
+          new ProfileDTO(
+              userUuid,
+              today.minusYears(18 + random.nextInt(63)).minusDays(random.nextInt(365)),
+              Math.round((48 + random.nextDouble() * 72) * 10) / 10.0,
+              Math.round((1.50 + random.nextDouble() * 0.45) * 100) / 100.0,
+              random.nextBoolean() ? "FEMALE" : "MALE",
+              pick(random, "NO", "YES"),
+              pick(random, "NO", "YES"));
+      final HealthDTO health =
+          new HealthDTO(
+              userUuid,
+              random.nextInt(5) == 0,
+              pick(random, "NONE", "WEEKENDS", "DAILY"),
+              pick(random, "ALWAYS", "OFTEN", "RARELY"),
+              pick(random, "HEALTHY", "AVERAGE", "UNHEALTHY"),
+              pick(random, "YES", "SOMETIMES", "RARELY"),
+              pick(
+                  random,
+                  "BETWEEN_SEVEN_AND_EIGHT",
+                  "BETWEEN_SIX_AND_SEVEN",
+                  "MORE_THAN_EIGHT",
+                  "LESS_THAN_SIX"),
+              pick(random, "RARELY", "SOMETIMES", "FREQUENTLY"),
+              pick(random, "RARELY", "SOMETIMES", "ALMOST_EVERY_DAY"),
+              pick(random, "NO", "SOMETIMES", "FREQUENTLY"),
+              pick(random, "RARELY", "SOMETIMES", "YES"),
+              pick(random, "RARELY", "SOMETIMES", "YES"),
+              pick(random, "RARELY", "SOMETIMES", "YES"),
+              new PersonalFamilyHistoryDTO(conditions(random), conditions(random), null, null),
+              pick(random, "NO", "SOMETIMES", "YES"),
+              pick(random, "NO", "SOMETIMES", "YES"),
+              pick(random, "YES", "SOMETIMES", "NO"));
+      inputs.add(new ScoreInputsDTO(profile, health));
+    }
+    return List.copyOf(inputs);
+  }
+
+  /**
+   * Builds an empty off-heap profile repository that never saves its documents to disk.
+   *
+   * @return the repository
+   */
+  static OffHeapProfileRepository offHeapProfileRepository() {
+    return new OffHeapProfileRepository(offHeapProperties(), new SimpleMeterRegistry());
+  }
+
+  /**
+   * Builds an empty off-heap health repository that never saves its documents to disk.
+   *
+   * @return the repository
+   */
+  static OffHeapHealthRepository offHeapHealthRepository() {
+    return new OffHeapHealthRepository(offHeapProperties(), new SimpleMeterRegistry());
+  }
+
+  static Profile profile(ProfileDTO dto) {
+    return new Profile(
+        null,
+        dto.userUuid(),
+        dto.birthDate(),
+        dto.weight(),
+        dto.height(),
+        dto.sex(),
+        dto.lgbtqiaStatus(),
+        dto.pregnancyStatus(),
+        null);
+  }
+
+  static Health health(HealthDTO dto) {
+    return new Health(
+        null,
+        dto.userUuid(),
+        dto.smokes(),
+        dto.alcoholConsumption(),
+        dto.physicalActivityLevel(),
+        dto.dietQuality(),
+        dto.healthFeeling(),
+        dto.averageSleepWindow(),
+        dto.sleepDifficulty(),
+        dto.nightAwakeningFrequency(),
+        dto.wakeUpMood(),
+        dto.anxietyShortnessBreath(),
+        dto.stressLevel(),
+        dto.sadnessLevel(),
+        new PersonalFamilyHistory(
+            dto.personalFamilyHistory().chronicConditions(),
+            dto.personalFamilyHistory().parentalConditions(),
+            dto.personalFamilyHistory().chronicOther(),
+            dto.personalFamilyHistory().parentalOther()),
+        dto.diabetesSymptomLevel(),
+        dto.headacheDizzinessLevel(),
+        dto.preventiveExamFrequency(),
+        null);
+  }
+
+  private static ScoreOffHeapProperties offHeapProperties() {
+    return new ScoreOffHeapProperties(DataSize.ofMegabytes(1), null, Duration.ofMinutes(5));
+  }
+
+  /** Picks the first (healthiest) answer half of the time, any other answer otherwise. */
+  private static String pick(Random random, String... answers) {
+    return random.nextBoolean() ? answers[0] : answers[1 + random.nextInt(answers.length - 1)];
+  }
+
+  private static List<String> conditions(Random random) {
+    if (random.nextInt(10) < 7) return List.of("NONE");
+    final List<String> conditions = new ArrayList<>(List.of(CONDITIONS));
+    final int count = 1 + random.nextInt(3);
+    while (conditions.size() > count) {
+      conditions.remove(random.nextInt(conditions.size()));
+    }
+    return List.copyOf(conditions);
+  }
+}
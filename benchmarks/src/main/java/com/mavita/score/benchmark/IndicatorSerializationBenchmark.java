@@ -0,0 +1,86 @@
+package com.mavita.score.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mavita.score.config.ScoreCacheProperties;
+import com.mavita.score.service.score.cache.IndicatorJsonCache;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of encoding a user's {@code List<IndicatorScoreDTO>} as the JSON body of {@code GET
+ * /api/scores}.
+ *
+ * <ul>
+ *   <li>{@link #objectMapper()}: plain Jackson serialization with the application's settings;
+ *   <li>{@link #interned()}: the {@link IndicatorJsonCache} splice the endpoint actually uses.
+ * </ul>
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorSerializationBenchmark {
+
+  private ObjectWriter writer;
+  private IndicatorJsonCache indicatorJsonCache;
+  private String ruleVersion;
+  private HealthScoreSummaryDTO[] summaries;
+  private List<List<IndicatorScoreDTO>> indicators;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final ScoringEngine scoringEngine = Fixtures.scoringEngine();
+    final ObjectMapper objectMapper = Fixtures.objectMapper();
+    final List<ScoreInputsDTO> inputs = Fixtures.inputs();
+    writer = objectMapper.writer();
+    indicatorJsonCache =
+        new IndicatorJsonCache(
+            new ScoreCacheProperties(100_000, Duration.ofHours(1), 10_000),
+            scoringEngine,
+            objectMapper,
+            new SimpleMeterRegistry());
+    ruleVersion = scoringEngine.ruleVersion();
+    summaries = new HealthScoreSummaryDTO[inputs.size()];
+    for (int i = 0; i < summaries.length; i++) {
+      summaries[i] = new HealthScoreSummaryDTO();
+      scoringEngine.evaluate(inputs.get(i).profile(), inputs.get(i).health(), summaries[i]);
+    }
+    indicators = Arrays.stream(summaries).map(scoringEngine::indicators).toList();
+  }
+
+  @Benchmark
+  public byte[] objectMapper() throws JsonProcessingException {
+    return writer.writeValueAsBytes(indicators.get(next++ & (Fixtures.SIZE - 1)));
+  }
+
+  @Benchmark
+  public byte[] interned() {
+    final int index = next++ & (Fixtures.SIZE - 1);
+    return indicatorJsonCache.toJson(ruleVersion, summaries[index], indicators.get(index));
+  }
+}
@@ -0,0 +1,141 @@
+package com.mavita.score.benchmark;
+
+import com.mavita.score.config.ScoreJwtProperties;
+import com.mavita.score.security.JwtClaims;
+import com.mavita.score.security.JwtVerifier;
+import com.mavita.score.utils.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading the user from the {@code Authorization} header of every request.
+ *
+ * <ul>
+ *   <li>{@link #extractSub()}: the unverified decode of {@link JwtUtils#extractSub(String)};
+ *   <li>{@link #verify()}: {@link JwtVerifier} once the tokens are cached, i.e. a client reusing
+ *       its token;
+ *   <li>{@link #verifyUncached()}: {@link JwtVerifier} checking the RS256 signature every time.
+ * </ul>
+ *
+ * <p>Tokens are shaped like access tokens of an OpenID Connect provider: an RS256 header, a payload
+ * with the usual registered claims plus roles and scopes (about 600 bytes), and a 256-byte
+ * signature. Each invocation reads the next of {@link Fixtures#SIZE} distinct tokens.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+  private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+  private String[] headers;
+  private JwtVerifier verifier;
+  private JwtVerifier uncachedVerifier;
+  private int next;
+
+  @Setup
+  public void setUp() throws GeneralSecurityException {
+    final KeyPair keys = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+    final String publicKey =
+        "-----BEGIN PUBLIC KEY-----\n"
+            + Base64.getMimeEncoder().encodeToString(keys.getPublic().getEncoded())
+            + "\n-----END PUBLIC KEY-----";
+    verifier = verifier(publicKey, 10_000);
+    uncachedVerifier = verifier(publicKey, 0);
+
+    final Signature rsa = Signature.getInstance("SHA256withRSA");
+    rsa.initSign(keys.getPrivate());
+    final Random random = new Random(Fixtures.SEED);
+    final String header = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"3f1c2a9b\"}");
+    headers = new String[Fixtures.SIZE];
+    for (int i = 0; i < headers.length; i++) {
+      final long issuedAt = Instant.now().getEpochSecond() - random.nextInt(600);
+      final String payload =
+          """
+          {"exp":%d,"iat":%d,"auth_time":%d,"jti":"%s",\
+          "iss":"https://auth.mavita.com/realms/mavita","aud":"account",\
+          "sub":"%s","typ":"Bearer","azp":"mavita-app","session_state":"%s",\
+          "realm_access":{"roles":["offline_access","uma_authorization","default-roles"]},\
+          "resource_access":{"account":{"roles":["manage-account","view-profile"]}},\
+          "scope":"openid email profile","sid":"%s","email_verified":true,\
+          "name":"Maria Silva","preferred_username":"maria.silva%d@example.com",\
+          "given_name":"Maria","family_name":"Silva","email":"maria.silva%d@example.com"}"""
+              .formatted(
+                  issuedAt + 3600,
+                  issuedAt,
+                  issuedAt,
+                  uuid(random),
+                  uuid(random),
+                  uuid(random),
+                  uuid(random),
+                  i,
+                  i);
+      final String signed = header + '.' + encode(payload);
+      rsa.update(signed.getBytes(StandardCharsets.US_ASCII));
+      headers[i] = "Bearer " + signed + '.' + BASE64URL.encodeToString(rsa.sign());
+      verifier.verify(headers[i]);
+    }
+  }
+
+  @Benchmark
+  public Optional<String> extractSub() {
+    return JwtUtils.extractSub(headers[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  @Benchmark
+  public JwtClaims verify() {
+    return verifier.verify(headers[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  @Benchmark
+  public JwtClaims verifyUncached() {
+    return uncachedVerifier.verify(headers[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  private static JwtVerifier verifier(String publicKey, long cacheSize) {
+    return new JwtVerifier(
+        new ScoreJwtProperties(
+            true,
+            null,
+            publicKey,
+            "https://auth.mavita.com/realms/mavita",
+            Duration.ofSeconds(30),
+            cacheSize),
+        new SimpleMeterRegistry());
+  }
+
+  private static String encode(String json) {
+    return BASE64URL.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static UUID uuid(Random random) {
+    return new UUID(random.nextLong(), random.nextLong());
+  }
+}
@@ -0,0 +1,71 @@
+package com.mavita.score.benchmark;
+
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.offheap.OffHeapHealthRepository;
+import com.mavita.score.repository.offheap.OffHeapProfileRepository;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a lookup in the off-heap repositories ({@code offheap} profile): a hash probe plus
+ * decoding the document from its direct buffer. Each invocation reads the next of {@link
+ * Fixtures#SIZE} users.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffHeapRepositoryBenchmark {
+
+  private OffHeapProfileRepository profileRepository;
+  private OffHeapHealthRepository healthRepository;
+  private UUID[] userUuids;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final List<ScoreInputsDTO> inputs = Fixtures.inputs();
+    profileRepository = Fixtures.offHeapProfileRepository();
+    healthRepository = Fixtures.offHeapHealthRepository();
+    userUuids = new UUID[inputs.size()];
+    for (int i = 0; i < inputs.size(); i++) {
+      userUuids[i] = inputs.get(i).profile().userUuid();
+      profileRepository.save(Fixtures.profile(inputs.get(i).profile()));
+      healthRepository.save(Fixtures.health(inputs.get(i).health()));
+    }
+  }
+
+  @Benchmark
+  public Optional<Profile> findProfile() {
+    return profileRepository.findByUserUuid(userUuids[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  @Benchmark
+  public Optional<Health> findHealth() {
+    return healthRepository.findByUserUuid(userUuids[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  @Benchmark
+  public boolean existsHealth() {
+    return healthRepository.existsByUserUuid(userUuids[next++ & (Fixtures.SIZE - 1)]);
+  }
+}
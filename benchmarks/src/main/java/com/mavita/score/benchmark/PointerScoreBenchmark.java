@@ -0,0 +1,127 @@
+package com.mavita.score.benchmark;
+
+import com.mavita.score.config.ScoreCacheProperties;
+import com.mavita.score.config.ScoreFetchProperties;
+import com.mavita.score.config.ScorePresenceProperties;
+import com.mavita.score.repository.offheap.OffHeapHealthRepository;
+import com.mavita.score.repository.offheap.OffHeapProfileRepository;
+import com.mavita.score.service.HealthPointerScoreService;
+import com.mavita.score.service.HealthScoreService;
+import com.mavita.score.service.health.HealthService;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.profile.ProfileService;
+import com.mavita.score.service.score.cache.IndicatorCache;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link HealthPointerScoreService#calculateTotalScore(String)} without MongoDB.
+ *
+ * <p>The repositories are the off-heap ones ({@link OffHeapProfileRepository}, {@link
+ * OffHeapHealthRepository}) holding the entities of {@link Fixtures#inputs()}, so the result covers
+ * everything the service does around the database: the concurrent lookups on virtual threads, the
+ * entity to DTO mapping, fingerprinting, the {@link IndicatorCache} and, on a miss, scoring and the
+ * indicators.
+ *
+ * <ul>
+ *   <li>{@link #calculateTotalScore()}: the whole request path;
+ *   <li>{@link #calculate()}: the same without the lookups.
+ * </ul>
+ *
+ * <p>{@code cacheSize=0} disables the indicator cache so every call is scored; with the default
+ * size every questionnaire is cached after the warmup.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointerScoreBenchmark {
+
+  @Param({"0", "100000"})
+  public long cacheSize;
+
+  private ExecutorService executor;
+  private HealthPointerScoreService service;
+  private List<ScoreInputsDTO> inputs;
+  private String[] userUuids;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    inputs = Fixtures.inputs();
+    userUuids = new String[inputs.size()];
+    final OffHeapProfileRepository profileRepository = Fixtures.offHeapProfileRepository();
+    final OffHeapHealthRepository healthRepository = Fixtures.offHeapHealthRepository();
+    for (int i = 0; i < inputs.size(); i++) {
+      final ScoreInputsDTO input = inputs.get(i);
+      userUuids[i] = input.profile().userUuid().toString();
+      profileRepository.save(Fixtures.profile(input.profile()));
+      healthRepository.save(Fixtures.health(input.health()));
+    }
+
+    final UserPresenceFilter presenceFilter =
+        new UserPresenceFilter(
+            profileRepository,
+            healthRepository,
+            new ScorePresenceProperties(
+                true, inputs.size(), 0.01, Duration.ofSeconds(5), Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+    presenceFilter.refresh();
+
+    final ScoringEngine scoringEngine = Fixtures.scoringEngine();
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    service =
+        new HealthPointerScoreService(
+            new HealthScoreService(
+                scoringEngine,
+                new ProfileService(profileRepository, presenceFilter, event -> {}),
+                new HealthService(healthRepository, presenceFilter, event -> {}),
+                executor,
+                new ScoreFetchProperties(Duration.ofSeconds(2))),
+            scoringEngine,
+            new IndicatorCache(
+                new ScoreCacheProperties(cacheSize, Duration.ofHours(1), 10_000),
+                new SimpleMeterRegistry()),
+            new SimpleMeterRegistry());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.close();
+  }
+
+  @Benchmark
+  public List<IndicatorScoreDTO> calculateTotalScore() {
+    return service.calculateTotalScore(userUuids[next++ & (Fixtures.SIZE - 1)]);
+  }
+
+  @Benchmark
+  public List<IndicatorScoreDTO> calculate() {
+    final ScoreInputsDTO input = inputs.get(next++ & (Fixtures.SIZE - 1));
+    return service.calculate(input.profile(), input.health());
+  }
+}
@@ -0,0 +1,83 @@
+package com.mavita.score.benchmark;
+
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.ScoreService;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one {@link ScoreService#calculateScore} call, for each implementation.
+ *
+ * <p>Each invocation scores the next questionnaire of {@link Fixtures#inputs()}. The single pass
+ * that fills the whole summary on the request path is measured by {@link
+ * ScoringEngineBenchmark#evaluate()}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreServiceBenchmark {
+
+  @Param({
+    "AgeScoreService",
+    "BmiScoreService",
+    "SmokingScoreService",
+    "AlcoholConsumptionScoreService",
+    "PhysicalActivityScoreService",
+    "DietQualityScoreService",
+    "HealthFeelingScoreService",
+    "SleepHoursScoreService",
+    "SleepDifficultyScoreService",
+    "NightAwakeningScoreService",
+    "WakeUpMoodScoreService",
+    "AnxietyShortnessBreathScoreService",
+    "StressLevelScoreService",
+    "SadnessLevelScoreService",
+    "ChronicConditionScoreService",
+    "ParentalConditionScoreService",
+    "DiabetesSymptomScoreService",
+    "HeadacheDizzinessScoreService",
+    "PreventiveExamScoreService"
+  })
+  public String service;
+
+  private ScoreService scoreService;
+  private List<ScoreInputsDTO> inputs;
+  private int next;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    scoreService =
+        (ScoreService)
+            Class.forName(ScoreService.class.getPackageName() + "." + service)
+                .getConstructor(ScoringEngine.class)
+                .newInstance(Fixtures.scoringEngine());
+    inputs = Fixtures.inputs();
+  }
+
+  @Benchmark
+  public HealthScoreSummaryDTO scoreService() {
+    final ScoreInputsDTO input = inputs.get(next++ & (Fixtures.SIZE - 1));
+    final HealthScoreSummaryDTO summary = new HealthScoreSummaryDTO();
+    scoreService.calculateScore(input.profile(), input.health(), summary);
+    return summary;
+  }
+}
@@ -0,0 +1,67 @@
+package com.mavita.score.benchmark;
+
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the two stages of the scoring pipeline as the request path runs them.
+ *
+ * <ul>
+ *   <li>{@link #evaluate()}: every component score in one pass of {@link ScoringEngine#evaluate};
+ *   <li>{@link #indicators()}: every indicator of the rule set from a computed summary.
+ * </ul>
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringEngineBenchmark {
+
+  private ScoringEngine scoringEngine;
+  private List<ScoreInputsDTO> inputs;
+  private HealthScoreSummaryDTO[] summaries;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    scoringEngine = Fixtures.scoringEngine();
+    inputs = Fixtures.inputs();
+    summaries = new HealthScoreSummaryDTO[inputs.size()];
+    for (int i = 0; i < summaries.length; i++) {
+      summaries[i] = new HealthScoreSummaryDTO();
+      scoringEngine.evaluate(inputs.get(i).profile(), inputs.get(i).health(), summaries[i]);
+    }
+  }
+
+  @Benchmark
+  public HealthScoreSummaryDTO evaluate() {
+    final ScoreInputsDTO input = inputs.get(next++ & (Fixtures.SIZE - 1));
+    final HealthScoreSummaryDTO summary = new HealthScoreSummaryDTO();
+    scoringEngine.evaluate(input.profile(), input.health(), summary);
+    return summary;
+  }
+
+  @Benchmark
+  public List<IndicatorScoreDTO> indicators() {
+    return scoringEngine.indicators(summaries[next++ & (Fixtures.SIZE - 1)]);
+  }
+}
@@ -0,0 +1,53 @@
+package com.mavita.score.config;
+
+import com.mavita.score.deadline.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors shared by the scoring pipeline.
+ *
+ * <p>Blocking I/O (MongoDB lookups) runs on virtual threads so that concurrent lookups of the same
+ * request do not pin platform threads while waiting on the network. CPU-bound scoring of batch
+ * imports runs on a small fixed pool instead, so one large import cannot starve the other requests.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Executor that starts a new virtual thread per task, used to fan out repository lookups. Tasks
+   * run with the {@link Deadline} of the request that submitted them.
+   *
+   * @return a virtual-thread-per-task executor, closed on context shutdown
+   */
+  @Bean(destroyMethod = "close")
+  public ExecutorService scoreFetchExecutor() {
+    return Deadline.propagating(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * Fixed pool that scores the records of batch imports.
+   *
+   * <p>Queue length, active threads and task durations are published as {@code executor.*}
+   * metrics tagged {@code name=scoreBatchExecutor}.
+   *
+   * @param properties the batch configuration
+   * @param meterRegistry where the pool's metrics are registered
+   * @return a fixed-size platform thread pool, shut down on context shutdown
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService scoreBatchExecutor(
+      ScoreBatchProperties properties, MeterRegistry meterRegistry) {
+    return ExecutorServiceMetrics.monitor(
+        meterRegistry,
+        Executors.newFixedThreadPool(properties.parallelism()),
+        "scoreBatchExecutor");
+  }
+}
@@ -0,0 +1,57 @@
+package com.mavita.score.config;
+
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.domain.score.ScoreHistoryBucket;
+import com.mavita.score.domain.score.ScoreSnapshot;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates, at startup, the indexes declared on the documents whose correctness depends on them.
+ *
+ * <p>Automatic index creation is off, so the annotations on the documents are not applied on their
+ * own. Some writes rely on a unique index to detect concurrent writers, though: the first {@link
+ * Profile}, {@link Health} and {@link ScoreSnapshot} of a user, and the first {@link
+ * ScoreHistoryBucket} of a user and month, are only inserted if no other writer inserted one
+ * first. The indexes of these documents are therefore created before the application serves
+ * requests. Creating an index that already exists does nothing; one that conflicts with an
+ * existing index, or a unique index over documents that already break it, fails the startup.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer implements ApplicationRunner {
+
+  private static final List<Class<?>> DOCUMENTS =
+      List.of(Profile.class, Health.class, ScoreSnapshot.class, ScoreHistoryBucket.class);
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    final IndexResolver resolver =
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+    for (Class<?> document : DOCUMENTS) {
+      final IndexOperations indexOps = mongoTemplate.indexOps(document);
+      resolver
+          .resolveIndexFor(document)
+          .forEach(
+              index ->
+                  log.info(
+                      "Ensured index {} of {}",
+                      indexOps.createIndex(index),
+                      mongoTemplate.getCollectionName(document)));
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.mavita.score.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Infrastructure of the reactive stack, active when the application runs as a reactive web
+ * application (the {@code reactive} profile sets {@code spring.main.web-application-type}).
+ *
+ * <p>Requests are served by Netty, whose few event-loop threads must never block: MongoDB is
+ * accessed through the reactive driver, and CPU-bound scoring is moved to a small bounded
+ * scheduler so that a burst of cache misses cannot stall the event loops.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+  /**
+   * Netty server. Tomcat is on the classpath for the servlet stack and would otherwise be picked
+   * for the reactive one as well.
+   *
+   * @return the reactive web server factory, customized with the {@code server.*} properties
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  /**
+   * Bounded scheduler that scores requests of the reactive endpoints.
+   *
+   * @param properties the reactive configuration
+   * @return a fixed-size scheduler of daemon threads, disposed on context shutdown
+   */
+  @Bean(destroyMethod = "dispose")
+  public Scheduler scoreScheduler(ScoreReactiveProperties properties) {
+    return Schedulers.newParallel("score-cpu", properties.parallelism(), true);
+  }
+}
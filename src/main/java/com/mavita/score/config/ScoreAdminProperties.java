@@ -0,0 +1,39 @@
+package com.mavita.score.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the administrative endpoints.
+ *
+ * <p>Bound from the {@code score.admin} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   admin:
+ *     token: change-me
+ * }</pre>
+ *
+ * @param token shared secret expected in the {@code X-Admin-Token} header; when blank, the
+ *     administrative endpoints reject every request
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.admin")
+public record ScoreAdminProperties(String token) {
+
+  /**
+   * Checks the {@code X-Admin-Token} header of a request, in constant time.
+   *
+   * @param candidate the header value, possibly {@code null}
+   * @return whether a token is configured and {@code candidate} matches it
+   */
+  public boolean accepts(String candidate) {
+    return token != null
+        && !token.isBlank()
+        && candidate != null
+        && MessageDigest.isEqual(
+            token.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,32 @@
+package com.mavita.score.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the NDJSON batch scoring endpoint.
+ *
+ * <p>Bound from the {@code score.batch} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   batch:
+ *     parallelism: 4
+ *     max-in-flight: 256
+ *     max-line-size: 64KB
+ * }</pre>
+ *
+ * @param parallelism number of worker threads scoring records
+ * @param maxInFlight maximum number of records read ahead of the last line written back; bounds
+ *     the memory used by a request regardless of its size
+ * @param maxLineSize maximum size of an input line; longer lines are skipped and reported as failed
+ *     records, so a line without a newline cannot exhaust the memory
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.batch")
+public record ScoreBatchProperties(
+    @DefaultValue("4") int parallelism,
+    @DefaultValue("256") int maxInFlight,
+    @DefaultValue("64KB") DataSize maxLineSize) {}
@@ -0,0 +1,33 @@
+package com.mavita.score.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the bulk ingestion endpoints of profiles and health data.
+ *
+ * <p>Bound from the {@code score.bulk} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   bulk:
+ *     batch-size: 500
+ *     max-errors: 1000
+ *     max-line-size: 64KB
+ * }</pre>
+ *
+ * @param batchSize number of valid records written per bulk write; the request body is not read
+ *     further while a batch is being written
+ * @param maxErrors maximum number of per-record errors listed in a response; further failures are
+ *     only counted
+ * @param maxLineSize longest NDJSON line accepted; a longer one fails as a record of its own and
+ *     its remainder is skipped without being buffered
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.bulk")
+public record ScoreBulkProperties(
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("1000") int maxErrors,
+    @DefaultValue("64KB") DataSize maxLineSize) {}
@@ -0,0 +1,31 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the in-process caches of computed scores.
+ *
+ * <p>Bound from the {@code score.cache} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   cache:
+ *     maximum-size: 100000
+ *     expire-after-write: 1h
+ *     interned-maximum-size: 10000
+ * }</pre>
+ *
+ * @param maximumSize maximum number of distinct input fingerprints kept in memory
+ * @param expireAfterWrite how long a computed summary is reused after it was computed
+ * @param internedMaximumSize maximum number of distinct summaries whose indicator JSON is kept
+ *     pre-encoded
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.cache")
+public record ScoreCacheProperties(
+    @DefaultValue("100000") long maximumSize,
+    @DefaultValue("1h") Duration expireAfterWrite,
+    @DefaultValue("10000") long internedMaximumSize) {}
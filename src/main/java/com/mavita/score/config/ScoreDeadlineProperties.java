@@ -0,0 +1,23 @@
+package com.mavita.score.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the request deadlines given by the clients.
+ *
+ * <p>Bound from the {@code score.deadline} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   deadline:
+ *     enabled: true
+ * }</pre>
+ *
+ * @param enabled whether the deadlines given by the {@code X-Request-Deadline} and {@code
+ *     grpc-timeout} headers are honored
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.deadline")
+public record ScoreDeadlineProperties(@DefaultValue("true") boolean enabled) {}
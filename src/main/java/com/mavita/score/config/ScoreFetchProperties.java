@@ -0,0 +1,23 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for loading the documents that feed the score calculation.
+ *
+ * <p>Bound from the {@code score.fetch} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   fetch:
+ *     timeout: 2s
+ * }</pre>
+ *
+ * @param timeout deadline shared by the concurrent profile and health lookups of a single request
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.fetch")
+public record ScoreFetchProperties(@DefaultValue("2s") Duration timeout) {}
@@ -0,0 +1,43 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the bearer token authentication of the {@code /api} endpoints.
+ *
+ * <p>Bound from the {@code score.jwt} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   jwt:
+ *     verify: true
+ *     hmac-secret: a-secret-of-at-least-32-bytes....
+ *     public-key: |
+ *       -----BEGIN PUBLIC KEY-----
+ *       MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEA...
+ *       -----END PUBLIC KEY-----
+ *     issuer: https://auth.mavita.com/realms/mavita
+ *     clock-skew: 30s
+ *     cache-maximum-size: 10000
+ * }</pre>
+ *
+ * @param verify whether signatures, expiry and issuer are checked; when {@code false} the subject
+ *     is read without any check, which is only acceptable for local development
+ * @param hmacSecret secret of {@code HS256} tokens (UTF-8, at least 32 bytes); blank to reject them
+ * @param publicKey PEM-encoded RSA public key of {@code RS256} tokens; blank to reject them
+ * @param issuer expected {@code iss} claim; blank to accept any issuer
+ * @param clockSkew tolerance applied to {@code exp} and {@code nbf}
+ * @param cacheMaximumSize maximum number of verified tokens remembered until they expire
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.jwt")
+public record ScoreJwtProperties(
+    @DefaultValue("true") boolean verify,
+    String hmacSecret,
+    String publicKey,
+    String issuer,
+    @DefaultValue("30s") Duration clockSkew,
+    @DefaultValue("10000") long cacheMaximumSize) {}
@@ -0,0 +1,44 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the adaptive concurrency limit of the scoring and upsert endpoints.
+ *
+ * <p>Bound from the {@code score.limiter} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   limiter:
+ *     enabled: true
+ *     initial-limit: 32
+ *     min-limit: 4
+ *     max-limit: 512
+ *     tolerance: 1.5
+ *     batch-share: 0.5
+ *     retry-after: 1s
+ * }</pre>
+ *
+ * @param enabled whether requests are limited at all
+ * @param initialLimit concurrent requests admitted before any latency was observed
+ * @param minLimit lowest the limit can shrink to
+ * @param maxLimit highest the limit can grow to
+ * @param tolerance how many times the baseline latency the recent latency may reach before the
+ *     limit shrinks
+ * @param batchShare share of the limit that bulk and batch requests may use, keeping the rest for
+ *     interactive requests
+ * @param retryAfter delay suggested to rejected clients in the {@code Retry-After} header
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.limiter")
+public record ScoreLimiterProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("32") int initialLimit,
+    @DefaultValue("4") int minLimit,
+    @DefaultValue("512") int maxLimit,
+    @DefaultValue("1.5") double tolerance,
+    @DefaultValue("0.5") double batchShare,
+    @DefaultValue("1s") Duration retryAfter) {}
@@ -0,0 +1,34 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration of the off-heap profile and health repositories, used instead of MongoDB when the
+ * application runs with the {@code offheap} profile. The other documents stay in MongoDB and the
+ * off-heap ones are private to each instance, so the profile is meant for benchmarks only.
+ *
+ * <p>Bound from the {@code score.offheap} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   offheap:
+ *     segment-size: 1MB
+ *     snapshot-directory: /var/lib/mavita/score
+ *     snapshot-interval: 5m
+ * }</pre>
+ *
+ * @param segmentSize size of the direct buffers the documents are appended to
+ * @param snapshotDirectory directory where the documents are saved periodically and on shutdown,
+ *     and loaded from on startup; when blank, the documents only live as long as the process
+ * @param snapshotInterval how often the documents are saved, when they changed
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.offheap")
+public record ScoreOffHeapProperties(
+    @DefaultValue("1MB") DataSize segmentSize,
+    String snapshotDirectory,
+    @DefaultValue("5m") Duration snapshotInterval) {}
@@ -0,0 +1,38 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the filter of users known to have no profile or no health data.
+ *
+ * <p>Bound from the {@code score.presence} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   presence:
+ *     enabled: true
+ *     expected-users: 1000000
+ *     false-positive-rate: 0.01
+ *     refresh-interval: 5s
+ *     refresh-overlap: 1m
+ * }</pre>
+ *
+ * @param enabled whether lookups of users known to be absent are skipped
+ * @param expectedUsers number of users the filters are sized for at first; they grow past it
+ * @param falsePositiveRate share of absent users that still cost a lookup
+ * @param refreshInterval how often documents created by other instances are added to the filters,
+ *     and how long a failed change stream of inserts waits before it is opened again
+ * @param refreshOverlap how far back each refresh looks before the previous one started, to cover
+ *     clock differences between the instances
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.presence")
+public record ScorePresenceProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1000000") long expectedUsers,
+    @DefaultValue("0.01") double falsePositiveRate,
+    @DefaultValue("5s") Duration refreshInterval,
+    @DefaultValue("1m") Duration refreshOverlap) {}
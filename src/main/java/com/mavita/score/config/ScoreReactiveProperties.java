@@ -0,0 +1,23 @@
+package com.mavita.score.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the reactive endpoints, served when the application runs with the {@code
+ * reactive} profile.
+ *
+ * <p>Bound from the {@code score.reactive} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   reactive:
+ *     parallelism: 4
+ * }</pre>
+ *
+ * @param parallelism number of worker threads scoring requests, off the event loop
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.reactive")
+public record ScoreReactiveProperties(@DefaultValue("4") int parallelism) {}
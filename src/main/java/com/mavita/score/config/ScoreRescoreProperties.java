@@ -0,0 +1,38 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the rescoring job.
+ *
+ * <p>Bound from the {@code score.rescore} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   rescore:
+ *     batch-size: 1000
+ *     parallelism: 4
+ *     target-write-latency: 200ms
+ *     max-pause: 5s
+ *     lease-duration: 1m
+ * }</pre>
+ *
+ * @param batchSize number of profiles read, scored and written per bulk write (and per checkpoint)
+ * @param parallelism number of fork-join workers scoring a batch
+ * @param targetWriteLatency bulk write latency above which the job backs off
+ * @param maxPause longest pause between two batches while backing off
+ * @param leaseDuration how long the instance running the job keeps it without checkpointing;
+ *     another instance can take over a job whose lease expired. Must exceed the time a batch and
+ *     the following pause take
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.rescore")
+public record ScoreRescoreProperties(
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("4") int parallelism,
+    @DefaultValue("200ms") Duration targetWriteLatency,
+    @DefaultValue("5s") Duration maxPause,
+    @DefaultValue("1m") Duration leaseDuration) {}
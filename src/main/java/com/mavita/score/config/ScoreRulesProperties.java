@@ -0,0 +1,28 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the scoring rule set.
+ *
+ * <p>Bound from the {@code score.rules} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   rules:
+ *     location: file:/etc/mavita/score-rules.yml
+ *     refresh-interval: 30s
+ * }</pre>
+ *
+ * @param location Spring resource location of the YAML rule set; point it to a file outside the
+ *     jar so clinical staff can edit it without a deployment
+ * @param refreshInterval how often the location is checked for changes
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.rules")
+public record ScoreRulesProperties(
+    @DefaultValue("classpath:rules/score-rules.yml") String location,
+    @DefaultValue("30s") Duration refreshInterval) {}
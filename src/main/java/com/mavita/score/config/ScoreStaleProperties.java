@@ -0,0 +1,32 @@
+package com.mavita.score.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of serving last-known scores when the database is slow.
+ *
+ * <p>Bound from the {@code score.stale} prefix:
+ *
+ * <pre>{@code
+ * score:
+ *   stale:
+ *     budget: 250ms
+ *     freshness: 10m
+ *     maximum-size: 100000
+ * }</pre>
+ *
+ * @param budget how long a score read may wait for the database before the last-known scores are
+ *     served instead
+ * @param freshness how long after they were last read successfully the last-known scores of a user
+ *     may still be served
+ * @param maximumSize maximum number of users whose last-known scores are kept
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "score.stale")
+public record ScoreStaleProperties(
+    @DefaultValue("250ms") Duration budget,
+    @DefaultValue("10m") Duration freshness,
+    @DefaultValue("100000") long maximumSize) {}
@@ -0,0 +1,85 @@
+package com.mavita.score.controller.admin;
+
+import com.mavita.score.config.ScoreAdminProperties;
+import com.mavita.score.service.score.rescore.RescoreJobService;
+import com.mavita.score.service.score.rescore.dto.RescoreStatusDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller exposing the administrative rescoring job.
+ *
+ * <p>Endpoints (all require the {@code X-Admin-Token} header to match {@code score.admin.token}):
+ *
+ * <ul>
+ *   <li><b>POST /api/admin/rescore</b> — start the job, or resume the last unfinished one
+ *       ({@code ?restart=true} starts over from the first profile)
+ *   <li><b>GET /api/admin/rescore</b> — progress of the current or last job
+ *   <li><b>DELETE /api/admin/rescore</b> — stop the running job after its current batch
+ * </ul>
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/admin/rescore")
+public class RescoreController {
+
+  private final RescoreJobService service;
+  private final ScoreAdminProperties adminProperties;
+
+  /**
+   * Starts the rescoring job in the background.
+   *
+   * @param restart whether to ignore an unfinished checkpoint
+   * @return 202 with the initial status, 409 if a job is already running, 403 on a bad token
+   */
+  @PostMapping
+  public ResponseEntity<RescoreStatusDTO> start(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestParam(defaultValue = "false") boolean restart) {
+    if (!adminProperties.accepts(token)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    return service
+        .start(restart)
+        .map(status -> ResponseEntity.accepted().body(status))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+  }
+
+  /**
+   * Returns the progress of the current or last job.
+   *
+   * @return 200 with the status, 404 if the job never ran, 403 on a bad token
+   */
+  @GetMapping
+  public ResponseEntity<RescoreStatusDTO> status(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+    if (!adminProperties.accepts(token)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    return service
+        .status()
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Stops the running job after its current batch.
+   *
+   * @return 202 if a job was running, 409 otherwise, 403 on a bad token
+   */
+  @DeleteMapping
+  public ResponseEntity<Void> cancel(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+    if (!adminProperties.accepts(token)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    return service.cancel()
+        ? ResponseEntity.accepted().build()
+        : ResponseEntity.status(HttpStatus.CONFLICT).build();
+  }
+}
@@ -1,10 +1,20 @@
 package com.mavita.score.controller.health;
 
+import com.mavita.score.config.ScoreAdminProperties;
+import com.mavita.score.security.JwtAuthenticationFilter;
+import com.mavita.score.service.bulk.BulkIngestionService;
+import com.mavita.score.service.bulk.dto.BulkResultDTO;
 import com.mavita.score.service.health.HealthService;
 import com.mavita.score.service.health.dto.HealthDTO;
-import com.mavita.score.utils.JwtUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
  *
  * <ul>
  *   <li><b>PUT /api/health-data/{userUuid}</b> — create or update (upsert) the health data
+ *   <li><b>POST /api/healths/bulk</b> — create or update the health data of many users
  * </ul>
  *
  * <p>Examples:
@@ -50,10 +61,13 @@ import org.springframework.web.bind.annotation.*;
  */
 @RequiredArgsConstructor
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/healths")
 public class HealthController {
 
   private final HealthService service;
+  private final BulkIngestionService bulkIngestionService;
+  private final ScoreAdminProperties adminProperties;
 
   /**
    * Creates or updates (idempotent upsert) the health data for the provided {@code userUuid}.
@@ -66,9 +80,52 @@ public class HealthController {
    */
   @PostMapping
   public ResponseEntity<HealthDTO> upsert(
-      @RequestHeader("Authorization") String authorization, @RequestBody HealthDTO body) {
-    return JwtUtils.extractSub(authorization)
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestBody HealthDTO body) {
+    return Optional.ofNullable(subject)
         .map(userUuid -> ResponseEntity.ok(service.upsert(UUID.fromString(userUuid), body)))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
+
+  /**
+   * Creates or updates the health data of many users, e.g. when onboarding an employer. Each record
+   * carries its own {@code userUuid}, so the request also needs the {@code X-Admin-Token}.
+   *
+   * <p>The body is NDJSON ({@code application/x-ndjson}) or a JSON array ({@code
+   * application/json}) of the records accepted by {@link #upsert}. It is streamed, validated and
+   * written in batches; see {@link BulkIngestionService}.
+   *
+   * <pre>{@code
+   * POST /api/healths/bulk
+   * Content-Type: application/x-ndjson
+   * X-Admin-Token: ...
+   *
+   * {"userUuid":"...",...}
+   * {"userUuid":"...",...}
+   *
+   * 200 OK
+   * {"received":2,"written":1,"unchanged":0,"superseded":0,"failed":1,"errors":[...]}
+   * }</pre>
+   *
+   * @param contentType the media type of the body
+   * @param body the records
+   * @return 200 with the counts and the per-record errors, 403 on a bad admin token
+   * @throws IOException if reading the body fails
+   */
+  @PostMapping(
+      value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkResultDTO> bulkUpsert(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body)
+      throws IOException {
+    if (!adminProperties.accepts(token)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    final boolean ndjson =
+        MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    return ResponseEntity.ok(bulkIngestionService.ingestHealths(body, ndjson));
+  }
 }
@@ -0,0 +1,86 @@
+package com.mavita.score.controller.health;
+
+import com.mavita.score.config.ScoreAdminProperties;
+import com.mavita.score.security.JwtAuthenticationFilter;
+import com.mavita.score.service.bulk.BulkIngestionService;
+import com.mavita.score.service.bulk.dto.BulkResultDTO;
+import com.mavita.score.service.health.ReactiveHealthService;
+import com.mavita.score.service.health.dto.HealthDTO;
+import java.io.InputStream;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive variant of {@link HealthController}, with the same endpoints and responses, served when
+ * the application runs with the {@code reactive} profile.
+ */
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/healths")
+public class ReactiveHealthController {
+
+  private static final int BULK_READ_AHEAD = 16;
+
+  private final ReactiveHealthService service;
+  private final BulkIngestionService bulkIngestionService;
+  private final ScoreAdminProperties adminProperties;
+
+  /**
+   * Creates or updates (idempotent upsert) the health data of the authenticated user.
+   *
+   * @param body DTO containing health data fields
+   * @return 200 with the saved data
+   */
+  @PostMapping
+  public Mono<ResponseEntity<HealthDTO>> upsert(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestBody HealthDTO body) {
+    return Mono.justOrEmpty(subject)
+        .flatMap(userUuid -> service.upsert(UUID.fromString(userUuid), body))
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Creates or updates the health data of many users; see {@link HealthController#bulkUpsert}. The
+   * blocking ingestion runs on {@link Schedulers#boundedElastic()}, reading the body as it
+   * arrives.
+   *
+   * @param contentType the media type of the body
+   * @param body the records
+   * @return 200 with the counts and the per-record errors, 403 on a bad admin token
+   */
+  @PostMapping(
+      value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<BulkResultDTO>> bulkUpsert(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      @RequestBody Flux<DataBuffer> body) {
+    if (!adminProperties.accepts(token)) {
+      return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+    final boolean ndjson =
+        MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    return Mono.fromCallable(
+            () -> {
+              try (InputStream in = DataBufferUtils.subscriberInputStream(body, BULK_READ_AHEAD)) {
+                return ResponseEntity.ok(bulkIngestionService.ingestHealths(in, ndjson));
+              }
+            })
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+}
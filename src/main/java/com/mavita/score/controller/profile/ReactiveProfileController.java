@@ -0,0 +1,86 @@
+package com.mavita.score.controller.profile;
+
+import com.mavita.score.config.ScoreAdminProperties;
+import com.mavita.score.security.JwtAuthenticationFilter;
+import com.mavita.score.service.bulk.BulkIngestionService;
+import com.mavita.score.service.bulk.dto.BulkResultDTO;
+import com.mavita.score.service.profile.ReactiveProfileService;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import java.io.InputStream;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive variant of {@link ProfileController}, with the same endpoints and responses, served
+ * when the application runs with the {@code reactive} profile.
+ */
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/user-profiles")
+public class ReactiveProfileController {
+
+  private static final int BULK_READ_AHEAD = 16;
+
+  private final ReactiveProfileService service;
+  private final BulkIngestionService bulkIngestionService;
+  private final ScoreAdminProperties adminProperties;
+
+  /**
+   * Creates or updates the profile (idempotent) of the authenticated user.
+   *
+   * @param body DTO with profile fields
+   * @return 200 with the saved profile
+   */
+  @PostMapping
+  public Mono<ResponseEntity<ProfileDTO>> upsert(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestBody ProfileDTO body) {
+    return Mono.justOrEmpty(subject)
+        .flatMap(userUuid -> service.upsert(UUID.fromString(userUuid), body))
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Creates or updates the profiles of many users; see {@link ProfileController#bulkUpsert}. The
+   * blocking ingestion runs on {@link Schedulers#boundedElastic()}, reading the body as it
+   * arrives.
+   *
+   * @param contentType the media type of the body
+   * @param body the records
+   * @return 200 with the counts and the per-record errors, 403 on a bad admin token
+   */
+  @PostMapping(
+      value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<BulkResultDTO>> bulkUpsert(
+      @RequestHeader(value = "X-Admin-Token", required = false) String token,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      @RequestBody Flux<DataBuffer> body) {
+    if (!adminProperties.accepts(token)) {
+      return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+    }
+    final boolean ndjson =
+        MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    return Mono.fromCallable(
+            () -> {
+              try (InputStream in = DataBufferUtils.subscriberInputStream(body, BULK_READ_AHEAD)) {
+                return ResponseEntity.ok(bulkIngestionService.ingestProfiles(in, ndjson));
+              }
+            })
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+}
@@ -0,0 +1,155 @@
+package com.mavita.score.controller.score;
+
+import com.mavita.score.security.JwtAuthenticationFilter;
+import com.mavita.score.service.score.batch.BatchScoreService;
+import com.mavita.score.service.score.history.ScoreHistoryService;
+import com.mavita.score.service.score.history.dto.ScoreHistoryDTO;
+import com.mavita.score.service.score.snapshot.ReactiveScoreSnapshotService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive variant of {@link ScoreController}, with the same endpoints and responses, served when
+ * the application runs with the {@code reactive} profile.
+ *
+ * <p>Current scores are read with the reactive MongoDB driver (see {@link
+ * ReactiveScoreSnapshotService}). The history and the NDJSON batch endpoints still use the blocking
+ * services, on {@link Schedulers#boundedElastic()} so that the event loops never wait.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/scores")
+@RequiredArgsConstructor
+public class ReactiveScoreController {
+
+  private static final int BATCH_READ_AHEAD = 16;
+
+  private final ReactiveScoreSnapshotService service;
+  private final ScoreHistoryService historyService;
+  private final BatchScoreService batchScoreService;
+
+  /**
+   * Returns the list of current health-score indicators for the authenticated user.
+   *
+   * @param ids the indicators to return, all when absent
+   * @return a JSON list of indicators or 304, see {@link ScoreController#getCurrentScore}
+   */
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<byte[]>> getCurrentScore(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestParam(required = false) List<String> ids,
+      ServerWebExchange exchange) {
+    if (subject == null) {
+      return Mono.just(ResponseEntity.notFound().build());
+    }
+
+    final Set<String> selected = ids == null || ids.isEmpty() ? null : Set.copyOf(ids);
+    return (selected == null
+            ? service.getCurrentScoreJson(subject)
+            : service.getCurrentScoreJson(subject, selected))
+        .map(
+            score -> {
+              if (score.tag() != null && exchange.checkNotModified(score.tag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(score.tag()).build();
+              }
+              final ResponseEntity.BodyBuilder response =
+                  ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+              if (score.tag() != null) {
+                response.eTag(score.tag());
+              }
+              return response.body(score.json());
+            });
+  }
+
+  /**
+   * Returns the downsampled history of one indicator of the authenticated user.
+   *
+   * @param indicator the indicator id
+   * @param from first day of the range (UTC); defaults to one year before {@code to}
+   * @param to last day of the range (UTC); defaults to today
+   * @param points maximum number of points to return (2 to 1000)
+   * @return the downsampled history, see {@link ScoreController#getHistory}
+   */
+  @GetMapping("/history")
+  public Mono<ResponseEntity<ScoreHistoryDTO>> getHistory(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestParam String indicator,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "200") @Min(2) @Max(1000) int points) {
+    final LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+    final LocalDate start = from != null ? from : end.minusYears(1);
+    return Mono.justOrEmpty(subject)
+        .publishOn(Schedulers.boundedElastic())
+        .map(
+            userUuid ->
+                ResponseEntity.ok(
+                    historyService.findHistory(
+                        UUID.fromString(userUuid), indicator, start, end, points)))
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Scores a stream of NDJSON questionnaires without persisting them; see {@link
+   * ScoreController#scoreBatch}. The response starts streaming before the request body is fully
+   * read.
+   *
+   * @param body the NDJSON request body
+   * @return the streamed NDJSON results
+   */
+  @PostMapping(
+      value = "/batch",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Flux<DataBuffer>> scoreBatch(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestBody Flux<DataBuffer> body,
+      ServerWebExchange exchange) {
+    if (subject == null) {
+      return ResponseEntity.notFound().build();
+    }
+
+    final DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(
+            Flux.from(
+                DataBufferUtils.outputStreamPublisher(
+                    out -> {
+                      try (InputStream in =
+                          DataBufferUtils.subscriberInputStream(body, BATCH_READ_AHEAD)) {
+                        batchScoreService.score(in, out);
+                      } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                      }
+                    },
+                    bufferFactory,
+                    task -> Schedulers.boundedElastic().schedule(task))));
+  }
+}
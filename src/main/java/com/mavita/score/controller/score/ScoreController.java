@@ -1,15 +1,39 @@
 package com.mavita.score.controller.score;
 
-import com.mavita.score.service.HealthPointerScoreService;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.security.JwtAuthenticationFilter;
 import com.mavita.score.service.HealthScoreService;
 import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.score.batch.BatchScoreService;
+import com.mavita.score.service.score.cache.IndicatorJsonCache;
+import com.mavita.score.service.score.cache.LastGoodStore.Reading;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.history.ScoreHistoryService;
+import com.mavita.score.service.score.history.dto.ScoreHistoryDTO;
 import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
-import com.mavita.score.utils.JwtUtils;
+import com.mavita.score.service.score.snapshot.ScoreSnapshotService;
+import com.mavita.score.service.score.snapshot.dto.CurrentScoreJsonDTO;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller that exposes endpoints for calculating a user's health score.
@@ -50,15 +74,24 @@ import org.springframework.web.bind.annotation.*;
  * @since 1.0.0
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/scores")
 @RequiredArgsConstructor
 public class ScoreController {
 
-  private final HealthPointerScoreService service;
+  private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+  private final ScoreSnapshotService service;
+  private final ScoreHistoryService historyService;
+  private final BatchScoreService batchScoreService;
 
   /**
    * Returns the list of current health-score indicators for the authenticated user.
    *
+   * <p>Indicators are served from the user's score snapshot, which is materialized whenever the
+   * profile or the health data is written, and written from pre-encoded JSON (see {@link
+   * IndicatorJsonCache}).
+   *
    * <p>Response format example:
    *
    * <pre>{@code
@@ -79,13 +112,151 @@ public class ScoreController {
    * ]
    * }</pre>
    *
-   * @return a list of {@link IndicatorScoreDTO} in the shape expected by the frontend.
+   * <p>{@code ?ids=general-health,sleep-health} restricts the response to some indicators; when
+   * they have to be recomputed, only the factors they depend on are evaluated and the health data
+   * is not loaded unless one of them needs it. Unknown ids are rejected with 400.
+   *
+   * <p>The response carries a strong {@code ETag} derived from the snapshot the indicators were
+   * read from (see {@link CurrentScoreJsonDTO}). A request whose {@code If-None-Match} still
+   * matches is answered with 304 after that single read, without scoring, which is the common case
+   * for the app polling on every resume. Indicators recomputed without being stored carry no tag.
+   *
+   * <p>When the database is too slow to answer within {@code score.stale.budget}, the indicators
+   * last served to the user are returned instead (see {@link
+   * ScoreSnapshotService#readCurrentScoreJson}), with a {@code Warning: 110} header flagging them
+   * as stale, an {@code Age} header and no {@code ETag}.
+   *
+   * @param ids the indicators to return, all when absent
+   * @return a JSON list of {@link IndicatorScoreDTO} in the shape expected by the frontend, or 304
+   *     when the client's copy is current
+   */
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> getCurrentScore(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestParam(required = false) List<String> ids,
+      WebRequest request) {
+    if (subject == null) {
+      return ResponseEntity.notFound().build();
+    }
+
+    final Set<String> selected = ids == null || ids.isEmpty() ? null : Set.copyOf(ids);
+    if (selected != null) {
+      return tagged(service.getCurrentScoreJson(subject, selected), request);
+    }
+
+    final Reading<CurrentScoreJsonDTO> reading = service.readCurrentScoreJson(subject);
+    if (reading.stale()) {
+      return ResponseEntity.ok()
+          .contentType(MediaType.APPLICATION_JSON)
+          .header(HttpHeaders.WARNING, STALE_WARNING)
+          .header(
+              HttpHeaders.AGE,
+              Long.toString(Duration.between(reading.readAt(), Instant.now()).toSeconds()))
+          .body(reading.value().json());
+    }
+    return tagged(reading.value(), request);
+  }
+
+  /** Answers 304 when the client holds the tagged indicators, and with them otherwise. */
+  private static ResponseEntity<byte[]> tagged(CurrentScoreJsonDTO score, WebRequest request) {
+    if (score.tag() != null && request.checkNotModified(score.tag())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(score.tag()).build();
+    }
+    final ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+    if (score.tag() != null) {
+      response.eTag(score.tag());
+    }
+    return response.body(score.json());
+  }
+
+  /**
+   * Returns the history of one indicator of the authenticated user, downsampled to at most {@code
+   * points} points so charts stay light regardless of the range.
+   *
+   * <p>Response format example:
+   *
+   * <pre>{@code
+   * GET /api/scores/history?indicator=sleep-health&from=2025-01-01&to=2025-08-31&points=200
+   *
+   * {
+   *   "indicator": "sleep-health",
+   *   "points": [
+   *     { "at": "2025-01-03T10:12:40Z", "score": 35 },
+   *     { "at": "2025-02-11T21:05:02Z", "score": 28 }
+   *   ]
+   * }
+   * }</pre>
+   *
+   * @param indicator the indicator id
+   * @param from first day of the range (UTC); defaults to one year before {@code to}
+   * @param to last day of the range (UTC); defaults to today
+   * @param points maximum number of points to return (2 to 1000)
+   * @return the downsampled history of the indicator
+   */
+  @GetMapping("/history")
+  public ResponseEntity<ScoreHistoryDTO> getHistory(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      @RequestParam String indicator,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "200") @Min(2) @Max(1000) int points) {
+    final LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+    final LocalDate start = from != null ? from : end.minusYears(1);
+    return Optional.ofNullable(subject)
+        .map(
+            userUuid ->
+                ResponseEntity.ok(
+                    historyService.findHistory(
+                        UUID.fromString(userUuid), indicator, start, end, points)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Scores a stream of questionnaires without persisting them, e.g. for partner imports.
+   *
+   * <p>The request body is NDJSON, one profile and health questionnaire per line. The response is
+   * NDJSON too, one line per input record in the same order, carrying either the indicators or a
+   * per-line error. The response starts streaming before the request body is fully read.
+   *
+   * <pre>{@code
+   * POST /api/scores/batch
+   * Content-Type: application/x-ndjson
+   *
+   * {"profile":{"userUuid":"...","birthDate":"1990-05-10",...},"health":{"smokes":false,...}}
+   * {"profile":{"userUuid":"...","birthDate":"1985-01-22",...},"health":{"smokes":true,...}}
+   *
+   * 200 OK
+   * Content-Type: application/x-ndjson
+   *
+   * {"line":1,"userUuid":"...","indicators":[...]}
+   * {"line":2,"userUuid":"...","error":"Unexpected value: SOMETIMES"}
+   * }</pre>
+   *
+   * @param body the NDJSON request body
+   * @return the streamed NDJSON results
    */
-  @GetMapping
-  public ResponseEntity<List<IndicatorScoreDTO>> getCurrentScore(
-      @RequestHeader("Authorization") String authorization) {
-    return JwtUtils.extractSub(authorization)
-        .map(userUuid -> ResponseEntity.ok(service.calculateTotalScore(userUuid)))
+  @PostMapping(
+      value = "/batch",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> scoreBatch(
+      @RequestAttribute(name = JwtAuthenticationFilter.SUBJECT, required = false) String subject,
+      InputStream body) {
+    // The body is streamed from another thread, which must stop at the deadline as well.
+    final Deadline deadline = Deadline.current().orElse(null);
+    return Optional.ofNullable(subject)
+        .map(
+            userUuid ->
+                ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .<StreamingResponseBody>body(
+                        out -> {
+                          try (Deadline.Scope scope = Deadline.attach(deadline)) {
+                            batchScoreService.score(body, out);
+                          }
+                        }))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 }
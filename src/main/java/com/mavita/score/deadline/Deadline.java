@@ -0,0 +1,252 @@
+package com.mavita.score.deadline;
+
+import com.mavita.score.exception.DeadlineExceededException;
+import com.mongodb.MongoOperationTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Point in time after which the caller of a request no longer waits for its answer.
+ *
+ * <p>Clients and gateways give it in a header, either as an absolute instant ({@value
+ * #DEADLINE_HEADER}, in epoch milliseconds or ISO-8601) or as a timeout relative to the arrival of
+ * the request ({@value #GRPC_TIMEOUT_HEADER}, as in gRPC: up to 8 digits and a unit among {@code
+ * H}, {@code M}, {@code S}, {@code m}, {@code u} and {@code n}); the earlier one wins. An absolute
+ * deadline is compared with the local clock, so it is only as accurate as the clocks are in sync.
+ *
+ * <p>On the servlet stack, the deadline of the request is attached to the thread serving it
+ * ({@link #attach(Deadline)}) and carried to the tasks of the executors wrapped by {@link
+ * #propagating(ExecutorService)}. Code that waits bounds its wait by {@link #boundNanos(long)};
+ * code that is about to start expensive work calls {@link #checkCurrent(String)} to abandon it
+ * once nobody waits for the result anymore.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class Deadline {
+
+  /** Header carrying an absolute deadline. */
+  public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+  /** Header carrying a relative deadline, in the format of gRPC. */
+  public static final String GRPC_TIMEOUT_HEADER = "grpc-timeout";
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+  private static final Pattern GRPC_TIMEOUT = Pattern.compile("(\\d{1,8})([HMSmun])");
+  private static final Pattern EPOCH_MILLIS = Pattern.compile("\\d{1,15}");
+  // Longer timeouts make no difference and could overflow the nano time.
+  private static final Duration MAX_TIMEOUT = Duration.ofDays(1);
+
+  private final long expiresAtNanos;
+
+  private Deadline(long expiresAtNanos) {
+    this.expiresAtNanos = expiresAtNanos;
+  }
+
+  /**
+   * Creates a deadline a given time from now.
+   *
+   * @param timeout the time left; a negative one gives a deadline that already ran out
+   * @return the deadline
+   */
+  public static Deadline after(Duration timeout) {
+    final Duration bounded =
+        timeout.isNegative()
+            ? Duration.ZERO
+            : timeout.compareTo(MAX_TIMEOUT) > 0 ? MAX_TIMEOUT : timeout;
+    return new Deadline(System.nanoTime() + bounded.toNanos());
+  }
+
+  /**
+   * Reads the deadline of a request from its headers.
+   *
+   * @param deadlines the values of {@value #DEADLINE_HEADER}
+   * @param grpcTimeouts the values of {@value #GRPC_TIMEOUT_HEADER}
+   * @return the earliest valid deadline, or empty when there is none; malformed values are ignored
+   */
+  public static Optional<Deadline> fromHeaders(List<String> deadlines, List<String> grpcTimeouts) {
+    final Instant now = Instant.now();
+    Duration earliest = null;
+    for (String value : deadlines == null ? List.<String>of() : deadlines) {
+      earliest = earliest(earliest, parseDeadline(value.trim(), now));
+    }
+    for (String value : grpcTimeouts == null ? List.<String>of() : grpcTimeouts) {
+      earliest = earliest(earliest, parseTimeout(value.trim()));
+    }
+    return Optional.ofNullable(earliest).map(Deadline::after);
+  }
+
+  /** Returns the deadline of the work running on this thread, if any. */
+  public static Optional<Deadline> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Attaches a deadline to this thread until the returned scope is closed.
+   *
+   * @param deadline the deadline, or {@code null} for none
+   * @return restores the previous deadline of the thread when closed
+   */
+  public static Scope attach(Deadline deadline) {
+    final Deadline previous = CURRENT.get();
+    CURRENT.set(deadline);
+    return previous == null ? CURRENT::remove : () -> CURRENT.set(previous);
+  }
+
+  /**
+   * Abandons the work running on this thread if its deadline ran out.
+   *
+   * @param what what would be abandoned, for the message of the exception
+   * @throws DeadlineExceededException if the deadline of this thread ran out
+   */
+  public static void checkCurrent(String what) {
+    final Deadline deadline = CURRENT.get();
+    if (deadline != null && deadline.expired()) {
+      throw new DeadlineExceededException("The request deadline ran out before " + what);
+    }
+  }
+
+  /**
+   * Shortens a wait to the deadline of this thread.
+   *
+   * @param nanos how long the caller would wait without a deadline
+   * @return the shorter of {@code nanos} and the time left before the deadline, which is not
+   *     positive when the deadline ran out
+   */
+  public static long boundNanos(long nanos) {
+    final Deadline deadline = CURRENT.get();
+    return deadline == null ? nanos : Math.min(nanos, deadline.remainingNanos());
+  }
+
+  /**
+   * Tells whether a failure means that the deadline of the work ran out, as opposed to a failure
+   * of the work itself.
+   *
+   * @param failure the failure
+   * @return whether it or one of its causes reports an exceeded deadline
+   */
+  public static boolean isExceeded(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof DeadlineExceededException
+          || cause instanceof MongoOperationTimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Wraps an executor so that its tasks run with the deadline of the thread that submitted them.
+   *
+   * @param executor the executor running the tasks
+   * @return an executor delegating to {@code executor}, including its lifecycle
+   */
+  public static ExecutorService propagating(ExecutorService executor) {
+    return new PropagatingExecutorService(executor);
+  }
+
+  /** Returns the time left, negative once the deadline ran out. */
+  public long remainingNanos() {
+    return expiresAtNanos - System.nanoTime();
+  }
+
+  /** Returns whether the deadline ran out. */
+  public boolean expired() {
+    return remainingNanos() <= 0;
+  }
+
+  private static Duration earliest(Duration current, Duration candidate) {
+    if (candidate == null) return current;
+    return current == null || candidate.compareTo(current) < 0 ? candidate : current;
+  }
+
+  private static Duration parseDeadline(String value, Instant now) {
+    try {
+      final Instant deadline =
+          EPOCH_MILLIS.matcher(value).matches()
+              ? Instant.ofEpochMilli(Long.parseLong(value))
+              : Instant.parse(value);
+      return Duration.between(now, deadline);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+  private static Duration parseTimeout(String value) {
+    final Matcher matcher = GRPC_TIMEOUT.matcher(value);
+    if (!matcher.matches()) {
+      return null;
+    }
+    final long amount = Long.parseLong(matcher.group(1));
+    return switch (matcher.group(2)) {
+      case "H" -> Duration.ofHours(amount);
+      case "M" -> Duration.ofMinutes(amount);
+      case "S" -> Duration.ofSeconds(amount);
+      case "m" -> Duration.ofMillis(amount);
+      case "u" -> Duration.ofNanos(amount * 1_000);
+      default -> Duration.ofNanos(amount);
+    };
+  }
+
+  /** Restores the previous deadline of a thread; see {@link #attach(Deadline)}. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+
+  /** Executor running each task with the deadline of the thread that submitted it. */
+  private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    PropagatingExecutorService(ExecutorService delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      final Deadline deadline = CURRENT.get();
+      delegate.execute(
+          () -> {
+            try (Scope scope = attach(deadline)) {
+              task.run();
+            }
+          });
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.mavita.score.deadline;
+
+import com.mavita.score.config.ScoreDeadlineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Reads the {@link Deadline} of a request from its headers and attaches it to the thread serving
+ * the request, so the database calls and the scoring below stop once the caller gave up.
+ *
+ * <p>A request whose deadline already ran out on arrival is answered with 504 without any work;
+ * it runs before the {@code ConcurrencyLimitFilter}, so it does not take a permit either. Requests
+ * with a deadline are counted as {@code score.deadline.requests}, tagged {@code
+ * outcome=met|exceeded|expired}, {@code expired} being the ones rejected on arrival.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+
+  private final ScoreDeadlineProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.enabled();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final Optional<Deadline> parsed =
+        Deadline.fromHeaders(
+            Collections.list(request.getHeaders(Deadline.DEADLINE_HEADER)),
+            Collections.list(request.getHeaders(Deadline.GRPC_TIMEOUT_HEADER)));
+    if (parsed.isEmpty()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    final Deadline deadline = parsed.get();
+    if (deadline.expired()) {
+      log.debug("Rejected {} {} past its deadline", request.getMethod(), request.getRequestURI());
+      count("expired");
+      response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+      return;
+    }
+
+    try (Deadline.Scope scope = Deadline.attach(deadline)) {
+      chain.doFilter(request, response);
+    } finally {
+      count(deadline.expired() ? "exceeded" : "met");
+    }
+  }
+
+  private void count(String outcome) {
+    meterRegistry.counter("score.deadline.requests", "outcome", outcome).increment();
+  }
+}
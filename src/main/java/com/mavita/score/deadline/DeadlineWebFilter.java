@@ -0,0 +1,91 @@
+package com.mavita.score.deadline;
+
+import com.mavita.score.config.ScoreDeadlineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link DeadlineFilter}.
+ *
+ * <p>A reactive request is not bound to a thread, so the deadline is enforced on the whole
+ * response instead: when it runs out, the processing of the request is cancelled, which cancels
+ * the MongoDB operations in flight and releases their connections, and the request is answered
+ * with 504 if nothing was written yet. Requests are counted like with {@link DeadlineFilter}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class DeadlineWebFilter implements WebFilter {
+
+  /** Exchange attribute holding the {@link Deadline} of the request, if it has one. */
+  public static final String DEADLINE_ATTRIBUTE = Deadline.class.getName();
+
+  private final ScoreDeadlineProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    if (!properties.enabled()) {
+      return chain.filter(exchange);
+    }
+    final HttpHeaders headers = exchange.getRequest().getHeaders();
+    final Optional<Deadline> parsed =
+        Deadline.fromHeaders(
+            headers.get(Deadline.DEADLINE_HEADER), headers.get(Deadline.GRPC_TIMEOUT_HEADER));
+    if (parsed.isEmpty()) {
+      return chain.filter(exchange);
+    }
+
+    final Deadline deadline = parsed.get();
+    exchange.getAttributes().put(DEADLINE_ATTRIBUTE, deadline);
+    final ServerHttpResponse response = exchange.getResponse();
+    if (deadline.expired()) {
+      log.debug(
+          "Rejected {} {} past its deadline",
+          exchange.getRequest().getMethod(),
+          exchange.getRequest().getPath());
+      count("expired");
+      response.setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+      return response.setComplete();
+    }
+
+    return chain
+        .filter(exchange)
+        .timeout(Duration.ofNanos(deadline.remainingNanos()))
+        .doOnSuccess(done -> count("met"))
+        .onErrorResume(
+            TimeoutException.class,
+            ex -> {
+              count("exceeded");
+              if (response.isCommitted()) {
+                return Mono.error(ex);
+              }
+              response.setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+              return response.setComplete();
+            });
+  }
+
+  private void count(String outcome) {
+    meterRegistry.counter("score.deadline.requests", "outcome", outcome).increment();
+  }
+}
@@ -17,6 +17,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
  * <ul>
  *   <li><b>userUuid</b> is unique so each user has a single health-data document.
  *   <li>Enum-like fields are kept as plain strings for maximum compatibility with the frontend.
+ *   <li><b>contentHash</b> is a fingerprint of the other fields; a write that would not change
+ *       it is skipped.
  * </ul>
  */
 @Setter
@@ -51,4 +53,6 @@ public class Health {
   private String diabetesSymptomLevel;
   private String headacheDizzinessLevel;
   private String preventiveExamFrequency;
+
+  private Long contentHash;
 }
@@ -20,6 +20,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
  *   <li><b>birthDate</b> is kept as ISO-8601 string (e.g., "2025-08-14").
  *   <li><b>sex</b>, <b>lgbtqiaStatus</b> and <b>pregnancyStatus</b> are optional (nullable)
  *       strings.
+ *   <li><b>contentHash</b> is a fingerprint of the other fields; a write that would not change
+ *       it is skipped.
  * </ul>
  */
 @Setter
@@ -45,4 +47,6 @@ public class Profile {
   private String lgbtqiaStatus;
 
   private String pregnancyStatus;
+
+  private Long contentHash;
 }
@@ -0,0 +1,74 @@
+package com.mavita.score.domain.score;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * MongoDB document holding the progress of the rescoring job.
+ *
+ * <p>Notes:
+ *
+ * <ul>
+ *   <li>There is a single job, so the document always has the id {@link #JOB_ID}.
+ *   <li><b>lastUserUuid</b> is the last profile whose batch was written. Profiles are walked in
+ *       {@code userUuid} order, so a job interrupted by a crash or a cancellation resumes right
+ *       after it.
+ *   <li>The counters are updated after every batch and double as the job's progress report.
+ *   <li><b>owner</b> is the instance running the job, which holds it until <b>leaseExpiresAt</b>.
+ *       The lease is renewed with every checkpoint and cleared when the job stops; another
+ *       instance can only take the job over once the lease expired, e.g. after a crash.
+ * </ul>
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rescore_checkpoint")
+public class RescoreCheckpoint {
+
+  public static final String JOB_ID = "rescore";
+
+  /** Lifecycle of the job. */
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+  }
+
+  @Id private String id;
+
+  private Status status;
+
+  private UUID lastUserUuid;
+
+  private long total;
+
+  private long processed;
+
+  private long failed;
+
+  private long skipped;
+
+  private long superseded;
+
+  private long throttleMillis;
+
+  private Instant startedAt;
+
+  private Instant updatedAt;
+
+  private Instant finishedAt;
+
+  private String error;
+
+  private String owner;
+
+  private Instant leaseExpiresAt;
+}
@@ -0,0 +1,54 @@
+package com.mavita.score.domain.score;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * MongoDB document holding one month of a user's score history (bucket pattern).
+ *
+ * <p>Each bucket stores every score change of the month as a compact binary entry instead of one
+ * document per change:
+ *
+ * <ul>
+ *   <li><b>userUuid</b> + <b>month</b> ({@code yyyy-MM}, UTC) are unique, so a chart over a date
+ *       range reads a handful of documents through one index.
+ *   <li><b>indicatorIds</b> fixes the order of the indicator lanes for the whole bucket.
+ *   <li><b>entries</b> are varint/zig-zag encoded deltas against the previous entry: the seconds
+ *       elapsed followed by one delta per factor lane and per indicator lane.
+ *   <li><b>last</b> and <b>lastAt</b> hold the latest absolute vector and its timestamp, so a new
+ *       entry can be appended without decoding the bucket.
+ *   <li><b>count</b> is the number of entries, used for optimistic concurrency on append.
+ * </ul>
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@CompoundIndex(name = "user_month", def = "{'userUuid': 1, 'month': 1}", unique = true)
+@Document(collection = "score_history")
+public class ScoreHistoryBucket {
+
+  @Id private String id;
+
+  private UUID userUuid;
+
+  private String month;
+
+  private List<String> indicatorIds;
+
+  private int count;
+
+  private Instant lastAt;
+
+  private int[] last;
+
+  private List<byte[]> entries;
+}
@@ -0,0 +1,60 @@
+package com.mavita.score.domain.score;
+
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * MongoDB document that materializes the user's latest computed scores.
+ *
+ * <p>Notes:
+ *
+ * <ul>
+ *   <li><b>userUuid</b> is unique so each user has a single snapshot, read with one indexed lookup.
+ *   <li><b>summary</b> and <b>indicators</b> are computed when the profile or the health data is
+ *       written, so reads do not need to load both documents and recompute.
+ *   <li><b>validUntil</b> is the day the age band changes; from that day on the snapshot is stale
+ *       and recomputed on read. {@code null} means it never expires by age.
+ *   <li><b>ruleVersion</b> is the rule set the snapshot was computed with; snapshots of another
+ *       version are recomputed on read.
+ *   <li><b>profileHash</b> and <b>healthHash</b> are the content hashes of the profile and of the
+ *       health data the snapshot was computed from. Together with <b>computedAt</b> they identify
+ *       the snapshot a refresh read, so that the refresh only replaces that one.
+ * </ul>
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "score_snapshot")
+public class ScoreSnapshot {
+
+  @Id private String id;
+
+  @Indexed(unique = true)
+  private UUID userUuid;
+
+  private HealthScoreSummaryDTO summary;
+
+  private List<IndicatorScoreDTO> indicators;
+
+  private LocalDate validUntil;
+
+  private Instant computedAt;
+
+  private String ruleVersion;
+
+  private Long profileHash;
+
+  private Long healthHash;
+}
@@ -0,0 +1,18 @@
+package com.mavita.score.exception;
+
+import com.mavita.score.deadline.Deadline;
+
+/**
+ * Exception thrown when the deadline of a request ran out, so the work left is abandoned.
+ *
+ * <p>Thrown by {@link Deadline#checkCurrent(String)}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,45 @@
+package com.mavita.score.exception;
+
+import com.mavita.score.security.JwtVerifier;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a bearer token is rejected.
+ *
+ * <p>Thrown by {@link JwtVerifier}. The {@link #getReason() reason} is a short, stable code (e.g.
+ * {@code signature}, {@code expired}) used as a metric tag. The message may quote the token (e.g.
+ * its algorithm) and is meant for logs only; clients are told the fixed {@link #getDescription()
+ * description} of the reason in the {@code WWW-Authenticate} header.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Getter
+public class InvalidTokenException extends RuntimeException {
+
+  private final String reason;
+
+  public InvalidTokenException(String reason, String message) {
+    super(message);
+    this.reason = reason;
+  }
+
+  /**
+   * Returns a fixed description of the reason, safe to send to the client.
+   *
+   * @return the description, which contains nothing read from the token
+   */
+  public String getDescription() {
+    return switch (reason) {
+      case "missing" -> "Bearer token is required";
+      case "malformed" -> "Token is malformed";
+      case "algorithm" -> "Token algorithm is not accepted";
+      case "signature" -> "Token signature is invalid";
+      case "subject" -> "Token has no subject";
+      case "expired" -> "Token is expired";
+      case "not-yet-valid" -> "Token is not valid yet";
+      case "issuer" -> "Token was issued by another issuer";
+      default -> "Token is invalid";
+    };
+  }
+}
@@ -0,0 +1,19 @@
+package com.mavita.score.exception;
+
+import com.mavita.score.service.HealthScoreService;
+
+/**
+ * Exception thrown when the profile and health lookups of a score request do not complete within
+ * the configured deadline.
+ *
+ * <p>Thrown by {@link HealthScoreService}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public class ScoreDataTimeoutException extends RuntimeException {
+
+  public ScoreDataTimeoutException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,18 @@
+package com.mavita.score.exception;
+
+import com.mavita.score.service.score.engine.ScoringEngine;
+
+/**
+ * Exception thrown when a request selects an indicator that the active rule set does not define.
+ *
+ * <p>Thrown by {@link ScoringEngine}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public class UnknownIndicatorException extends RuntimeException {
+
+  public UnknownIndicatorException(String message) {
+    super(message);
+  }
+}
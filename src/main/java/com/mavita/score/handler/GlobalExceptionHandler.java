@@ -3,10 +3,15 @@ package com.mavita.score.handler;
 import static java.util.List.of;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.mavita.score.exception.DeadlineExceededException;
 import com.mavita.score.exception.InvalidChronicConditionSelectionException;
 import com.mavita.score.exception.InvalidParentalConditionSelectionException;
+import com.mavita.score.exception.ScoreDataTimeoutException;
+import com.mavita.score.exception.UnknownIndicatorException;
 import com.mavita.score.handler.dto.ValidationErrorResponseDTO;
+import com.mongodb.MongoOperationTimeoutException;
 import java.util.ArrayList;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,6 +19,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebInputException;
 
 /**
  * Global exception handler for processing validation errors across the application.
@@ -64,30 +70,29 @@ public class GlobalExceptionHandler {
   @ExceptionHandler(HttpMessageNotReadableException.class)
   public ResponseEntity<ValidationErrorResponseDTO> handleInvalidEnumValue(
       HttpMessageNotReadableException ex) {
+    return new ResponseEntity<>(
+        invalidBody(ex.getCause(), ex.getMessage()), HttpStatus.BAD_REQUEST);
+  }
 
-    Throwable cause = ex.getCause();
-    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
-
-    if (cause instanceof InvalidFormatException formatEx) {
-      Class<?> targetType = formatEx.getTargetType();
-
-      if (targetType.isEnum()) {
-        String invalidValue = formatEx.getValue().toString();
-        String enumName = targetType.getSimpleName();
-        Object[] validValues = targetType.getEnumConstants();
-
-        errorResponse.addFieldError(
-            enumName,
-            String.format(
-                "Invalid value '%s'. Allowed values are: %s", invalidValue, of(validValues)));
-      } else {
-        errorResponse.addFieldError("request", "Invalid value format: " + ex.getMessage());
-      }
-    } else {
-      errorResponse.addFieldError("request", "Malformed JSON request: " + ex.getMessage());
+  /**
+   * Handles request bodies the reactive endpoints could not read, the WebFlux counterpart of
+   * {@link HttpMessageNotReadableException}. Other invalid inputs (e.g. a missing request
+   * parameter) are reported with their reason.
+   *
+   * @param ex the exception thrown while resolving a handler argument
+   * @return a structured error response with status 400
+   */
+  @ExceptionHandler(ServerWebInputException.class)
+  public ResponseEntity<ValidationErrorResponseDTO> handleServerWebInputException(
+      ServerWebInputException ex) {
+    if (ex.getCause() instanceof DecodingException decodingEx) {
+      return ResponseEntity.badRequest()
+          .body(invalidBody(decodingEx.getCause(), decodingEx.getMessage()));
     }
 
-    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
+    errorResponse.addFieldError("request", ex.getReason());
+    return ResponseEntity.badRequest().body(errorResponse);
   }
 
   /**
@@ -118,4 +123,72 @@ public class GlobalExceptionHandler {
     errorResponse.addFieldError("parentalConditions", ex.getMessage());
     return ResponseEntity.badRequest().body(errorResponse);
   }
+
+  /**
+   * Handles all ScoreDataTimeoutException thrown while loading the data behind a score request.
+   *
+   * @param ex the exception
+   * @return a structured error response with status 504
+   */
+  @ExceptionHandler(ScoreDataTimeoutException.class)
+  public ResponseEntity<ValidationErrorResponseDTO> handleScoreDataTimeoutException(
+      ScoreDataTimeoutException ex) {
+    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
+    errorResponse.addFieldError("request", ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+  }
+
+  /**
+   * Handles the work abandoned because the deadline of the request ran out, either in the service
+   * or in MongoDB.
+   *
+   * @param ex the exception
+   * @return a structured error response with status 504
+   */
+  @ExceptionHandler({DeadlineExceededException.class, MongoOperationTimeoutException.class})
+  public ResponseEntity<ValidationErrorResponseDTO> handleDeadlineExceededException(
+      RuntimeException ex) {
+    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
+    errorResponse.addFieldError("request", "The request deadline ran out");
+    return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+  }
+
+  /**
+   * Handles all UnknownIndicatorException thrown while selecting indicators.
+   *
+   * @param ex the exception
+   * @return a structured error response with status 400
+   */
+  @ExceptionHandler(UnknownIndicatorException.class)
+  public ResponseEntity<ValidationErrorResponseDTO> handleUnknownIndicatorException(
+      UnknownIndicatorException ex) {
+    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
+    errorResponse.addFieldError("ids", ex.getMessage());
+    return ResponseEntity.badRequest().body(errorResponse);
+  }
+
+  private static ValidationErrorResponseDTO invalidBody(Throwable cause, String message) {
+    ValidationErrorResponseDTO errorResponse = new ValidationErrorResponseDTO(new ArrayList<>());
+
+    if (cause instanceof InvalidFormatException formatEx) {
+      Class<?> targetType = formatEx.getTargetType();
+
+      if (targetType.isEnum()) {
+        String invalidValue = formatEx.getValue().toString();
+        String enumName = targetType.getSimpleName();
+        Object[] validValues = targetType.getEnumConstants();
+
+        errorResponse.addFieldError(
+            enumName,
+            String.format(
+                "Invalid value '%s'. Allowed values are: %s", invalidValue, of(validValues)));
+      } else {
+        errorResponse.addFieldError("request", "Invalid value format: " + message);
+      }
+    } else {
+      errorResponse.addFieldError("request", "Malformed JSON request: " + message);
+    }
+
+    return errorResponse;
+  }
 }
@@ -0,0 +1,227 @@
+package com.mavita.score.limit;
+
+import com.mavita.score.config.ScoreLimiterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the number of concurrent requests to the scoring and upsert endpoints, adapting the limit
+ * to the latency it observes.
+ *
+ * <p>Past the concurrency the service (and MongoDB behind it) can sustain, extra requests do not
+ * raise the throughput: they queue, and every request slows down together. The limiter admits
+ * requests while fewer than the limit are in flight and rejects the others at once, so they can be
+ * answered with 503 instead of waiting.
+ *
+ * <p>The limit follows the gradient of the latency of completed interactive requests. Samples are
+ * averaged over windows of about one round trip (as many samples as the limit, at least ten), and
+ * each window updates the limit once:
+ *
+ * <ul>
+ *   <li>The baseline is the latency without queueing: the fastest window seen, raised only when a
+ *       window is slower at no more concurrency, i.e. when the service itself got slower.
+ *   <li>While a window stays under {@link ScoreLimiterProperties#tolerance()} times the baseline,
+ *       the limit grows by about its square root, but only while at least half of it is used: an
+ *       idle service learns nothing about its capacity.
+ *   <li>Above that, the limit shrinks in proportion to the ratio, by up to half.
+ *   <li>A window with a request that failed with a server error shrinks the limit by 10%, like
+ *       the multiplicative decrease of AIMD.
+ * </ul>
+ *
+ * Changes are smoothed and the limit stays within {@link ScoreLimiterProperties#minLimit()} and
+ * {@link ScoreLimiterProperties#maxLimit()}. Under overload it therefore settles around the
+ * concurrency where the latency starts to climb, which is where the throughput peaks.
+ *
+ * <p>Bulk and batch requests are {@link Priority#BATCH}: they may only use {@link
+ * ScoreLimiterProperties#batchShare()} of the limit, so interactive reads still get in when the
+ * bulk work saturates its share, and they are shed first when the limit shrinks. They last too
+ * long to say anything about the latency, so they do not move the limit.
+ *
+ * <p>Published metrics: {@code score.limiter.limit}, {@code score.limiter.in-flight} and {@code
+ * score.limiter.requests}, tagged {@code priority=interactive|batch} and {@code
+ * outcome=accepted|rejected}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  private static final int MIN_WINDOW_SAMPLES = 10;
+  private static final double BASELINE_RISE = 0.02;
+  private static final double LIMIT_SMOOTHING = 0.2;
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final ScoreLimiterProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile double limit;
+
+  // Guarded by "this".
+  private double baselineNanos = -1;
+  private int baselineInFlight;
+  private double windowLatencyNanos;
+  private int windowSamples;
+  private int windowMaxInFlight;
+  private boolean windowDropped;
+
+  public AdaptiveConcurrencyLimiter(
+      ScoreLimiterProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.limit = clamp(properties.initialLimit());
+    Gauge.builder("score.limiter.limit", this, AdaptiveConcurrencyLimiter::limit)
+        .register(meterRegistry);
+    Gauge.builder("score.limiter.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+  }
+
+  /**
+   * Classifies a request path.
+   *
+   * @param path the path within the application
+   * @return the priority of the request, or empty when the path is not limited
+   */
+  public static Optional<Priority> priority(String path) {
+    if (path.equals("/api/scores/batch") || path.endsWith("/bulk")) {
+      return Optional.of(Priority.BATCH);
+    }
+    if (path.startsWith("/api/scores")
+        || path.startsWith("/api/user-profiles")
+        || path.startsWith("/api/healths")) {
+      return Optional.of(Priority.INTERACTIVE);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Admits a request if the limit allows it.
+   *
+   * @param priority the priority of the request
+   * @return the permit to release when the request completes, or empty if it must be rejected
+   */
+  public Optional<Permit> tryAcquire(Priority priority) {
+    final double available =
+        priority == Priority.INTERACTIVE ? limit : limit * properties.batchShare();
+    final int ceiling = Math.max(1, (int) available);
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= ceiling) {
+        count(priority, "rejected");
+        return Optional.empty();
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+
+    count(priority, "accepted");
+    return Optional.of(new Permit(priority, current + 1));
+  }
+
+  /** Returns the current limit. */
+  public double limit() {
+    return limit;
+  }
+
+  private synchronized void onSample(long latencyNanos, int inFlightAtStart, boolean dropped) {
+    windowDropped |= dropped;
+    windowLatencyNanos += latencyNanos;
+    windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+    if (++windowSamples < Math.max(MIN_WINDOW_SAMPLES, limit)) {
+      return;
+    }
+
+    final double latency = windowLatencyNanos / windowSamples;
+    final int maxInFlight = windowMaxInFlight;
+    final boolean appLimited = maxInFlight < limit / 2;
+    final boolean backOff = windowDropped;
+    windowSamples = 0;
+    windowLatencyNanos = 0;
+    windowMaxInFlight = 0;
+    windowDropped = false;
+
+    if (backOff) {
+      limit = clamp(limit * BACKOFF_RATIO);
+      return;
+    }
+    // A window slower than the baseline at no more concurrency did not queue more: the service
+    // itself got slower, and the baseline follows.
+    if (baselineNanos < 0 || latency < baselineNanos) {
+      baselineNanos = latency;
+      baselineInFlight = maxInFlight;
+    } else if (maxInFlight <= baselineInFlight) {
+      baselineNanos += BASELINE_RISE * (latency - baselineNanos);
+    }
+    if (appLimited) {
+      return;
+    }
+
+    final double gradient =
+        Math.max(MIN_GRADIENT, Math.min(1.0, properties.tolerance() * baselineNanos / latency));
+    final double target = limit * gradient + Math.sqrt(limit);
+    limit = clamp((1 - LIMIT_SMOOTHING) * limit + LIMIT_SMOOTHING * target);
+  }
+
+  private double clamp(double value) {
+    return Math.max(properties.minLimit(), Math.min(properties.maxLimit(), value));
+  }
+
+  private void count(Priority priority, String outcome) {
+    meterRegistry
+        .counter("score.limiter.requests", "priority", priority.tag, "outcome", outcome)
+        .increment();
+  }
+
+  /** Priority of a limited request. */
+  public enum Priority {
+    /** Requests of a user waiting for the answer, e.g. reading the scores. */
+    INTERACTIVE("interactive"),
+    /** Bulk ingestion and batch scoring. */
+    BATCH("batch");
+
+    private final String tag;
+
+    Priority(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  /** An admitted request; must be released exactly once, further releases are ignored. */
+  public final class Permit {
+
+    private final Priority priority;
+    private final int inFlightAtStart;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Priority priority, int inFlightAtStart) {
+      this.priority = priority;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Releases the permit of a request that completed, feeding its latency to the limit.
+     *
+     * @param dropped whether the request failed with a server error (e.g. a database timeout)
+     */
+    public void complete(boolean dropped) {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        if (priority == Priority.INTERACTIVE) {
+          onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+        }
+      }
+    }
+
+    /** Releases the permit of a request abandoned by the client, without a latency sample. */
+    public void cancel() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
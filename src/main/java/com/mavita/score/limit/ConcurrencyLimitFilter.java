@@ -0,0 +1,131 @@
+package com.mavita.score.limit;
+
+import com.mavita.score.config.ScoreLimiterProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.mavita.score.limit.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds the scoring and upsert requests the {@link AdaptiveConcurrencyLimiter} does not admit,
+ * answering them with 503 and a {@code Retry-After} header before they take a worker thread for
+ * long.
+ *
+ * <p>Runs before the authentication, so that an overloaded service does not spend CPU on tokens
+ * of requests it will reject, and after the observation filter, so rejections still show in
+ * {@code http.server.requests}. Asynchronous requests (e.g. the streamed batch scoring) hold their
+ * permit until they complete.
+ *
+ * <p>Only the server's own failures count as drops. A request whose {@link Deadline}, set by the
+ * client, ran out is released without a sample, whatever it answered: otherwise a client sending
+ * tiny deadlines could drive the limit down for everyone.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ScoreLimiterProperties properties;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !properties.enabled() || AdaptiveConcurrencyLimiter.priority(path(request)).isEmpty();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final Priority priority = AdaptiveConcurrencyLimiter.priority(path(request)).orElseThrow();
+    final Optional<Permit> acquired = limiter.tryAcquire(priority);
+    if (acquired.isEmpty()) {
+      log.debug(
+          "Rejected {} {} over the concurrency limit of {}",
+          request.getMethod(),
+          request.getRequestURI(),
+          (int) limiter.limit());
+      response.setHeader(
+          HttpHeaders.RETRY_AFTER,
+          Long.toString(Math.max(1, properties.retryAfter().toSeconds())));
+      response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      return;
+    }
+
+    final Permit permit = acquired.get();
+    final Optional<Deadline> deadline = Deadline.current();
+    boolean dropped = true;
+    try {
+      chain.doFilter(request, response);
+      dropped = response.getStatus() >= 500;
+    } catch (IOException | ServletException | RuntimeException ex) {
+      dropped = !Deadline.isExceeded(ex);
+      throw ex;
+    } finally {
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new PermitListener(permit, deadline, response));
+      } else {
+        release(permit, deadline, dropped);
+      }
+    }
+  }
+
+  /** Releases a permit, without a sample when the client's deadline ran out. */
+  private static void release(Permit permit, Optional<Deadline> deadline, boolean dropped) {
+    if (deadline.isPresent() && deadline.get().expired()) {
+      permit.cancel();
+    } else {
+      permit.complete(dropped);
+    }
+  }
+
+  private static String path(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  /** Releases the permit of an asynchronous request when it ends. */
+  private record PermitListener(
+      Permit permit, Optional<Deadline> deadline, HttpServletResponse response)
+      implements AsyncListener {
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      release(permit, deadline, response.getStatus() >= 500);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      release(permit, deadline, true);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      release(permit, deadline, !Deadline.isExceeded(event.getThrowable()));
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.mavita.score.limit;
+
+import com.mavita.score.config.ScoreLimiterProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.deadline.DeadlineWebFilter;
+import com.mavita.score.limit.AdaptiveConcurrencyLimiter.Permit;
+import com.mavita.score.limit.AdaptiveConcurrencyLimiter.Priority;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ConcurrencyLimitFilter}: sheds the same requests with the same
+ * {@link AdaptiveConcurrencyLimiter}. A request holds its permit until its response is written; a
+ * request cancelled by the client, or by its own deadline running out, releases it without a
+ * latency sample.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ConcurrencyLimitWebFilter implements WebFilter {
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final ScoreLimiterProperties properties;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    final String path = exchange.getRequest().getPath().pathWithinApplication().value();
+    final Optional<Priority> priority = AdaptiveConcurrencyLimiter.priority(path);
+    if (!properties.enabled() || priority.isEmpty()) {
+      return chain.filter(exchange);
+    }
+
+    final ServerHttpResponse response = exchange.getResponse();
+    final Optional<Permit> acquired = limiter.tryAcquire(priority.get());
+    if (acquired.isEmpty()) {
+      log.debug(
+          "Rejected {} {} over the concurrency limit of {}",
+          exchange.getRequest().getMethod(),
+          path,
+          (int) limiter.limit());
+      response
+          .getHeaders()
+          .set(
+              HttpHeaders.RETRY_AFTER,
+              Long.toString(Math.max(1, properties.retryAfter().toSeconds())));
+      response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+      return response.setComplete();
+    }
+
+    final Permit permit = acquired.get();
+    return chain
+        .filter(exchange)
+        .doOnSuccess(
+            done -> {
+              final HttpStatusCode status = response.getStatusCode();
+              release(permit, exchange, status != null && status.is5xxServerError());
+            })
+        .doOnError(ex -> release(permit, exchange, !Deadline.isExceeded(ex)))
+        .doOnCancel(permit::cancel);
+  }
+
+  /** Releases a permit, without a sample when the client's deadline ran out. */
+  private static void release(Permit permit, ServerWebExchange exchange, boolean dropped) {
+    final Deadline deadline = exchange.getAttribute(DeadlineWebFilter.DEADLINE_ATTRIBUTE);
+    if (deadline != null && deadline.expired()) {
+      permit.cancel();
+    } else {
+      permit.complete(dropped);
+    }
+  }
+}
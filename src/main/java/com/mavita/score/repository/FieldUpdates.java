@@ -0,0 +1,51 @@
+package com.mavita.score.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Builds field-level updates from mapped documents.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class FieldUpdates {
+
+  private FieldUpdates() {}
+
+  /**
+   * Builds an update that gives every mapped field of the stored document the value it has in
+   * {@code document}: {@code $set} for the fields that have a value, {@code $unset} for the others.
+   * Unlike a replacement, the {@code _id} and the {@code keyField} are left untouched, and MongoDB
+   * skips the write when no value changes.
+   *
+   * @param converter the converter used to map {@code document}
+   * @param document the document holding the new values
+   * @param keyField the field the document is matched by, which is not updated
+   * @return the update
+   */
+  public static Update setAll(MongoConverter converter, Object document, String keyField) {
+    final Document mapped = new Document();
+    converter.write(document, mapped);
+
+    final MongoPersistentEntity<?> entity =
+        converter.getMappingContext().getRequiredPersistentEntity(document.getClass());
+    final Update update = new Update();
+    for (MongoPersistentProperty property : entity) {
+      final String field = property.getFieldName();
+      if (property.isIdProperty() || field.equals(keyField)) {
+        continue;
+      }
+      final Object value = mapped.get(field);
+      if (value == null) {
+        update.unset(field);
+      } else {
+        update.set(field, value);
+      }
+    }
+    return update;
+  }
+}
@@ -1,14 +1,16 @@
 package com.mavita.score.repository.health;
 
 import com.mavita.score.domain.health.Health;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
 
-/** Spring Data repository for {@link Health}. */
-@Repository
-public interface HealthRepository extends MongoRepository<Health, String> {
+/**
+ * Storage of the {@link Health} data, i.e. the operations the services use. Implemented on
+ * MongoDB by {@link MongoHealthRepository} and off-heap by the {@code offheap} Spring profile.
+ */
+public interface HealthRepository extends HealthRepositoryCustom {
 
   /**
    * Finds the health data for a specific user.
@@ -17,4 +19,20 @@ public interface HealthRepository extends MongoRepository<Health, String> {
    * @return an optional health data document
    */
   Optional<Health> findByUserUuid(UUID userUuid);
+
+  /**
+   * Checks whether a user has health data, without loading it.
+   *
+   * @param userUuid the user's UUID
+   * @return whether a health data document exists
+   */
+  boolean existsByUserUuid(UUID userUuid);
+
+  /**
+   * Finds the health data of several users in a single query.
+   *
+   * @param userUuids the users' UUIDs
+   * @return the health data documents found, in no particular order
+   */
+  List<Health> findByUserUuidIn(Collection<UUID> userUuids);
 }
@@ -0,0 +1,76 @@
+package com.mavita.score.repository.health;
+
+import com.mavita.score.domain.health.Health;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Operations of {@link HealthRepository} that derived queries cannot express, implemented with
+ * {@code MongoTemplate} for {@link MongoHealthRepository}.
+ */
+public interface HealthRepositoryCustom {
+
+  /**
+   * Writes the fields of {@code health} to the document of {@code health.userUuid}, creating it if
+   * needed, in a single atomic round trip. Fields that are {@code null} in {@code health} are
+   * removed; the stored {@code id} is kept.
+   *
+   * <p>The unique index on {@code userUuid} lets only one of two concurrent first writes of a user
+   * insert; the other fails on it and is retried once, as an update of the inserted document.
+   *
+   * @param health the new content; its {@code id} is ignored
+   * @return the document as it was before the write, or empty if it was created
+   */
+  Optional<Health> findAndUpsert(Health health);
+
+  /**
+   * Returns the {@code contentHash} of the stored documents of some users, with a single query.
+   *
+   * @param userUuids the users
+   * @return the content hashes by user; users without a document or a hash are absent
+   */
+  Map<UUID, Long> findContentHashes(Collection<UUID> userUuids);
+
+  /**
+   * Writes many documents like {@link #findAndUpsert(Health)}, in a single unordered bulk write.
+   * The documents must belong to distinct users; those whose insert loses to another writer are
+   * retried once, like {@link #findAndUpsert(Health)}.
+   *
+   * @param healths the new contents; their {@code id} is ignored
+   */
+  void bulkUpsert(Collection<Health> healths);
+
+  /**
+   * Passes the {@code userUuid} of every document, or of the documents created since a point in
+   * time, to {@code action}. The full scan reads the {@code userUuid} index only, or the documents
+   * while the index does not exist.
+   *
+   * @param createdSince lower bound of the creation time of the documents, as recorded in their
+   *     {@code ObjectId}; {@code null} for all of them
+   * @param action receives the users, in no particular order
+   */
+  void forEachUserUuid(Instant createdSince, Consumer<UUID> action);
+
+  /**
+   * Tells whether the database can report the inserts of other instances as they happen, i.e.
+   * whether {@link #watchInsertedUserUuids(Consumer)} may be called. A standalone MongoDB server
+   * cannot: change streams need a replica set or a sharded cluster.
+   *
+   * @return whether inserts can be watched
+   */
+  boolean supportsInsertStream();
+
+  /**
+   * Passes the {@code userUuid} of every document inserted from now on, by any instance, to {@code
+   * action}, as the inserts happen. Blocks until the calling thread is interrupted or the stream
+   * of inserts fails; inserts made in between two calls are not seen. Only called when {@link
+   * #supportsInsertStream()} holds.
+   *
+   * @param action receives the users, in insertion order
+   */
+  void watchInsertedUserUuids(Consumer<UUID> action);
+}
@@ -0,0 +1,9 @@
+package com.mavita.score.repository.health;
+
+import com.mavita.score.domain.health.Health;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data repository for {@link Health}. */
+@Repository
+public interface MongoHealthRepository extends MongoRepository<Health, String>, HealthRepository {}
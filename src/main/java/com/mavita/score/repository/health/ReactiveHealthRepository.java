@@ -0,0 +1,29 @@
+package com.mavita.score.repository.health;
+
+import com.mavita.score.domain.health.Health;
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/** Reactive Spring Data repository for {@link Health}, used by the reactive endpoints. */
+@Repository
+public interface ReactiveHealthRepository
+    extends ReactiveMongoRepository<Health, String>, ReactiveHealthRepositoryCustom {
+
+  /**
+   * Finds the health data for a specific user.
+   *
+   * @param userUuid the user's UUID
+   * @return the health data document, or empty
+   */
+  Mono<Health> findByUserUuid(UUID userUuid);
+
+  /**
+   * Checks whether a user has health data, without loading it.
+   *
+   * @param userUuid the user's UUID
+   * @return whether a health data document exists
+   */
+  Mono<Boolean> existsByUserUuid(UUID userUuid);
+}
@@ -0,0 +1,16 @@
+package com.mavita.score.repository.health;
+
+import com.mavita.score.domain.health.Health;
+import reactor.core.publisher.Mono;
+
+/** Custom operations of {@link ReactiveHealthRepository}. */
+public interface ReactiveHealthRepositoryCustom {
+
+  /**
+   * Reactive counterpart of {@link HealthRepositoryCustom#findAndUpsert(Health)}.
+   *
+   * @param health the new content; its {@code id} is ignored
+   * @return the document as it was before the write, or empty if it was created
+   */
+  Mono<Health> findAndUpsert(Health health);
+}
@@ -0,0 +1,33 @@
+package com.mavita.score.repository.health;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.repository.FieldUpdates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/** {@link ReactiveMongoTemplate} based implementation of {@link ReactiveHealthRepositoryCustom}. */
+@RequiredArgsConstructor
+class ReactiveHealthRepositoryImpl implements ReactiveHealthRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<Health> findAndUpsert(Health health) {
+    // Another writer may insert the user's first document meanwhile: this write then updates it.
+    return upsert(health).onErrorResume(DuplicateKeyException.class, ex -> upsert(health));
+  }
+
+  private Mono<Health> upsert(Health health) {
+    return mongoTemplate.findAndModify(
+        query(where("userUuid").is(health.getUserUuid())),
+        FieldUpdates.setAll(mongoTemplate.getConverter(), health, "userUuid"),
+        FindAndModifyOptions.options().upsert(true),
+        Health.class);
+  }
+}
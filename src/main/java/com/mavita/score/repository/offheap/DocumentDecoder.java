@@ -0,0 +1,91 @@
+package com.mavita.score.repository.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the fields written by a {@link DocumentEncoder}, in the same order, straight from the
+ * buffer holding them. Uses absolute reads only, so many decoders can read the same buffer
+ * concurrently.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class DocumentDecoder {
+
+  private final ByteBuffer buffer;
+  private int position;
+
+  DocumentDecoder(ByteBuffer buffer, int offset) {
+    this.buffer = buffer;
+    this.position = offset;
+  }
+
+  String readString() {
+    final int length = readInt();
+    if (length == DocumentEncoder.NULL_LENGTH) {
+      return null;
+    }
+    final byte[] utf8 = new byte[length];
+    buffer.get(position, utf8);
+    position += length;
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  List<String> readStrings() {
+    final int count = readInt();
+    if (count == DocumentEncoder.NULL_LENGTH) {
+      return null;
+    }
+    final List<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(readString());
+    }
+    return values;
+  }
+
+  UUID readUuid() {
+    return readByte() == 0 ? null : new UUID(readRawLong(), readRawLong());
+  }
+
+  Boolean readBoolean() {
+    return switch (readByte()) {
+      case 0 -> null;
+      case 1 -> Boolean.FALSE;
+      default -> Boolean.TRUE;
+    };
+  }
+
+  Double readDouble() {
+    return readByte() == 0 ? null : Double.longBitsToDouble(readRawLong());
+  }
+
+  Long readLong() {
+    return readByte() == 0 ? null : readRawLong();
+  }
+
+  LocalDate readDate() {
+    final long epochDay = readRawLong();
+    return epochDay == DocumentEncoder.NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private byte readByte() {
+    return buffer.get(position++);
+  }
+
+  private int readInt() {
+    final int value = buffer.getInt(position);
+    position += Integer.BYTES;
+    return value;
+  }
+
+  private long readRawLong() {
+    final long value = buffer.getLong(position);
+    position += Long.BYTES;
+    return value;
+  }
+}
@@ -0,0 +1,105 @@
+package com.mavita.score.repository.offheap;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the fields of a document, in order, to a growable byte array. Every value may be {@code
+ * null}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class DocumentEncoder {
+
+  static final int NULL_LENGTH = -1;
+  static final long NULL_DATE = Long.MIN_VALUE;
+
+  private byte[] bytes = new byte[256];
+  private int size;
+
+  void writeString(String value) {
+    if (value == null) {
+      writeInt(NULL_LENGTH);
+      return;
+    }
+    final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+    writeInt(utf8.length);
+    ensureCapacity(utf8.length);
+    System.arraycopy(utf8, 0, bytes, size, utf8.length);
+    size += utf8.length;
+  }
+
+  void writeStrings(List<String> values) {
+    if (values == null) {
+      writeInt(NULL_LENGTH);
+      return;
+    }
+    writeInt(values.size());
+    for (String value : values) {
+      writeString(value);
+    }
+  }
+
+  void writeUuid(UUID value) {
+    writeByte(value == null ? 0 : 1);
+    if (value != null) {
+      writeRawLong(value.getMostSignificantBits());
+      writeRawLong(value.getLeastSignificantBits());
+    }
+  }
+
+  void writeBoolean(Boolean value) {
+    writeByte(value == null ? 0 : value ? 2 : 1);
+  }
+
+  void writeDouble(Double value) {
+    writeByte(value == null ? 0 : 1);
+    if (value != null) {
+      writeRawLong(Double.doubleToRawLongBits(value));
+    }
+  }
+
+  void writeLong(Long value) {
+    writeByte(value == null ? 0 : 1);
+    if (value != null) {
+      writeRawLong(value);
+    }
+  }
+
+  void writeDate(LocalDate value) {
+    writeRawLong(value == null ? NULL_DATE : value.toEpochDay());
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(bytes, size);
+  }
+
+  private void writeByte(int value) {
+    ensureCapacity(1);
+    bytes[size++] = (byte) value;
+  }
+
+  private void writeInt(int value) {
+    ensureCapacity(Integer.BYTES);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      bytes[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void writeRawLong(long value) {
+    ensureCapacity(Long.BYTES);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      bytes[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    if (size + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.mavita.score.repository.offheap;
+
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.domain.health.PersonalFamilyHistory;
+
+/**
+ * {@link OffHeapCodec} of {@link Health}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class HealthCodec implements OffHeapCodec<Health> {
+
+  @Override
+  public int version() {
+    return 2;
+  }
+
+  @Override
+  public void encode(Health document, DocumentEncoder out) {
+    out.writeString(document.getId());
+    out.writeUuid(document.getUserUuid());
+    out.writeBoolean(document.getSmokes());
+    out.writeString(document.getAlcoholConsumption());
+    out.writeString(document.getPhysicalActivityLevel());
+    out.writeString(document.getDietQuality());
+    out.writeString(document.getHealthFeeling());
+    out.writeString(document.getAverageSleepWindow());
+    out.writeString(document.getSleepDifficulty());
+    out.writeString(document.getNightAwakeningFrequency());
+    out.writeString(document.getWakeUpMood());
+    out.writeString(document.getAnxietyShortnessBreath());
+    out.writeString(document.getStressLevel());
+    out.writeString(document.getSadnessLevel());
+
+    final PersonalFamilyHistory history = document.getPersonalFamilyHistory();
+    out.writeBoolean(history != null);
+    if (history != null) {
+      out.writeStrings(history.getChronicConditions());
+      out.writeStrings(history.getParentalConditions());
+      out.writeString(history.getChronicOther());
+      out.writeString(history.getParentalOther());
+    }
+
+    out.writeString(document.getDiabetesSymptomLevel());
+    out.writeString(document.getHeadacheDizzinessLevel());
+    out.writeString(document.getPreventiveExamFrequency());
+    out.writeLong(document.getContentHash());
+  }
+
+  @Override
+  public Health decode(DocumentDecoder in) {
+    final Health document = new Health();
+    document.setId(in.readString());
+    document.setUserUuid(in.readUuid());
+    document.setSmokes(in.readBoolean());
+    document.setAlcoholConsumption(in.readString());
+    document.setPhysicalActivityLevel(in.readString());
+    document.setDietQuality(in.readString());
+    document.setHealthFeeling(in.readString());
+    document.setAverageSleepWindow(in.readString());
+    document.setSleepDifficulty(in.readString());
+    document.setNightAwakeningFrequency(in.readString());
+    document.setWakeUpMood(in.readString());
+    document.setAnxietyShortnessBreath(in.readString());
+    document.setStressLevel(in.readString());
+    document.setSadnessLevel(in.readString());
+
+    if (in.readBoolean()) {
+      document.setPersonalFamilyHistory(
+          new PersonalFamilyHistory(
+              in.readStrings(), in.readStrings(), in.readString(), in.readString()));
+    }
+
+    document.setDiabetesSymptomLevel(in.readString());
+    document.setHeadacheDizzinessLevel(in.readString());
+    document.setPreventiveExamFrequency(in.readString());
+    document.setContentHash(in.readLong());
+    return document;
+  }
+}
@@ -0,0 +1,23 @@
+package com.mavita.score.repository.offheap;
+
+/**
+ * Binary encoding of the documents of an {@link OffHeapStore}.
+ *
+ * @param <T> the document type
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+interface OffHeapCodec<T> {
+
+  /**
+   * Version of the encoding, stored in the snapshot files. Must change whenever {@link #encode}
+   * changes, so that snapshots written by another version are not misread.
+   *
+   * @return the encoding version
+   */
+  int version();
+
+  void encode(T document, DocumentEncoder out);
+
+  T decode(DocumentDecoder in);
+}
@@ -0,0 +1,54 @@
+package com.mavita.score.repository.offheap;
+
+import com.mavita.score.config.ScoreOffHeapProperties;
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.repository.health.HealthRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link HealthRepository} keeping the health data off-heap, active with the {@code offheap}
+ * Spring profile; see {@link OffHeapRepository}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Primary
+@Repository
+@Profile("offheap")
+public class OffHeapHealthRepository extends OffHeapRepository<Health>
+    implements HealthRepository {
+
+  public OffHeapHealthRepository(ScoreOffHeapProperties properties, MeterRegistry meterRegistry) {
+    super(
+        "health",
+        new HealthCodec(),
+        Health::getUserUuid,
+        Health::getId,
+        Health::setId,
+        Health::getContentHash,
+        properties,
+        meterRegistry);
+  }
+
+  @Override
+  public Optional<Health> findByUserUuid(UUID userUuid) {
+    return store.get(userUuid);
+  }
+
+  @Override
+  public boolean existsByUserUuid(UUID userUuid) {
+    return store.contains(userUuid);
+  }
+
+  @Override
+  public List<Health> findByUserUuidIn(Collection<UUID> userUuids) {
+    return userUuids.stream().map(store::get).flatMap(Optional::stream).toList();
+  }
+}
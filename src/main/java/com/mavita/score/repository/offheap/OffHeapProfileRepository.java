@@ -0,0 +1,65 @@
+package com.mavita.score.repository.offheap;
+
+import com.mavita.score.config.ScoreOffHeapProperties;
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.profile.ProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link ProfileRepository} keeping the profiles off-heap, active with the {@code offheap} Spring
+ * profile; see {@link OffHeapRepository}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Primary
+@Repository
+@org.springframework.context.annotation.Profile("offheap")
+public class OffHeapProfileRepository extends OffHeapRepository<Profile>
+    implements ProfileRepository {
+
+  public OffHeapProfileRepository(
+      ScoreOffHeapProperties properties, MeterRegistry meterRegistry) {
+    super(
+        "profile",
+        new ProfileCodec(),
+        Profile::getUserUuid,
+        Profile::getId,
+        Profile::setId,
+        Profile::getContentHash,
+        properties,
+        meterRegistry);
+  }
+
+  @Override
+  public Optional<Profile> findByUserUuid(UUID userUuid) {
+    return store.get(userUuid);
+  }
+
+  @Override
+  public List<Profile> findByUserUuidIn(Collection<UUID> userUuids) {
+    return userUuids.stream().map(store::get).flatMap(Optional::stream).toList();
+  }
+
+  @Override
+  public Stream<Profile> findAllByOrderByUserUuidAsc() {
+    return store.keys().sorted().map(store::get).flatMap(Optional::stream);
+  }
+
+  @Override
+  public Stream<Profile> findByUserUuidGreaterThanOrderByUserUuidAsc(UUID userUuid) {
+    return store
+        .keys()
+        .filter(key -> key.compareTo(userUuid) > 0)
+        .sorted()
+        .map(store::get)
+        .flatMap(Optional::stream);
+  }
+}
@@ -0,0 +1,236 @@
+package com.mavita.score.repository.offheap;
+
+import com.mavita.score.config.ScoreOffHeapProperties;
+import com.mavita.score.repository.health.HealthRepository;
+import com.mavita.score.repository.profile.ProfileRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Base of the repositories that keep one document per user in an {@link OffHeapStore} instead of
+ * MongoDB.
+ *
+ * <p>The subclasses implement the whole {@link ProfileRepository} or {@link HealthRepository} the
+ * services depend on, nothing more. New documents get an {@link ObjectId}, as MongoDB would give
+ * them.
+ *
+ * <p>Only the profiles and the health data are kept off-heap: score snapshots, score history,
+ * rescoring checkpoints and the reactive repositories still live in MongoDB, and the documents are
+ * private to the instance. The {@code offheap} profile is therefore meant for benchmarks and load
+ * tests of the scoring path, not for production.
+ *
+ * <p>When {@code score.offheap.snapshot-directory} is set, the documents are loaded from {@code
+ * <directory>/<name>.snapshot} on startup, and saved there every {@code
+ * score.offheap.snapshot-interval} if they changed, and on shutdown. The number of documents and
+ * the off-heap bytes are published as {@code score.offheap.documents} and {@code
+ * score.offheap.bytes}, tagged with the store name.
+ *
+ * @param <T> the document type
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+abstract class OffHeapRepository<T> {
+
+  protected final OffHeapStore<T> store;
+  private final String name;
+  private final Function<T, UUID> userUuid;
+  private final Function<T, String> id;
+  private final BiConsumer<T, String> idSetter;
+  private final Function<T, Long> contentHash;
+  private final Path snapshotFile;
+  private long savedModifications;
+
+  OffHeapRepository(
+      String name,
+      OffHeapCodec<T> codec,
+      Function<T, UUID> userUuid,
+      Function<T, String> id,
+      BiConsumer<T, String> idSetter,
+      Function<T, Long> contentHash,
+      ScoreOffHeapProperties properties,
+      MeterRegistry meterRegistry) {
+    this.store = new OffHeapStore<>(codec, Math.toIntExact(properties.segmentSize().toBytes()));
+    this.name = name;
+    this.userUuid = userUuid;
+    this.id = id;
+    this.idSetter = idSetter;
+    this.contentHash = contentHash;
+    this.snapshotFile =
+        properties.snapshotDirectory() == null || properties.snapshotDirectory().isBlank()
+            ? null
+            : Path.of(properties.snapshotDirectory(), name + ".snapshot");
+
+    Gauge.builder("score.offheap.documents", store, OffHeapStore::size)
+        .tag("store", name)
+        .register(meterRegistry);
+    Gauge.builder("score.offheap.bytes", store, OffHeapStore::allocatedBytes)
+        .tag("store", name)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+
+    if (snapshotFile != null && Files.exists(snapshotFile)) {
+      try {
+        final int count = store.readFrom(snapshotFile);
+        log.info("Loaded {} {} documents from {}", count, name, snapshotFile);
+      } catch (IOException ex) {
+        throw new IllegalStateException("Could not load " + snapshotFile, ex);
+      }
+      savedModifications = store.modifications();
+    }
+  }
+
+  /**
+   * Saves the documents to the snapshot file if they changed since the last save. Failures are
+   * logged; the documents stay in memory and the next run tries again.
+   */
+  @Scheduled(
+      initialDelayString = "${score.offheap.snapshot-interval:5m}",
+      fixedDelayString = "${score.offheap.snapshot-interval:5m}")
+  @PreDestroy
+  public synchronized void snapshot() {
+    final long modifications = store.modifications();
+    if (snapshotFile == null || modifications == savedModifications) {
+      return;
+    }
+    try {
+      Files.createDirectories(snapshotFile.getParent());
+      final int count = store.writeTo(snapshotFile);
+      savedModifications = modifications;
+      log.debug("Saved {} {} documents to {}", count, name, snapshotFile);
+    } catch (IOException ex) {
+      log.warn("Could not save {} documents to {}", name, snapshotFile, ex);
+    }
+  }
+
+  /**
+   * Stores {@code document} under its user, keeping the {@code id} of the document it replaces.
+   * The write is skipped when the stored document has the same content hash.
+   *
+   * @param document the new content; its {@code id} is overwritten
+   * @return the document as it was before the write, or empty if there was none
+   */
+  public Optional<T> findAndUpsert(T document) {
+    final UUID key = userUuid.apply(document);
+    synchronized (store) {
+      final Optional<T> previous = store.get(key);
+      idSetter.accept(document, previous.map(id).orElseGet(() -> new ObjectId().toHexString()));
+      final Long hash = contentHash.apply(document);
+      if (hash == null || previous.isEmpty() || !hash.equals(contentHash.apply(previous.get()))) {
+        store.put(key, document);
+      }
+      return previous;
+    }
+  }
+
+  /**
+   * Returns the content hash of the stored documents of some users.
+   *
+   * @param userUuids the users
+   * @return the content hashes by user; users without a document or a hash are absent
+   */
+  public Map<UUID, Long> findContentHashes(Collection<UUID> userUuids) {
+    final Map<UUID, Long> hashes = new HashMap<>();
+    for (UUID key : userUuids) {
+      store.get(key).map(contentHash).ifPresent(hash -> hashes.put(key, hash));
+    }
+    return hashes;
+  }
+
+  /**
+   * Stores many documents, each like {@link #findAndUpsert(Object)}.
+   *
+   * @param documents the new contents; their {@code id} is overwritten
+   */
+  public void bulkUpsert(Collection<T> documents) {
+    documents.forEach(this::findAndUpsert);
+  }
+
+  /**
+   * Passes the user of every document, or of the documents created since a point in time, to
+   * {@code action}. The full scan reads the index without decoding any document; telling the
+   * documents created since a point in time apart decodes them all to read their {@link
+   * ObjectId}.
+   *
+   * @param createdSince lower bound of the creation time of the documents, as recorded in their
+   *     {@code ObjectId}; {@code null} for all of them
+   * @param action receives the users, in no particular order
+   */
+  public void forEachUserUuid(Instant createdSince, Consumer<UUID> action) {
+    if (createdSince == null) {
+      store.keys().forEach(action);
+      return;
+    }
+    final long since = createdSince.getEpochSecond();
+    documents()
+        .filter(document -> new ObjectId(id.apply(document)).getTimestamp() >= since)
+        .map(userUuid)
+        .forEach(action);
+  }
+
+  /**
+   * Tells that inserts cannot be watched: the store lives in this instance only, so every insert is
+   * made by it and there are no inserts of other instances to follow.
+   *
+   * @return {@code false}
+   */
+  public boolean supportsInsertStream() {
+    return false;
+  }
+
+  /**
+   * Must not be called, see {@link #supportsInsertStream()}.
+   *
+   * @param action ignored
+   * @throws IllegalStateException always
+   */
+  public void watchInsertedUserUuids(Consumer<UUID> action) {
+    throw new IllegalStateException("The off-heap store has no inserts of other instances");
+  }
+
+  /**
+   * Stores {@code document} as it is under its user, assigning an {@code id} if it has none. Used
+   * to load fixtures.
+   *
+   * @param document the document
+   * @return the document
+   */
+  public <S extends T> S save(S document) {
+    if (id.apply(document) == null) {
+      idSetter.accept(document, new ObjectId().toHexString());
+    }
+    store.put(userUuid.apply(document), document);
+    return document;
+  }
+
+  /**
+   * Counts the stored documents.
+   *
+   * @return the number of documents
+   */
+  public long count() {
+    return store.size();
+  }
+
+  /** Returns the stored documents, in no particular order. */
+  protected Stream<T> documents() {
+    return store.keys().map(store::get).flatMap(Optional::stream);
+  }
+}
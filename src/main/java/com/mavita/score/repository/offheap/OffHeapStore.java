@@ -0,0 +1,218 @@
+package com.mavita.score.repository.offheap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Hash map from user UUID to a document whose encoded bytes live outside the Java heap.
+ *
+ * <p>Documents are encoded by an {@link OffHeapCodec} and appended to direct buffers ("segments")
+ * of a fixed size; an on-heap index maps each key to its slot. The heap therefore holds one small
+ * index entry per document whatever its size, and the collector never scans the documents. A
+ * lookup is a hash probe plus decoding the fields, with no I/O.
+ *
+ * <p>Reads are lock-free. Writes are serialized: they append the new version and repoint the index,
+ * leaving the old bytes as garbage; once garbage exceeds the live data, live documents are copied
+ * to fresh segments. Readers holding a slot of a replaced segment keep reading it safely, since a
+ * segment is only released by the garbage collector.
+ *
+ * <p>The documents can be saved to and loaded from a file, see {@link #writeTo(Path)}.
+ *
+ * @param <T> the document type
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class OffHeapStore<T> {
+
+  private static final int MAGIC = 0x4d565348; // "MVSH"
+
+  private final OffHeapCodec<T> codec;
+  private final int segmentSize;
+  private final Map<UUID, Slot> index = new ConcurrentHashMap<>();
+
+  // Guarded by "this".
+  private ByteBuffer segment;
+  private long allocatedBytes;
+  private long liveBytes;
+  private long modifications;
+
+  OffHeapStore(OffHeapCodec<T> codec, int segmentSize) {
+    this.codec = codec;
+    this.segmentSize = segmentSize;
+  }
+
+  Optional<T> get(UUID key) {
+    final Slot slot = index.get(key);
+    return slot == null ? Optional.empty() : Optional.of(decode(slot));
+  }
+
+  boolean contains(UUID key) {
+    return index.containsKey(key);
+  }
+
+  void put(UUID key, T document) {
+    final DocumentEncoder encoder = new DocumentEncoder();
+    codec.encode(document, encoder);
+    put(key, encoder.toByteArray());
+  }
+
+  synchronized boolean remove(UUID key) {
+    final Slot removed = index.remove(key);
+    if (removed == null) {
+      return false;
+    }
+    liveBytes -= removed.length();
+    modifications++;
+    return true;
+  }
+
+  synchronized void clear() {
+    index.clear();
+    segment = null;
+    allocatedBytes = 0;
+    liveBytes = 0;
+    modifications++;
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  /**
+   * Returns the keys, in no particular order. The stream reflects the documents stored when it is
+   * consumed, and never fails because of concurrent writes.
+   */
+  Stream<UUID> keys() {
+    return index.keySet().stream();
+  }
+
+  /** Returns the number of off-heap bytes held by the segments, including garbage. */
+  synchronized long allocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /** Returns a counter incremented by every write, used to skip saving unchanged stores. */
+  synchronized long modifications() {
+    return modifications;
+  }
+
+  /**
+   * Saves the documents to {@code file}, atomically replacing it: the documents are written to a
+   * temporary file in the same directory, which is then moved over {@code file}.
+   *
+   * <p>Writes are not blocked meanwhile; a document written during the save may or may not be
+   * included.
+   *
+   * @param file where to save the documents
+   * @return the number of documents saved
+   * @throws IOException if the file cannot be written
+   */
+  int writeTo(Path file) throws IOException {
+    final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    int count = 0;
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(codec.version());
+      for (Map.Entry<UUID, Slot> entry : index.entrySet()) {
+        final Slot slot = entry.getValue();
+        final byte[] bytes = new byte[slot.length()];
+        slot.segment().get(slot.offset(), bytes);
+        out.writeBoolean(true);
+        out.writeLong(entry.getKey().getMostSignificantBits());
+        out.writeLong(entry.getKey().getLeastSignificantBits());
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        count++;
+      }
+      out.writeBoolean(false);
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return count;
+  }
+
+  /**
+   * Loads the documents saved by {@link #writeTo(Path)}, replacing or adding to the stored ones.
+   *
+   * @param file the saved documents
+   * @return the number of documents loaded
+   * @throws IOException if the file cannot be read, or was not written by this store's codec
+   */
+  int readFrom(Path file) throws IOException {
+    int count = 0;
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException(file + " is not an off-heap store snapshot");
+      }
+      final int version = in.readInt();
+      if (version != codec.version()) {
+        throw new IOException(
+            file + " has encoding version " + version + ", expected " + codec.version());
+      }
+      while (in.readBoolean()) {
+        final UUID key = new UUID(in.readLong(), in.readLong());
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        put(key, bytes);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private T decode(Slot slot) {
+    return codec.decode(new DocumentDecoder(slot.segment(), slot.offset()));
+  }
+
+  private synchronized void put(UUID key, byte[] bytes) {
+    final Slot previous = index.put(key, append(bytes));
+    liveBytes += bytes.length - (previous == null ? 0 : previous.length());
+    modifications++;
+    if (allocatedBytes > 4L * segmentSize && allocatedBytes > 2 * liveBytes) {
+      compact();
+    }
+  }
+
+  /** Copies the live documents to fresh segments, so the old ones can be released. */
+  private void compact() {
+    segment = null;
+    allocatedBytes = 0;
+    for (Map.Entry<UUID, Slot> entry : index.entrySet()) {
+      final Slot slot = entry.getValue();
+      final byte[] bytes = new byte[slot.length()];
+      slot.segment().get(slot.offset(), bytes);
+      entry.setValue(append(bytes));
+    }
+  }
+
+  private Slot append(byte[] bytes) {
+    if (bytes.length > segmentSize) {
+      allocatedBytes += bytes.length;
+      return new Slot(ByteBuffer.allocateDirect(bytes.length).put(0, bytes), 0, bytes.length);
+    }
+    if (segment == null || segment.remaining() < bytes.length) {
+      segment = ByteBuffer.allocateDirect(segmentSize);
+      allocatedBytes += segmentSize;
+    }
+    final int offset = segment.position();
+    segment.put(bytes);
+    return new Slot(segment, offset, bytes.length);
+  }
+
+  /** Location of an encoded document. */
+  private record Slot(ByteBuffer segment, int offset, int length) {}
+}
@@ -0,0 +1,44 @@
+package com.mavita.score.repository.offheap;
+
+import com.mavita.score.domain.profile.Profile;
+
+/**
+ * {@link OffHeapCodec} of {@link Profile}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class ProfileCodec implements OffHeapCodec<Profile> {
+
+  @Override
+  public int version() {
+    return 2;
+  }
+
+  @Override
+  public void encode(Profile document, DocumentEncoder out) {
+    out.writeString(document.getId());
+    out.writeUuid(document.getUserUuid());
+    out.writeDate(document.getBirthDate());
+    out.writeDouble(document.getWeight());
+    out.writeDouble(document.getHeight());
+    out.writeString(document.getSex());
+    out.writeString(document.getLgbtqiaStatus());
+    out.writeString(document.getPregnancyStatus());
+    out.writeLong(document.getContentHash());
+  }
+
+  @Override
+  public Profile decode(DocumentDecoder in) {
+    return new Profile(
+        in.readString(),
+        in.readUuid(),
+        in.readDate(),
+        in.readDouble(),
+        in.readDouble(),
+        in.readString(),
+        in.readString(),
+        in.readString(),
+        in.readLong());
+  }
+}
@@ -0,0 +1,22 @@
+package com.mavita.score.repository.profile;
+
+import com.mavita.score.domain.profile.Profile;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data repository for {@link Profile}. */
+@Repository
+public interface MongoProfileRepository
+    extends MongoRepository<Profile, String>, ProfileRepository {
+
+  @Override
+  @Meta(cursorBatchSize = 1000)
+  Stream<Profile> findAllByOrderByUserUuidAsc();
+
+  @Override
+  @Meta(cursorBatchSize = 1000)
+  Stream<Profile> findByUserUuidGreaterThanOrderByUserUuidAsc(UUID userUuid);
+}
@@ -0,0 +1,165 @@
+package com.mavita.score.repository.profile;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.FieldUpdates;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/** {@link MongoTemplate} based implementation of {@link ProfileRepositoryCustom}. */
+@RequiredArgsConstructor
+class MongoProfileRepositoryImpl implements ProfileRepositoryCustom {
+
+  /** Error code of a query hinting an index that does not exist (BadValue). */
+  private static final int HINT_REJECTED = 2;
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public Optional<Profile> findAndUpsert(Profile profile) {
+    try {
+      return upsert(profile);
+    } catch (DuplicateKeyException ex) {
+      // Another writer inserted the user's first document meanwhile: this write now updates it.
+      return upsert(profile);
+    }
+  }
+
+  private Optional<Profile> upsert(Profile profile) {
+    return Optional.ofNullable(
+        mongoTemplate.findAndModify(
+            query(where("userUuid").is(profile.getUserUuid())),
+            FieldUpdates.setAll(mongoTemplate.getConverter(), profile, "userUuid"),
+            FindAndModifyOptions.options().upsert(true),
+            Profile.class));
+  }
+
+  @Override
+  public Map<UUID, Long> findContentHashes(Collection<UUID> userUuids) {
+    final Query query = query(where("userUuid").in(userUuids));
+    query.fields().include("userUuid", "contentHash");
+    return mongoTemplate.find(query, Profile.class).stream()
+        .filter(profile -> profile.getContentHash() != null)
+        .collect(
+            Collectors.toMap(Profile::getUserUuid, Profile::getContentHash, (first, second) -> first));
+  }
+
+  @Override
+  public void bulkUpsert(Collection<Profile> profiles) {
+    if (profiles.isEmpty()) {
+      return;
+    }
+
+    final List<Profile> pending = List.copyOf(profiles);
+    try {
+      upsertAll(pending);
+    } catch (BulkOperationException ex) {
+      // Upserts that lost the insert of a user's first document to another writer fail on the
+      // unique index; run again, they update it. Anything else is an error.
+      if (ex.getErrors().stream()
+          .anyMatch(error -> error.getCategory() != ErrorCategory.DUPLICATE_KEY)) {
+        throw ex;
+      }
+      upsertAll(ex.getErrors().stream().map(error -> pending.get(error.getIndex())).toList());
+    }
+  }
+
+  private void upsertAll(List<Profile> profiles) {
+    final BulkOperations bulk =
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Profile.class);
+    for (Profile profile : profiles) {
+      bulk.upsert(
+          query(where("userUuid").is(profile.getUserUuid())),
+          FieldUpdates.setAll(mongoTemplate.getConverter(), profile, "userUuid"));
+    }
+    bulk.execute();
+  }
+
+  @Override
+  public void forEachUserUuid(Instant createdSince, Consumer<UUID> action) {
+    if (createdSince != null) {
+      scanUserUuids(
+          query(where("_id").gte(ObjectId.getSmallestWithDate(Date.from(createdSince)))), action);
+      return;
+    }
+    try {
+      // Covered by the userUuid index: no document is fetched.
+      scanUserUuids(new Query(new Criteria()).withHint("{ userUuid: 1 }"), action);
+    } catch (DataAccessException ex) {
+      if (!(ex.getCause() instanceof MongoServerException cause)
+          || cause.getCode() != HINT_REJECTED) {
+        throw ex;
+      }
+      // The index is not there (yet): read the documents instead.
+      scanUserUuids(new Query(new Criteria()), action);
+    }
+  }
+
+  private void scanUserUuids(Query query, Consumer<UUID> action) {
+    query.fields().include("userUuid").exclude("_id");
+    query.cursorBatchSize(10_000);
+    try (Stream<Profile> documents = mongoTemplate.stream(query, Profile.class)) {
+      documents.map(Profile::getUserUuid).forEach(action);
+    }
+  }
+
+  @Override
+  public boolean supportsInsertStream() {
+    final Document hello = mongoTemplate.executeCommand(new Document("hello", 1));
+    // Members of a replica set name it; the routers of a sharded cluster say isdbgrid.
+    return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+  }
+
+  @Override
+  public void watchInsertedUserUuids(Consumer<UUID> action) {
+    final List<Bson> pipeline =
+        List.of(
+            Aggregates.match(Filters.eq("operationType", "insert")),
+            Aggregates.project(Projections.include("operationType", "fullDocument.userUuid")));
+    try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor =
+        mongoTemplate
+            .getCollection(mongoTemplate.getCollectionName(Profile.class))
+            .watch(pipeline)
+            .maxAwaitTime(1, TimeUnit.SECONDS)
+            .cursor()) {
+      while (!Thread.currentThread().isInterrupted()) {
+        final ChangeStreamDocument<Document> change = cursor.tryNext();
+        if (change != null && change.getFullDocument() != null) {
+          final Profile inserted =
+              mongoTemplate.getConverter().read(Profile.class, change.getFullDocument());
+          action.accept(inserted.getUserUuid());
+        }
+      }
+    }
+  }
+}
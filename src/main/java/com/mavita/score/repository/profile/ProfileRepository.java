@@ -1,14 +1,17 @@
 package com.mavita.score.repository.profile;
 
 import com.mavita.score.domain.profile.Profile;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.stereotype.Repository;
+import java.util.stream.Stream;
 
-/** Spring Data repository for {@link Profile}. */
-@Repository
-public interface ProfileRepository extends MongoRepository<Profile, String> {
+/**
+ * Storage of the {@link Profile}s, i.e. the operations the services use. Implemented on MongoDB
+ * by {@link MongoProfileRepository} and off-heap by the {@code offheap} Spring profile.
+ */
+public interface ProfileRepository extends ProfileRepositoryCustom {
 
   /**
    * Finds a profile by the unique user UUID.
@@ -17,4 +20,36 @@ public interface ProfileRepository extends MongoRepository<Profile, String> {
    * @return optional profile
    */
   Optional<Profile> findByUserUuid(UUID userUuid);
+
+  /**
+   * Finds the profiles of several users in a single query.
+   *
+   * @param userUuids the users' UUIDs
+   * @return the profiles found, in no particular order
+   */
+  List<Profile> findByUserUuidIn(Collection<UUID> userUuids);
+
+  /**
+   * Counts the stored profiles.
+   *
+   * @return the number of profiles
+   */
+  long count();
+
+  /**
+   * Streams all profiles ordered by user UUID over a single server-side cursor. The stream must be
+   * closed by the caller.
+   *
+   * @return the profiles, in {@code userUuid} index order
+   */
+  Stream<Profile> findAllByOrderByUserUuidAsc();
+
+  /**
+   * Streams the profiles whose user UUID sorts after {@code userUuid}, ordered by user UUID over a
+   * single server-side cursor. The stream must be closed by the caller.
+   *
+   * @param userUuid exclusive lower bound, as ordered by MongoDB
+   * @return the profiles, in {@code userUuid} index order
+   */
+  Stream<Profile> findByUserUuidGreaterThanOrderByUserUuidAsc(UUID userUuid);
 }
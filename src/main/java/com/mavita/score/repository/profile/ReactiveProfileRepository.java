@@ -0,0 +1,21 @@
+package com.mavita.score.repository.profile;
+
+import com.mavita.score.domain.profile.Profile;
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/** Reactive Spring Data repository for {@link Profile}, used by the reactive endpoints. */
+@Repository
+public interface ReactiveProfileRepository
+    extends ReactiveMongoRepository<Profile, String>, ReactiveProfileRepositoryCustom {
+
+  /**
+   * Finds a profile by the unique user UUID.
+   *
+   * @param userUuid user's UUID
+   * @return the profile, or empty
+   */
+  Mono<Profile> findByUserUuid(UUID userUuid);
+}
@@ -0,0 +1,16 @@
+package com.mavita.score.repository.profile;
+
+import com.mavita.score.domain.profile.Profile;
+import reactor.core.publisher.Mono;
+
+/** Custom operations of {@link ReactiveProfileRepository}. */
+public interface ReactiveProfileRepositoryCustom {
+
+  /**
+   * Reactive counterpart of {@link ProfileRepositoryCustom#findAndUpsert(Profile)}.
+   *
+   * @param profile the new content; its {@code id} is ignored
+   * @return the document as it was before the write, or empty if it was created
+   */
+  Mono<Profile> findAndUpsert(Profile profile);
+}
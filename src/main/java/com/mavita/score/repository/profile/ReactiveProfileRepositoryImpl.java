@@ -0,0 +1,35 @@
+package com.mavita.score.repository.profile;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.FieldUpdates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveMongoTemplate} based implementation of {@link ReactiveProfileRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+class ReactiveProfileRepositoryImpl implements ReactiveProfileRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<Profile> findAndUpsert(Profile profile) {
+    // Another writer may insert the user's first document meanwhile: this write then updates it.
+    return upsert(profile).onErrorResume(DuplicateKeyException.class, ex -> upsert(profile));
+  }
+
+  private Mono<Profile> upsert(Profile profile) {
+    return mongoTemplate.findAndModify(
+        query(where("userUuid").is(profile.getUserUuid())),
+        FieldUpdates.setAll(mongoTemplate.getConverter(), profile, "userUuid"),
+        FindAndModifyOptions.options().upsert(true),
+        Profile.class);
+  }
+}
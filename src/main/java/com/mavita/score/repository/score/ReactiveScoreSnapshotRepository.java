@@ -0,0 +1,30 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/** Reactive Spring Data repository for {@link ScoreSnapshot}, used by the reactive endpoints. */
+@Repository
+public interface ReactiveScoreSnapshotRepository
+    extends ReactiveMongoRepository<ScoreSnapshot, String>,
+        ReactiveScoreSnapshotRepositoryCustom {
+
+  /**
+   * Finds the score snapshot of a specific user.
+   *
+   * @param userUuid the user's UUID
+   * @return the snapshot document, or empty
+   */
+  Mono<ScoreSnapshot> findByUserUuid(UUID userUuid);
+
+  /**
+   * Deletes the score snapshot of a specific user, if any.
+   *
+   * @param userUuid the user's UUID
+   * @return completes once the snapshot is deleted
+   */
+  Mono<Void> deleteByUserUuid(UUID userUuid);
+}
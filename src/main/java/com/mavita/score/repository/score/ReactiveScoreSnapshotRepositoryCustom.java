@@ -0,0 +1,26 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import reactor.core.publisher.Mono;
+
+/** Custom operations of {@link ReactiveScoreSnapshotRepository}. */
+public interface ReactiveScoreSnapshotRepositoryCustom {
+
+  /**
+   * Reactive counterpart of {@link
+   * ScoreSnapshotRepositoryCustom#replaceIfUnchanged(ScoreSnapshot, ScoreSnapshot)}.
+   *
+   * @param snapshot the snapshot to store; its {@code id} is ignored
+   * @param expected the snapshot that was read, or {@code null} if there was none
+   * @return whether the snapshot was stored
+   */
+  Mono<Boolean> replaceIfUnchanged(ScoreSnapshot snapshot, ScoreSnapshot expected);
+
+  /**
+   * Reactive counterpart of {@link ScoreSnapshotRepositoryCustom#deleteIfUnchanged(ScoreSnapshot)}.
+   *
+   * @param expected the snapshot that was read
+   * @return whether the snapshot was deleted
+   */
+  Mono<Boolean> deleteIfUnchanged(ScoreSnapshot expected);
+}
@@ -0,0 +1,43 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveMongoTemplate} based implementation of {@link
+ * ReactiveScoreSnapshotRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+class ReactiveScoreSnapshotRepositoryImpl implements ReactiveScoreSnapshotRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<Boolean> replaceIfUnchanged(ScoreSnapshot snapshot, ScoreSnapshot expected) {
+    snapshot.setId(null);
+    if (expected == null) {
+      return mongoTemplate
+          .insert(snapshot)
+          .thenReturn(true)
+          .onErrorResume(
+              DuplicateKeyException.class,
+              ex -> {
+                snapshot.setId(null);
+                return Mono.just(false);
+              });
+    }
+    return mongoTemplate
+        .findAndReplace(ScoreSnapshotRepositoryImpl.version(expected), snapshot)
+        .hasElement();
+  }
+
+  @Override
+  public Mono<Boolean> deleteIfUnchanged(ScoreSnapshot expected) {
+    return mongoTemplate
+        .remove(ScoreSnapshotRepositoryImpl.version(expected), ScoreSnapshot.class)
+        .map(result -> result.getDeletedCount() > 0);
+  }
+}
@@ -0,0 +1,10 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.RescoreCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data repository for {@link RescoreCheckpoint}. */
+@Repository
+public interface RescoreCheckpointRepository
+    extends MongoRepository<RescoreCheckpoint, String>, RescoreCheckpointRepositoryCustom {}
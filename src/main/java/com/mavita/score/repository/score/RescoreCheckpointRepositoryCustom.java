@@ -0,0 +1,28 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.RescoreCheckpoint;
+import java.time.Instant;
+
+/** Custom operations of {@link RescoreCheckpointRepository}. */
+public interface RescoreCheckpointRepositoryCustom {
+
+  /**
+   * Stores {@code checkpoint}, taking the job's lease for {@code checkpoint.owner}, unless another
+   * owner holds a lease that has not expired at {@code now}. The check and the write are a single
+   * atomic operation, so two instances cannot both take the lease.
+   *
+   * @param checkpoint the checkpoint to store, with its owner and lease expiry set
+   * @param now the current time
+   * @return whether the lease was taken
+   */
+  boolean acquire(RescoreCheckpoint checkpoint, Instant now);
+
+  /**
+   * Stores {@code checkpoint} only if the job is still owned by {@code checkpoint.owner}, i.e. no
+   * other instance took the job over since its lease expired.
+   *
+   * @param checkpoint the checkpoint to store
+   * @return whether the checkpoint was stored
+   */
+  boolean replaceIfOwned(RescoreCheckpoint checkpoint);
+}
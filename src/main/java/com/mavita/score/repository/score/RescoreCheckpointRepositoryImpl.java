@@ -0,0 +1,46 @@
+package com.mavita.score.repository.score;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.score.RescoreCheckpoint;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/** {@link MongoTemplate} based implementation of {@link RescoreCheckpointRepositoryCustom}. */
+@RequiredArgsConstructor
+class RescoreCheckpointRepositoryImpl implements RescoreCheckpointRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public boolean acquire(RescoreCheckpoint checkpoint, Instant now) {
+    try {
+      // When the lease is held, the upsert matches nothing and fails to insert the same id.
+      mongoTemplate.findAndReplace(
+          query(
+              where("_id")
+                  .is(checkpoint.getId())
+                  .orOperator(
+                      where("owner").is(checkpoint.getOwner()),
+                      where("leaseExpiresAt").is(null),
+                      where("leaseExpiresAt").lte(now))),
+          checkpoint,
+          FindAndReplaceOptions.options().upsert());
+      return true;
+    } catch (DuplicateKeyException ex) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean replaceIfOwned(RescoreCheckpoint checkpoint) {
+    final Criteria owned =
+        where("_id").is(checkpoint.getId()).and("owner").is(checkpoint.getOwner());
+    return mongoTemplate.findAndReplace(query(owned), checkpoint) != null;
+  }
+}
@@ -0,0 +1,35 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreHistoryBucket;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data repository for {@link ScoreHistoryBucket}. */
+@Repository
+public interface ScoreHistoryRepository
+    extends MongoRepository<ScoreHistoryBucket, String>, ScoreHistoryRepositoryCustom {
+
+  /**
+   * Finds the history bucket of a user for a given month.
+   *
+   * @param userUuid the user's UUID
+   * @param month the month, formatted as {@code yyyy-MM}
+   * @return an optional bucket
+   */
+  Optional<ScoreHistoryBucket> findByUserUuidAndMonth(UUID userUuid, String month);
+
+  /**
+   * Finds the history buckets of a user between two months (inclusive), oldest first.
+   *
+   * @param userUuid the user's UUID
+   * @param fromMonth first month, formatted as {@code yyyy-MM}
+   * @param toMonth last month, formatted as {@code yyyy-MM}
+   * @return the buckets in chronological order
+   */
+  @Query(value = "{ 'userUuid': ?0, 'month': { $gte: ?1, $lte: ?2 } }", sort = "{ 'month': 1 }")
+  List<ScoreHistoryBucket> findRange(UUID userUuid, String fromMonth, String toMonth);
+}
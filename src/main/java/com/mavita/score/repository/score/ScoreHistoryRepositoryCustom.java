@@ -0,0 +1,19 @@
+package com.mavita.score.repository.score;
+
+import java.time.Instant;
+
+/** Custom operations of {@link ScoreHistoryRepository}. */
+public interface ScoreHistoryRepositoryCustom {
+
+  /**
+   * Appends an encoded entry to a bucket, provided no other entry was appended concurrently.
+   *
+   * @param bucketId the bucket's id
+   * @param expectedCount the number of entries the new entry was encoded against
+   * @param entry the encoded entry
+   * @param last the new absolute vector
+   * @param at the timestamp of the new entry
+   * @return {@code true} if the entry was appended; {@code false} if the bucket changed meanwhile
+   */
+  boolean appendEntry(String bucketId, int expectedCount, byte[] entry, int[] last, Instant at);
+}
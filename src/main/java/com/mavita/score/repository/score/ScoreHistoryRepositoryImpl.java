@@ -0,0 +1,33 @@
+package com.mavita.score.repository.score;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.score.ScoreHistoryBucket;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+/** {@link MongoTemplate} based implementation of {@link ScoreHistoryRepositoryCustom}. */
+@RequiredArgsConstructor
+class ScoreHistoryRepositoryImpl implements ScoreHistoryRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public boolean appendEntry(
+      String bucketId, int expectedCount, byte[] entry, int[] last, Instant at) {
+    return mongoTemplate
+            .updateFirst(
+                query(where("_id").is(bucketId).and("count").is(expectedCount)),
+                new Update()
+                    .push("entries", entry)
+                    .set("last", last)
+                    .set("lastAt", at)
+                    .inc("count", 1),
+                ScoreHistoryBucket.class)
+            .getModifiedCount()
+        == 1;
+  }
+}
@@ -0,0 +1,45 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/** Spring Data repository for {@link ScoreSnapshot}. */
+@Repository
+public interface ScoreSnapshotRepository
+    extends MongoRepository<ScoreSnapshot, String>, ScoreSnapshotRepositoryCustom {
+
+  /**
+   * Finds the score snapshot of a specific user.
+   *
+   * @param userUuid the user's UUID
+   * @return an optional snapshot document
+   */
+  Optional<ScoreSnapshot> findByUserUuid(UUID userUuid);
+
+  /**
+   * Finds the score snapshots of several users in a single query.
+   *
+   * @param userUuids the users' UUIDs
+   * @return the snapshots found, in no particular order
+   */
+  List<ScoreSnapshot> findByUserUuidIn(Collection<UUID> userUuids);
+
+  /**
+   * Deletes the score snapshot of a specific user, if any.
+   *
+   * @param userUuid the user's UUID
+   */
+  void deleteByUserUuid(UUID userUuid);
+
+  /**
+   * Deletes the score snapshots of several users with a single query.
+   *
+   * @param userUuids the users' UUIDs
+   */
+  void deleteByUserUuidIn(Collection<UUID> userUuids);
+}
@@ -0,0 +1,49 @@
+package com.mavita.score.repository.score;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/** Custom operations of {@link ScoreSnapshotRepository}. */
+public interface ScoreSnapshotRepositoryCustom {
+
+  /**
+   * Stores the snapshot of {@code snapshot.userUuid} only if the stored one is still {@code
+   * expected}, i.e. no other refresh replaced it since it was read.
+   *
+   * <p>The stored snapshot is matched by its {@code computedAt} and input hashes. Without an
+   * expected snapshot, the snapshot is inserted, which fails if another refresh inserted one
+   * first; that relies on the unique {@code userUuid} index.
+   *
+   * @param snapshot the snapshot to store; its {@code id} is ignored
+   * @param expected the snapshot that was read, or {@code null} if there was none
+   * @return whether the snapshot was stored
+   */
+  boolean replaceIfUnchanged(ScoreSnapshot snapshot, ScoreSnapshot expected);
+
+  /**
+   * Deletes the snapshot of {@code expected.userUuid} only if it is still {@code expected}.
+   *
+   * @param expected the snapshot that was read
+   * @return whether the snapshot was deleted
+   */
+  boolean deleteIfUnchanged(ScoreSnapshot expected);
+
+  /**
+   * Replaces and removes many snapshots in a single unordered bulk write, each like {@link
+   * #replaceIfUnchanged} and {@link #deleteIfUnchanged}: a snapshot another writer changed since it
+   * was read is left as it is. Unordered writes let the server apply the operations in parallel
+   * and keep going past individual failures.
+   *
+   * @param snapshots the snapshots to store; their {@code id} is ignored
+   * @param removed the users whose snapshot must be deleted
+   * @param expected the snapshots that were read, by user; users without one get their snapshot
+   *     inserted, and have none to delete
+   * @return the number of snapshots left as they were because another writer changed them first
+   */
+  int bulkReplaceIfUnchanged(
+      Collection<ScoreSnapshot> snapshots,
+      Collection<UUID> removed,
+      Map<UUID, ScoreSnapshot> expected);
+}
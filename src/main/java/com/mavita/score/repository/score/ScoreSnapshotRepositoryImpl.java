@@ -0,0 +1,103 @@
+package com.mavita.score.repository.score;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import com.mavita.score.domain.score.ScoreSnapshot;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteResult;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+/** {@link MongoTemplate} based implementation of {@link ScoreSnapshotRepositoryCustom}. */
+@RequiredArgsConstructor
+class ScoreSnapshotRepositoryImpl implements ScoreSnapshotRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public boolean replaceIfUnchanged(ScoreSnapshot snapshot, ScoreSnapshot expected) {
+    snapshot.setId(null);
+    if (expected == null) {
+      try {
+        mongoTemplate.insert(snapshot);
+        return true;
+      } catch (DuplicateKeyException ex) {
+        snapshot.setId(null);
+        return false;
+      }
+    }
+    return mongoTemplate.findAndReplace(version(expected), snapshot) != null;
+  }
+
+  @Override
+  public boolean deleteIfUnchanged(ScoreSnapshot expected) {
+    return mongoTemplate.remove(version(expected), ScoreSnapshot.class).getDeletedCount() > 0;
+  }
+
+  /** Matches the stored snapshot of a user only while it is the given one. */
+  static Query version(ScoreSnapshot snapshot) {
+    return query(
+        where("userUuid")
+            .is(snapshot.getUserUuid())
+            .and("computedAt")
+            .is(snapshot.getComputedAt())
+            .and("profileHash")
+            .is(snapshot.getProfileHash())
+            .and("healthHash")
+            .is(snapshot.getHealthHash()));
+  }
+
+  @Override
+  public int bulkReplaceIfUnchanged(
+      Collection<ScoreSnapshot> snapshots,
+      Collection<UUID> removed,
+      Map<UUID, ScoreSnapshot> expected) {
+    final BulkOperations bulk =
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScoreSnapshot.class);
+    int operations = 0;
+    for (ScoreSnapshot snapshot : snapshots) {
+      snapshot.setId(null);
+      final ScoreSnapshot stored = expected.get(snapshot.getUserUuid());
+      if (stored == null) {
+        bulk.insert(snapshot);
+      } else {
+        bulk.replaceOne(version(stored), snapshot);
+      }
+      operations++;
+    }
+    for (UUID userUuid : removed) {
+      final ScoreSnapshot stored = expected.get(userUuid);
+      if (stored != null) {
+        bulk.remove(version(stored));
+        operations++;
+      }
+    }
+    if (operations == 0) {
+      return 0;
+    }
+
+    BulkWriteResult result;
+    try {
+      result = bulk.execute();
+    } catch (BulkOperationException ex) {
+      // Inserts that lost to another writer fail on the unique index; anything else is an error.
+      if (ex.getErrors().stream()
+          .anyMatch(error -> error.getCategory() != ErrorCategory.DUPLICATE_KEY)) {
+        throw ex;
+      }
+      result = ex.getResult();
+    }
+    return operations
+        - result.getInsertedCount()
+        - result.getMatchedCount()
+        - result.getDeletedCount();
+  }
+}
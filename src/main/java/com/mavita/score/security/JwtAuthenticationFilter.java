@@ -0,0 +1,77 @@
+package com.mavita.score.security;
+
+import com.mavita.score.exception.InvalidTokenException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates the user endpoints ({@code /api/**} except {@code /api/admin/**}, which has its own
+ * token) with the bearer token of the {@code Authorization} header.
+ *
+ * <p>The token is checked by {@link JwtVerifier}. On success its subject is stored in the request
+ * attribute {@link #SUBJECT}, from which the controllers read the user's UUID; otherwise the
+ * request is answered with 401 and a {@code WWW-Authenticate} challenge, and rejections are
+ * counted as {@code score.jwt.rejected}, tagged with the {@link InvalidTokenException#getReason()
+ * reason}. The challenge only carries the fixed {@link InvalidTokenException#getDescription()
+ * description} of the reason: the message, which may quote the token, stays in the debug log.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+  /** Request attribute holding the authenticated user's UUID, as a string. */
+  public static final String SUBJECT = "com.mavita.score.security.JwtAuthenticationFilter.SUBJECT";
+
+  private final JwtVerifier jwtVerifier;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    final String path = request.getRequestURI().substring(request.getContextPath().length());
+    return !path.startsWith("/api/") || path.startsWith("/api/admin/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    final JwtClaims claims;
+    try {
+      claims = jwtVerifier.verify(request.getHeader(HttpHeaders.AUTHORIZATION));
+    } catch (InvalidTokenException ex) {
+      meterRegistry.counter("score.jwt.rejected", "reason", ex.getReason()).increment();
+      log.debug(
+          "Rejected bearer token of {} {}: {}",
+          request.getMethod(),
+          request.getRequestURI(),
+          ex.getMessage());
+      response.setHeader(
+          HttpHeaders.WWW_AUTHENTICATE,
+          ex.getReason().equals("missing")
+              ? "Bearer"
+              : "Bearer error=\"invalid_token\", error_description=\""
+                  + ex.getDescription()
+                  + "\"");
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+      return;
+    }
+
+    request.setAttribute(SUBJECT, claims.subject());
+    chain.doFilter(request, response);
+  }
+}
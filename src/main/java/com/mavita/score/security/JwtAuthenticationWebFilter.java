@@ -0,0 +1,69 @@
+package com.mavita.score.security;
+
+import com.mavita.score.exception.InvalidTokenException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}: authenticates the same endpoints with
+ * the same rules, and stores the subject in the exchange attribute {@link
+ * JwtAuthenticationFilter#SUBJECT}, from which the reactive controllers read it.
+ *
+ * <p>Verification runs on the event loop: tokens are almost always served from the {@link
+ * JwtVerifier} cache, and a signature check is a few hundred microseconds of CPU with no I/O.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+  private final JwtVerifier jwtVerifier;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    final ServerHttpRequest request = exchange.getRequest();
+    final String path = request.getPath().pathWithinApplication().value();
+    if (!path.startsWith("/api/") || path.startsWith("/api/admin/")) {
+      return chain.filter(exchange);
+    }
+
+    final JwtClaims claims;
+    try {
+      claims = jwtVerifier.verify(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+    } catch (InvalidTokenException ex) {
+      meterRegistry.counter("score.jwt.rejected", "reason", ex.getReason()).increment();
+      log.debug(
+          "Rejected bearer token of {} {}: {}", request.getMethod(), path, ex.getMessage());
+      exchange
+          .getResponse()
+          .getHeaders()
+          .set(
+              HttpHeaders.WWW_AUTHENTICATE,
+              ex.getReason().equals("missing")
+                  ? "Bearer"
+                  : "Bearer error=\"invalid_token\", error_description=\""
+                      + ex.getDescription()
+                      + "\"");
+      exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+      return exchange.getResponse().setComplete();
+    }
+
+    exchange.getAttributes().put(JwtAuthenticationFilter.SUBJECT, claims.subject());
+    return chain.filter(exchange);
+  }
+}
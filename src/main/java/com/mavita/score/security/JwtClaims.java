@@ -0,0 +1,14 @@
+package com.mavita.score.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a bearer token the service relies on.
+ *
+ * @param subject the {@code sub} claim, i.e. the user's UUID
+ * @param expiresAt the {@code exp} claim, or {@code null} when the token has none (only accepted
+ *     when verification is disabled)
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record JwtClaims(String subject, Instant expiresAt) {}
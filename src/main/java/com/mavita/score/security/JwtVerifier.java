@@ -0,0 +1,319 @@
+package com.mavita.score.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mavita.score.config.ScoreJwtProperties;
+import com.mavita.score.exception.InvalidTokenException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies bearer tokens (JWS compact serialization) against locally configured keys.
+ *
+ * <p>Supported algorithms are {@code HS256} ({@link ScoreJwtProperties#hmacSecret()}) and {@code
+ * RS256} ({@link ScoreJwtProperties#publicKey()}); any other algorithm, including {@code none}, is
+ * rejected. A valid token has a good signature, a {@code sub}, an {@code exp} in the future, no
+ * {@code nbf} in the future and, when configured, the expected {@code iss}.
+ *
+ * <p>Only the claims the service needs are read: the header and payload are Base64URL-decoded
+ * straight from the token's bytes and scanned with a streaming JSON parser, skipping every other
+ * claim without building a tree or a map. Verified tokens are remembered with their {@link
+ * JwtClaims} until they expire (bounded by {@link ScoreJwtProperties#cacheMaximumSize()}), so a
+ * client reusing its token pays for one hash lookup per request. Rejected tokens are not cached.
+ *
+ * <p>With {@link ScoreJwtProperties#verify()} disabled only the {@code sub} is read, as the service
+ * did before verification existed.
+ *
+ * <p>Instances are thread-safe.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+
+  private static final String BEARER = "Bearer ";
+  private static final int MIN_HMAC_SECRET_BYTES = 32;
+  private static final Duration UNVERIFIED_TTL = Duration.ofMinutes(5);
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+
+  private final boolean verify;
+  private final SecretKeySpec hmacKey;
+  private final PublicKey rsaKey;
+  private final String issuer;
+  private final Duration clockSkew;
+  private final Cache<String, JwtClaims> cache;
+
+  /**
+   * Reads the keys and creates the cache of verified tokens.
+   *
+   * @param properties the token configuration
+   * @param meterRegistry where the cache's metrics are registered
+   * @throws IllegalArgumentException if a key is malformed or the HMAC secret is too short
+   * @throws IllegalStateException if verification is enabled but no key is configured
+   */
+  public JwtVerifier(ScoreJwtProperties properties, MeterRegistry meterRegistry) {
+    this.verify = properties.verify();
+    this.hmacKey = hmacKey(properties.hmacSecret());
+    this.rsaKey = rsaKey(properties.publicKey());
+    this.issuer = isBlank(properties.issuer()) ? null : properties.issuer();
+    this.clockSkew = properties.clockSkew();
+    if (verify && hmacKey == null && rsaKey == null) {
+      throw new IllegalStateException(
+          "score.jwt.hmac-secret or score.jwt.public-key must be set"
+              + " (or score.jwt.verify=false for local development)");
+    }
+    if (!verify) {
+      log.warn("Bearer token verification is disabled: any well-formed token is trusted");
+    }
+
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.cacheMaximumSize())
+            .expireAfter(Expiry.creating((String header, JwtClaims claims) -> lifetime(claims)))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-claims");
+  }
+
+  /**
+   * Verifies the token of an {@code Authorization} header.
+   *
+   * @param authorization {@code "Bearer <token>"} (the scheme is case-insensitive)
+   * @return the token's claims
+   * @throws InvalidTokenException if the header is missing or the token is rejected
+   */
+  public JwtClaims verify(String authorization) {
+    if (authorization == null) {
+      throw new InvalidTokenException("missing", "Bearer token is required");
+    }
+    // Keyed by the whole header so that a hit allocates nothing.
+    final JwtClaims cached = cache.getIfPresent(authorization);
+    if (cached != null) {
+      return cached;
+    }
+
+    final JwtClaims claims = decode(token(authorization));
+    cache.put(authorization, claims);
+    return claims;
+  }
+
+  private JwtClaims decode(String token) {
+    // Base64URL never contains non-ASCII characters; they become '?' and fail the decoding.
+    final byte[] ascii = token.getBytes(StandardCharsets.US_ASCII);
+    final int first = indexOf(ascii, 0);
+    final int second = first < 0 ? -1 : indexOf(ascii, first + 1);
+    if (second < 0 || indexOf(ascii, second + 1) >= 0) {
+      throw new InvalidTokenException("malformed", "Token is not a signed JWT");
+    }
+
+    final String algorithm = readAlgorithm(base64(ascii, 0, first));
+    if (verify) {
+      checkSignature(algorithm, ascii, second, base64(ascii, second + 1, ascii.length));
+    }
+    return readClaims(base64(ascii, first + 1, second));
+  }
+
+  private void checkSignature(String algorithm, byte[] token, int signedLength, ByteBuffer sig) {
+    final byte[] signature = new byte[sig.remaining()];
+    sig.get(signature);
+    final boolean valid;
+    try {
+      valid =
+          switch (algorithm) {
+            case "HS256" -> {
+              if (hmacKey == null) throw unsupported(algorithm);
+              final Mac mac = Mac.getInstance("HmacSHA256");
+              mac.init(hmacKey);
+              mac.update(token, 0, signedLength);
+              yield MessageDigest.isEqual(mac.doFinal(), signature);
+            }
+            case "RS256" -> {
+              if (rsaKey == null) throw unsupported(algorithm);
+              final Signature rsa = Signature.getInstance("SHA256withRSA");
+              rsa.initVerify(rsaKey);
+              rsa.update(token, 0, signedLength);
+              yield rsa.verify(signature);
+            }
+            default -> throw unsupported(algorithm);
+          };
+    } catch (GeneralSecurityException ex) {
+      throw new InvalidTokenException("signature", "Token signature is invalid");
+    }
+    if (!valid) {
+      throw new InvalidTokenException("signature", "Token signature is invalid");
+    }
+  }
+
+  private JwtClaims readClaims(ByteBuffer json) {
+    String subject = null;
+    String tokenIssuer = null;
+    Long expiresAt = null;
+    Long notBefore = null;
+    try (JsonParser parser = parser(json)) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.currentName();
+        final JsonToken value = parser.nextToken();
+        switch (name) {
+          case "sub" -> subject = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+          case "iss" -> tokenIssuer = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+          case "exp" -> expiresAt = value.isNumeric() ? parser.getValueAsLong() : null;
+          case "nbf" -> notBefore = value.isNumeric() ? parser.getValueAsLong() : null;
+          default -> parser.skipChildren();
+        }
+      }
+      requireEnd(parser);
+    } catch (IOException ex) {
+      throw new InvalidTokenException("malformed", "Token payload is not a JSON object");
+    }
+
+    if (isBlank(subject)) {
+      throw new InvalidTokenException("subject", "Token has no subject");
+    }
+    if (!verify) {
+      return new JwtClaims(subject, expiresAt == null ? null : Instant.ofEpochSecond(expiresAt));
+    }
+
+    final long now = Instant.now().getEpochSecond();
+    final long skew = clockSkew.toSeconds();
+    if (expiresAt == null || expiresAt + skew <= now) {
+      throw new InvalidTokenException("expired", "Token is expired");
+    }
+    if (notBefore != null && notBefore - skew > now) {
+      throw new InvalidTokenException("not-yet-valid", "Token is not valid yet");
+    }
+    if (issuer != null && !issuer.equals(tokenIssuer)) {
+      throw new InvalidTokenException("issuer", "Token was issued by another issuer");
+    }
+    return new JwtClaims(subject, Instant.ofEpochSecond(expiresAt));
+  }
+
+  private Duration lifetime(JwtClaims claims) {
+    if (claims.expiresAt() == null) {
+      return UNVERIFIED_TTL;
+    }
+    final Duration remaining =
+        Duration.between(Instant.now(), claims.expiresAt().plus(clockSkew));
+    return remaining.isNegative() ? Duration.ZERO : remaining;
+  }
+
+  private static String readAlgorithm(ByteBuffer json) {
+    String algorithm = null;
+    try (JsonParser parser = parser(json)) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.currentName();
+        if (parser.nextToken() == JsonToken.VALUE_STRING && name.equals("alg")) {
+          algorithm = parser.getText();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      requireEnd(parser);
+    } catch (IOException ex) {
+      throw new InvalidTokenException("malformed", "Token header is not a JSON object");
+    }
+    if (algorithm == null) {
+      throw new InvalidTokenException("malformed", "Token header has no algorithm");
+    }
+    return algorithm;
+  }
+
+  private static JsonParser parser(ByteBuffer json) throws IOException {
+    final JsonParser parser =
+        JSON.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining());
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      parser.close();
+      throw new IOException("Expected a JSON object");
+    }
+    return parser;
+  }
+
+  private static void requireEnd(JsonParser parser) throws IOException {
+    if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+      throw new IOException("Expected the end of the JSON object");
+    }
+  }
+
+  private static ByteBuffer base64(byte[] ascii, int from, int to) {
+    try {
+      return BASE64URL.decode(ByteBuffer.wrap(ascii, from, to - from));
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidTokenException("malformed", "Token is not Base64URL-encoded");
+    }
+  }
+
+  private static int indexOf(byte[] ascii, int from) {
+    for (int i = from; i < ascii.length; i++) {
+      if (ascii[i] == '.') return i;
+    }
+    return -1;
+  }
+
+  private static String token(String authorization) {
+    if (authorization == null
+        || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+      throw new InvalidTokenException("missing", "Bearer token is required");
+    }
+    final String token = authorization.substring(BEARER.length()).trim();
+    if (token.isEmpty()) {
+      throw new InvalidTokenException("missing", "Bearer token is required");
+    }
+    return token;
+  }
+
+  private static InvalidTokenException unsupported(String algorithm) {
+    return new InvalidTokenException(
+        "algorithm", "Token algorithm " + algorithm + " is not accepted");
+  }
+
+  private static SecretKeySpec hmacKey(String secret) {
+    if (isBlank(secret)) return null;
+    final byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length < MIN_HMAC_SECRET_BYTES) {
+      throw new IllegalArgumentException(
+          "score.jwt.hmac-secret must be at least " + MIN_HMAC_SECRET_BYTES + " bytes");
+    }
+    return new SecretKeySpec(bytes, "HmacSHA256");
+  }
+
+  private static PublicKey rsaKey(String pem) {
+    if (isBlank(pem)) return null;
+    try {
+      final String base64 =
+          pem.replace("-----BEGIN PUBLIC KEY-----", "")
+              .replace("-----END PUBLIC KEY-----", "")
+              .replaceAll("\\s", "");
+      return KeyFactory.getInstance("RSA")
+          .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+    } catch (GeneralSecurityException | IllegalArgumentException ex) {
+      throw new IllegalArgumentException(
+          "score.jwt.public-key must be a PEM-encoded RSA public key", ex);
+    }
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
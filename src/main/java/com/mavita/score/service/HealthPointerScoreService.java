@@ -1,13 +1,19 @@
 package com.mavita.score.service;
 
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.exception.UnknownIndicatorException;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.cache.IndicatorCache;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
 import com.mavita.score.service.score.pointer.PointerService;
 import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
-import java.util.Comparator;
+import com.mavita.score.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,11 +22,16 @@ import org.springframework.stereotype.Service;
  * <p>Workflow:
  *
  * <ol>
- *   <li>Loads and computes the consolidated component scores for the user via {@link
- *       HealthScoreService#calculateTotalScore(String)}, producing a {@link HealthScoreSummaryDTO}.
- *   <li>Iterates over all registered {@link PointerService} implementations, each of which computes
- *       a domain-specific indicator and returns an {@link IndicatorScoreDTO}.
- *   <li>Collects the resulting indicators into a list and returns it to the caller.
+ *   <li>Loads the user's profile and health data via {@link
+ *       HealthScoreService#findInputs(String)}.
+ *   <li>Computes the consolidated component scores, producing a {@link HealthScoreSummaryDTO}.
+ *       The summary is looked up first in the {@link IndicatorCache} under the fingerprint of the
+ *       normalized inputs ({@link ScoringEngine#fingerprint}), so the rules are only evaluated
+ *       once per distinct set of answers.
+ *   <li>Computes every indicator defined by the active rule set with {@link
+ *       ScoringEngine#indicators}. The {@link PointerService} beans expose the same indicators one
+ *       at a time.
+ *   <li>Returns the indicators as an immutable list sorted by display order.
  * </ol>
  *
  * <p>Validation & behavior:
@@ -28,20 +39,38 @@ import org.springframework.stereotype.Service;
  * <ul>
  *   <li>{@code userUuid} must be non-null and non-blank; otherwise an {@link
  *       IllegalArgumentException} is thrown.
- *   <li>If the computed {@code HealthScoreSummaryDTO} is {@code null}, an empty list is returned.
- *   <li>If there are no {@code PointerService} implementations, an empty list is returned.
- *   <li>Any {@code null} returned by a {@code PointerService} is ignored.
+ *   <li>If the profile or the health data does not exist, an empty list is returned.
+ *   <li>If the rule set defines no indicators, an empty list is returned.
  * </ul>
  *
+ * <p>Clients often fire several requests for the same user at once (e.g. widgets loading in
+ * parallel when the app starts). Concurrent calls of {@link #calculateTotalScore(String,
+ * Collection)} for the same user and the same selection are coalesced through a {@link
+ * SingleFlight}: the first one loads and scores, the others wait for it and share its result. The
+ * reuse is counted as {@code score.singleflight.calls{name=pointer-score}}. Full reads go through
+ * the snapshot, which coalesces its own refreshes.
+ *
  * @author Leandro Marques
  * @since 1.0.0
  */
 @Service
-@RequiredArgsConstructor
 public class HealthPointerScoreService {
 
   private final HealthScoreService healthScoreService;
-  private final List<PointerService> pointerServices;
+  private final ScoringEngine scoringEngine;
+  private final IndicatorCache indicatorCache;
+  private final SingleFlight<Selection, List<IndicatorScoreDTO>> singleFlight;
+
+  public HealthPointerScoreService(
+      HealthScoreService healthScoreService,
+      ScoringEngine scoringEngine,
+      IndicatorCache indicatorCache,
+      MeterRegistry meterRegistry) {
+    this.healthScoreService = healthScoreService;
+    this.scoringEngine = scoringEngine;
+    this.indicatorCache = indicatorCache;
+    this.singleFlight = new SingleFlight<>("pointer-score", meterRegistry);
+  }
 
   /**
    * Calculates all health indicators for the given user.
@@ -55,23 +84,80 @@ public class HealthPointerScoreService {
       throw new IllegalArgumentException("userUuid must not be null or blank");
     }
 
-    final HealthScoreSummaryDTO summary = healthScoreService.calculateTotalScore(userUuid);
-    if (summary == null) {
+    final ScoreInputsDTO inputs = healthScoreService.findInputs(userUuid);
+    if (inputs == null) {
       return List.of();
     }
+    Deadline.checkCurrent("scoring");
+    return calculate(inputs.profile(), inputs.health());
+  }
+
+  /**
+   * Calculates only some health indicators for the given user, doing the least work they need.
+   *
+   * <p>Only the factors the selected indicators sum are evaluated ({@link
+   * ScoringEngine#requiredFactors}), and the health data is not loaded when none of them reads it.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @param ids the selected indicator ids
+   * @return an immutable (possibly empty) list of the selected indicators, sorted by display order
+   * @throws IllegalArgumentException if {@code userUuid} is {@code null} or blank
+   * @throws UnknownIndicatorException if the active rule set does not define one of the ids
+   */
+  public List<IndicatorScoreDTO> calculateTotalScore(String userUuid, Collection<String> ids) {
+    if (userUuid == null || userUuid.isBlank()) {
+      throw new IllegalArgumentException("userUuid must not be null or blank");
+    }
+
+    final long factors = scoringEngine.requiredFactors(ids);
+    return singleFlight.execute(
+        new Selection(userUuid, List.copyOf(ids)),
+        () -> {
+          final ScoreInputsDTO inputs = healthScoreService.findInputs(userUuid, factors);
+          if (inputs == null) {
+            return List.of();
+          }
+          Deadline.checkCurrent("scoring");
+          return scoringEngine.indicators(healthScoreService.calculateScore(inputs, factors), ids);
+        });
+  }
 
-    return pointerServices.stream()
-        .filter(Objects::nonNull)
-        .map(
-            ps -> {
-              try {
-                return ps.calculate(summary);
-              } catch (RuntimeException ex) {
-                return null;
-              }
-            })
-        .filter(Objects::nonNull)
-        .sorted(Comparator.comparingInt(IndicatorScoreDTO::order))
-        .collect(Collectors.toList());
+  /**
+   * Calculates all health indicators for already loaded inputs, reusing the cached summary when
+   * the same normalized inputs were scored before. Performs no I/O.
+   *
+   * @param profileDTO the user's profile
+   * @param healthDTO the user's health data
+   * @return an immutable list of {@link IndicatorScoreDTO} computed by all pointer services
+   */
+  public List<IndicatorScoreDTO> calculate(ProfileDTO profileDTO, HealthDTO healthDTO) {
+    return calculateIndicators(calculateSummary(profileDTO, healthDTO));
   }
+
+  /**
+   * Computes the consolidated component scores of already loaded inputs, reusing the cached
+   * summary when the same normalized inputs were scored before. Performs no I/O.
+   *
+   * @param profileDTO the user's profile
+   * @param healthDTO the user's health data
+   * @return the summary, owned by the caller
+   */
+  public HealthScoreSummaryDTO calculateSummary(ProfileDTO profileDTO, HealthDTO healthDTO) {
+    return indicatorCache.get(
+        scoringEngine.fingerprint(profileDTO, healthDTO),
+        () -> healthScoreService.calculateScore(profileDTO, healthDTO));
+  }
+
+  /**
+   * Computes every indicator of the active rule set on an already computed summary.
+   *
+   * @param summary the consolidated component scores
+   * @return an immutable list of indicators, sorted by {@link IndicatorScoreDTO#order()}
+   */
+  public List<IndicatorScoreDTO> calculateIndicators(HealthScoreSummaryDTO summary) {
+    return scoringEngine.indicators(summary);
+  }
+
+  /** Single-flight key of a call for some indicators. */
+  private record Selection(String userUuid, List<String> ids) {}
 }
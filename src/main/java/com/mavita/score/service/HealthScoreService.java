@@ -1 +1,180 @@
-package com.mavita.score.service;import com.mavita.score.service.health.HealthService;import com.mavita.score.service.health.dto.HealthDTO;import com.mavita.score.service.profile.ProfileService;import com.mavita.score.service.profile.dto.ProfileDTO;import com.mavita.score.service.score.global.ScoreService;import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;import java.util.List;import java.util.Optional;import java.util.UUID;import lombok.RequiredArgsConstructor;import org.springframework.stereotype.Service;/** * Main service responsible for calculating the total health score for a given user. * * <p>Workflow: * * <ol> *   <li>Fetch the persisted <b>User Profile</b> and <b>Health</b> data using the provided {@code *       userUuid}. *   <li>Compose a single {@link HealthDTO} by merging the profile fields (birthDate, weight, *       height) and the health fields (lifestyle, sleep, mental health, family history, clinical *       signs, etc.). *   <li>Apply each {@link ScoreService} to the composed {@link HealthDTO}, aggregating results into *       a {@link HealthScoreSummaryDTO}. * </ol> * * <p>If either profile or health data is not found, only the available information is used. Fields * from the user profile (birthDate, weight, height) take precedence over the same fields in the * health data (if both exist). * * <p><b>Usage:</b> * * <pre>{@code * HealthScoreSummaryDTO summary = healthScoreService.calculateTotalScore(userUuid); * }</pre> * * @author Leandro * @since 1.0.0 */@Service@RequiredArgsConstructorpublic class HealthScoreService {  private final List<ScoreService> components;  private final ProfileService profileService;  private final HealthService healthService;  /**   * Calculates the total health score for the specified user by fetching profile and health data,   * composing a {@link HealthDTO}, and applying all score components.   *   * @param userUuid the user's UUID (must not be null/blank)   * @return a {@link HealthScoreSummaryDTO} containing scores for all evaluated components   */  public HealthScoreSummaryDTO calculateTotalScore(String userUuid) {    Optional<ProfileDTO> profileOpt = profileService.findById(UUID.fromString(userUuid));    Optional<HealthDTO> healthOpt = healthService.findById(UUID.fromString(userUuid));    HealthScoreSummaryDTO summary = new HealthScoreSummaryDTO();    if (profileOpt.isPresent() && healthOpt.isPresent()) {      components.forEach(c -> c.calculateScore(profileOpt.get(), healthOpt.get(), summary));      return summary;    }    return null;  }}
\ No newline at end of file
+package com.mavita.score.service;
+
+import com.mavita.score.config.ScoreFetchProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.exception.ScoreDataTimeoutException;
+import com.mavita.score.service.health.HealthService;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.profile.ProfileService;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.ScoreService;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Main service responsible for calculating the total health score for a given user.
+ *
+ * <p>Workflow:
+ *
+ * <ol>
+ *   <li>Fetch the persisted <b>User Profile</b> and <b>Health</b> data using the provided {@code
+ *       userUuid}. Both lookups are started at the same time on virtual threads and share a single
+ *       deadline ({@link ScoreFetchProperties#timeout()}, shortened to the {@link Deadline} of the
+ *       request when it has one), so the request pays for one round trip instead of two.
+ *   <li>Evaluate every {@link ScoreService} rule on the loaded {@link ProfileDTO} and {@link
+ *       HealthDTO} in a single pass of the {@link ScoringEngine}, aggregating results into a {@link
+ *       HealthScoreSummaryDTO}.
+ * </ol>
+ *
+ * <p>If either profile or health data is not found, {@code null} is returned. If the lookups do
+ * not complete before the deadline, a {@link ScoreDataTimeoutException} is thrown and any pending
+ * lookup is cancelled.
+ *
+ * <p><b>Usage:</b>
+ *
+ * <pre>{@code
+ * HealthScoreSummaryDTO summary = healthScoreService.calculateTotalScore(userUuid);
+ * }</pre>
+ *
+ * @author Leandro
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthScoreService {
+
+  private final ScoringEngine scoringEngine;
+  private final ProfileService profileService;
+  private final HealthService healthService;
+  private final ExecutorService scoreFetchExecutor;
+  private final ScoreFetchProperties fetchProperties;
+
+  /**
+   * Calculates the total health score for the specified user by fetching profile and health data
+   * concurrently and evaluating all score components.
+   *
+   * @param userUuid the user's UUID (must not be null/blank)
+   * @return a {@link HealthScoreSummaryDTO} containing scores for all evaluated components, or
+   *     {@code null} when the profile or the health data does not exist
+   * @throws ScoreDataTimeoutException if the data is not loaded within the configured deadline
+   */
+  public HealthScoreSummaryDTO calculateTotalScore(String userUuid) {
+    final ScoreInputsDTO inputs = findInputs(userUuid);
+    return inputs == null ? null : calculateScore(inputs.profile(), inputs.health());
+  }
+
+  /**
+   * Loads the profile and health data of the specified user concurrently.
+   *
+   * @param userUuid the user's UUID (must not be null/blank)
+   * @return the loaded inputs, or {@code null} when the profile or the health data does not exist
+   * @throws ScoreDataTimeoutException if the data is not loaded within the configured deadline
+   */
+  public ScoreInputsDTO findInputs(String userUuid) {
+    return findInputs(userUuid, ScoreFactor.ALL);
+  }
+
+  /**
+   * Loads the data needed to evaluate some factors of the specified user.
+   *
+   * <p>When every factor in {@code factors} is computed from the profile ({@link
+   * ScoreFactor#PROFILE}), the health document is not loaded: its existence is checked instead,
+   * so users without health data still get no scores.
+   *
+   * @param userUuid the user's UUID (must not be null/blank)
+   * @param factors mask of the factors that will be evaluated (see {@link ScoreFactor#bit()})
+   * @return the loaded inputs, whose health is {@code null} when it was not needed, or {@code null}
+   *     when the profile or the health data does not exist
+   * @throws ScoreDataTimeoutException if the data is not loaded within the configured deadline
+   */
+  public ScoreInputsDTO findInputs(String userUuid, long factors) {
+    final UUID uuid = UUID.fromString(userUuid);
+    Deadline.checkCurrent("loading the profile and health data");
+    final long deadline =
+        System.nanoTime() + Deadline.boundNanos(fetchProperties.timeout().toNanos());
+    final boolean needsHealth = (factors & ~ScoreFactor.PROFILE) != 0;
+
+    final Future<Optional<ProfileDTO>> profileFuture =
+        scoreFetchExecutor.submit(() -> profileService.findById(uuid));
+    final Future<Optional<HealthDTO>> healthFuture =
+        needsHealth ? scoreFetchExecutor.submit(() -> healthService.findById(uuid)) : null;
+    final Future<Boolean> healthExistsFuture =
+        needsHealth ? null : scoreFetchExecutor.submit(() -> healthService.exists(uuid));
+
+    try {
+      Optional<ProfileDTO> profileOpt = await(profileFuture, deadline);
+      if (profileOpt.isEmpty()) {
+        return null;
+      }
+      if (!needsHealth) {
+        return await(healthExistsFuture, deadline)
+            ? new ScoreInputsDTO(profileOpt.get(), null)
+            : null;
+      }
+      Optional<HealthDTO> healthOpt = await(healthFuture, deadline);
+      if (healthOpt.isEmpty()) {
+        return null;
+      }
+      return new ScoreInputsDTO(profileOpt.get(), healthOpt.get());
+    } finally {
+      profileFuture.cancel(true);
+      if (healthFuture != null) healthFuture.cancel(true);
+      if (healthExistsFuture != null) healthExistsFuture.cancel(true);
+    }
+  }
+
+  /**
+   * Evaluates all score components for already loaded inputs. Performs no I/O.
+   *
+   * @param profileDTO the user's profile
+   * @param healthDTO the user's health data
+   * @return a {@link HealthScoreSummaryDTO} containing scores for all evaluated components
+   */
+  public HealthScoreSummaryDTO calculateScore(ProfileDTO profileDTO, HealthDTO healthDTO) {
+    HealthScoreSummaryDTO summary = new HealthScoreSummaryDTO();
+    scoringEngine.evaluate(profileDTO, healthDTO, summary);
+    return summary;
+  }
+
+  /**
+   * Evaluates only some score components for already loaded inputs; the others are left at 0.
+   * Performs no I/O.
+   *
+   * @param inputs inputs loaded by {@link #findInputs(String, long)} for the same {@code factors}
+   * @param factors mask of the factors to evaluate (see {@link ScoreFactor#bit()})
+   * @return a {@link HealthScoreSummaryDTO} holding the evaluated components
+   */
+  public HealthScoreSummaryDTO calculateScore(ScoreInputsDTO inputs, long factors) {
+    HealthScoreSummaryDTO summary = new HealthScoreSummaryDTO();
+    scoringEngine.evaluate(inputs.profile(), inputs.health(), summary, factors);
+    return summary;
+  }
+
+  private static <T> T await(Future<T> future, long deadline) {
+    try {
+      return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      Deadline.checkCurrent("the profile and health data were loaded");
+      throw new ScoreDataTimeoutException("Profile and health data were not loaded in time");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ScoreDataTimeoutException("Interrupted while loading profile and health data");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+}
@@ -0,0 +1,312 @@
+package com.mavita.score.service.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mavita.score.config.ScoreBulkProperties;
+import com.mavita.score.service.bulk.dto.BulkErrorDTO;
+import com.mavita.score.service.bulk.dto.BulkResultDTO;
+import com.mavita.score.service.health.HealthService;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.profile.ProfileService;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.utils.LineReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads profiles or health data of many users from a single request, e.g. when onboarding an
+ * employer.
+ *
+ * <p>The body is either NDJSON, one record per line, or a JSON array of records. It is read as a
+ * stream: each record is parsed and validated as it arrives, and valid records are written in
+ * batches of {@link ScoreBulkProperties#batchSize()} through {@link
+ * ProfileService#bulkUpsert(Collection)} or {@link HealthService#bulkUpsert(Collection)}, i.e. two
+ * round trips per batch instead of two per record. The body is not read further while a batch is
+ * written, so a slow database slows the client down instead of filling the memory.
+ *
+ * <p>Records are validated like the scoring engine reads them: a {@code userUuid} is required, and
+ * the profile inputs or the answers must be accepted by the active rule set. A rejected record
+ * only fails itself. In NDJSON, a malformed line only fails that line, and so does a line longer
+ * than {@link ScoreBulkProperties#maxLineSize()}, whose remainder is skipped without being
+ * buffered; in a JSON array, a syntax error ends the request, since the records after it cannot
+ * be delimited. When a batch holds several records of the same user, the last one is written and
+ * the others are counted as superseded.
+ *
+ * <p>Records are counted as {@code score.bulk.records}, tagged {@code type=profile|health} and
+ * {@code outcome=written|unchanged|superseded|failed}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkIngestionService {
+
+  private final ProfileService profileService;
+  private final HealthService healthService;
+  private final ScoringEngine scoringEngine;
+  private final ScoreBulkProperties properties;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates or updates the profiles read from {@code in}.
+   *
+   * @param in the request body
+   * @param ndjson whether the body is NDJSON rather than a JSON array
+   * @return the counts and the per-record errors
+   * @throws IOException if reading the body fails (e.g. the client disconnected); the batches
+   *     written until then are kept
+   */
+  public BulkResultDTO ingestProfiles(InputStream in, boolean ndjson) throws IOException {
+    return ingest(
+        in,
+        ndjson,
+        new Ingestion<>(
+            "profile",
+            ProfileDTO.class,
+            ProfileDTO::userUuid,
+            this::validateProfile,
+            profileService::bulkUpsert));
+  }
+
+  /**
+   * Creates or updates the health data read from {@code in}.
+   *
+   * @param in the request body
+   * @param ndjson whether the body is NDJSON rather than a JSON array
+   * @return the counts and the per-record errors
+   * @throws IOException if reading the body fails (e.g. the client disconnected); the batches
+   *     written until then are kept
+   */
+  public BulkResultDTO ingestHealths(InputStream in, boolean ndjson) throws IOException {
+    return ingest(
+        in,
+        ndjson,
+        new Ingestion<>(
+            "health",
+            HealthDTO.class,
+            HealthDTO::userUuid,
+            this::validateHealth,
+            healthService::bulkUpsert));
+  }
+
+  private <D> BulkResultDTO ingest(InputStream in, boolean ndjson, Ingestion<D> ingestion)
+      throws IOException {
+    final ObjectReader reader = objectMapper.readerFor(ingestion.type);
+    if (ndjson) {
+      readLines(in, reader, ingestion);
+    } else {
+      readArray(in, reader, ingestion);
+    }
+    ingestion.flush();
+
+    final BulkResultDTO result = ingestion.result();
+    log.info(
+        "Bulk {} ingestion: {} received, {} written, {} unchanged, {} superseded, {} failed",
+        ingestion.name,
+        result.received(),
+        result.written(),
+        result.unchanged(),
+        result.superseded(),
+        result.failed());
+    return result;
+  }
+
+  private <D> void readLines(InputStream in, ObjectReader reader, Ingestion<D> ingestion)
+      throws IOException {
+    final LineReader lines = new LineReader(in, (int) properties.maxLineSize().toBytes());
+    long lineNumber = 0;
+    String line;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      if (lines.tooLong()) {
+        ingestion.reject(lineNumber, null, "Line longer than " + properties.maxLineSize());
+        continue;
+      }
+      if (line.isBlank()) continue;
+
+      final D record;
+      try {
+        record = reader.readValue(line);
+      } catch (JsonProcessingException ex) {
+        ingestion.reject(lineNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+        continue;
+      }
+      ingestion.accept(lineNumber, record);
+    }
+  }
+
+  private <D> void readArray(InputStream in, ObjectReader reader, Ingestion<D> ingestion)
+      throws IOException {
+    long index = 0;
+    try (JsonParser parser = objectMapper.createParser(in)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        ingestion.reject(1, null, "Expected a JSON array of records");
+        return;
+      }
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        index++;
+        if (token == null) {
+          ingestion.reject(index, null, "Malformed JSON: unexpected end of the array");
+          return;
+        }
+        // Buffer the element as a tree first: a record that does not bind then fails alone,
+        // while the parser stays positioned on the next element.
+        final JsonNode node = parser.readValueAsTree();
+        final D record;
+        try {
+          record = reader.readValue(node);
+        } catch (JsonProcessingException ex) {
+          ingestion.reject(index, null, "Malformed record: " + ex.getOriginalMessage());
+          continue;
+        }
+        ingestion.accept(index, record);
+      }
+    } catch (JsonProcessingException ex) {
+      ingestion.reject(Math.max(index, 1), null, "Malformed JSON: " + ex.getOriginalMessage());
+    }
+  }
+
+  private void validateProfile(ProfileDTO profile) {
+    requireUserUuid(profile.userUuid());
+    scoringEngine.evaluate(profile, null, new HealthScoreSummaryDTO(), ScoreFactor.PROFILE);
+  }
+
+  private void validateHealth(HealthDTO health) {
+    requireUserUuid(health.userUuid());
+    scoringEngine.evaluate(
+        null, health, new HealthScoreSummaryDTO(), ScoreFactor.ALL & ~ScoreFactor.PROFILE);
+  }
+
+  private static void requireUserUuid(UUID userUuid) {
+    if (userUuid == null) {
+      throw new IllegalArgumentException("userUuid is required");
+    }
+  }
+
+  private static String message(RuntimeException ex) {
+    return ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+  }
+
+  /** State of one request: the pending batch, the counts and the errors. */
+  private final class Ingestion<D> {
+
+    private final String name;
+    private final Class<D> type;
+    private final Function<D, UUID> userUuid;
+    private final Consumer<D> validator;
+    private final Function<Collection<D>, Set<UUID>> writer;
+    private final List<Long> batchRecords = new ArrayList<>();
+    private final List<D> batch = new ArrayList<>();
+    private final List<BulkErrorDTO> errors = new ArrayList<>();
+    private long received;
+    private long written;
+    private long unchanged;
+    private long superseded;
+    private long failed;
+
+    Ingestion(
+        String name,
+        Class<D> type,
+        Function<D, UUID> userUuid,
+        Consumer<D> validator,
+        Function<Collection<D>, Set<UUID>> writer) {
+      this.name = name;
+      this.type = type;
+      this.userUuid = userUuid;
+      this.validator = validator;
+      this.writer = writer;
+    }
+
+    void accept(long record, D dto) {
+      received++;
+      if (dto == null) {
+        fail(record, null, "Record must be a JSON object");
+        return;
+      }
+      try {
+        validator.accept(dto);
+      } catch (RuntimeException ex) {
+        fail(record, userUuid.apply(dto), message(ex));
+        return;
+      }
+
+      batchRecords.add(record);
+      batch.add(dto);
+      if (batch.size() >= properties.batchSize()) {
+        flush();
+      }
+    }
+
+    void reject(long record, UUID user, String error) {
+      received++;
+      fail(record, user, error);
+    }
+
+    private void fail(long record, UUID user, String error) {
+      failed++;
+      if (errors.size() < properties.maxErrors()) {
+        errors.add(new BulkErrorDTO(record, user, error));
+      }
+      count("failed", 1);
+    }
+
+    void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      try {
+        final int users = (int) batch.stream().map(userUuid).distinct().count();
+        final int count = writer.apply(batch).size();
+        written += count;
+        unchanged += users - count;
+        superseded += batch.size() - users;
+        count("written", count);
+        count("unchanged", users - count);
+        count("superseded", batch.size() - users);
+      } catch (RuntimeException ex) {
+        log.warn("Could not write a batch of {} {} records", batch.size(), name, ex);
+        for (int i = 0; i < batch.size(); i++) {
+          fail(batchRecords.get(i), userUuid.apply(batch.get(i)), message(ex));
+        }
+      } finally {
+        batchRecords.clear();
+        batch.clear();
+      }
+    }
+
+    BulkResultDTO result() {
+      errors.sort((a, b) -> Long.compare(a.record(), b.record()));
+      return new BulkResultDTO(
+          received, written, unchanged, superseded, failed, List.copyOf(errors));
+    }
+
+    private void count(String outcome, long amount) {
+      meterRegistry
+          .counter("score.bulk.records", "type", name, "outcome", outcome)
+          .increment(amount);
+    }
+  }
+}
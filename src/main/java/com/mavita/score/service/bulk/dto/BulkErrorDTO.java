@@ -0,0 +1,17 @@
+package com.mavita.score.service.bulk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * A record of a bulk ingestion request that was not written.
+ *
+ * @param record the 1-based position of the record: its line for NDJSON, its index for a JSON
+ *     array
+ * @param userUuid the record's {@code userUuid}, when it could be read
+ * @param error why the record was rejected
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkErrorDTO(long record, UUID userUuid, String error) {}
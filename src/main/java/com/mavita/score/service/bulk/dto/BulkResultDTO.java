@@ -0,0 +1,38 @@
+package com.mavita.score.service.bulk.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk ingestion request.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * {
+ *   "received": 4,
+ *   "written": 1,
+ *   "unchanged": 1,
+ *   "superseded": 1,
+ *   "failed": 1,
+ *   "errors": [{"record": 2, "userUuid": "...", "error": "Unexpected value: SOMETIMES"}]
+ * }
+ * }</pre>
+ *
+ * @param received number of records read
+ * @param written number of records that created or changed a document
+ * @param unchanged number of valid records whose content was already stored
+ * @param superseded number of valid records not written because a later record of the same user
+ *     was written in the same batch instead
+ * @param failed number of records rejected or whose write failed
+ * @param errors the first failures, in record order; shorter than {@code failed} when the
+ *     configured maximum was reached
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record BulkResultDTO(
+    long received,
+    long written,
+    long unchanged,
+    long superseded,
+    long failed,
+    List<BulkErrorDTO> errors) {}
@@ -5,22 +5,38 @@ import com.mavita.score.domain.health.PersonalFamilyHistory;
 import com.mavita.score.repository.health.HealthRepository;
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.health.dto.PersonalFamilyHistoryDTO;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.snapshot.ScoreInputsBulkChangedEvent;
+import com.mavita.score.service.score.snapshot.ScoreInputsChangedEvent;
+import com.mavita.score.utils.Fingerprint;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Application service that encapsulates reading and writing the user's health data.
  *
- * <p>Performs mapping between the DTOs and the MongoDB document model.
+ * <p>Performs mapping between the DTOs and the MongoDB document model. Users the {@link
+ * UserPresenceFilter} knows to have no health data are answered without a query.
  */
 @RequiredArgsConstructor
 @Service
 public class HealthService {
 
   private final HealthRepository healthRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Finds the health data by the user's UUID.
@@ -30,13 +46,47 @@ public class HealthService {
    */
   @Transactional(readOnly = true)
   public Optional<HealthDTO> findById(UUID userUuid) {
-    return healthRepository.findByUserUuid(userUuid).map(this::toDTO);
+    if (!presenceFilter.mightHaveHealth(userUuid)) {
+      return Optional.empty();
+    }
+    return healthRepository.findByUserUuid(userUuid).map(HealthService::toDTO);
+  }
+
+  /**
+   * Checks whether the user has health data, without loading it.
+   *
+   * @param userUuid user's UUID
+   * @return whether the health data exists
+   */
+  @Transactional(readOnly = true)
+  public boolean exists(UUID userUuid) {
+    return presenceFilter.mightHaveHealth(userUuid) && healthRepository.existsByUserUuid(userUuid);
+  }
+
+  /**
+   * Finds the health data of several users in a single query.
+   *
+   * @param userUuids the users' UUIDs
+   * @return the health data found, keyed by user UUID; users without health data are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, HealthDTO> findAllById(Collection<UUID> userUuids) {
+    final List<UUID> present = userUuids.stream().filter(presenceFilter::mightHaveHealth).toList();
+    if (present.isEmpty()) {
+      return Map.of();
+    }
+    return healthRepository.findByUserUuidIn(present).stream()
+        .map(HealthService::toDTO)
+        .collect(Collectors.toMap(HealthDTO::userUuid, Function.identity()));
   }
 
   /**
    * Creates or updates (idempotent upsert) the health data associated with {@code userUuid}.
    *
-   * <p>If a document exists, it is updated; otherwise, a new one is created.
+   * <p>If a document exists, it is updated; otherwise, a new one is created, both with a single
+   * {@code findAndModify}. A {@link ScoreInputsChangedEvent} carrying the factors whose answers
+   * changed is published so the user's score snapshot is updated. Resubmitting the stored answers
+   * is detected by their content hash and neither rewrites the document nor publishes the event.
    *
    * @param userUuid path parameter used as the source of truth for the ownership
    * @param payload incoming DTO with the health data fields
@@ -44,7 +94,63 @@ public class HealthService {
    */
   @Transactional
   public HealthDTO upsert(UUID userUuid, HealthDTO payload) {
-    Health entity = healthRepository.findByUserUuid(userUuid).orElseGet(Health::new);
+    final Health entity = new Health();
+    copy(userUuid, payload, entity);
+    final Optional<Health> previous = healthRepository.findAndUpsert(entity);
+    presenceFilter.addHealth(userUuid);
+
+    final HealthDTO saved = toDTO(entity);
+    if (!unchanged(previous, entity)) {
+      eventPublisher.publishEvent(
+          new ScoreInputsChangedEvent(
+              userUuid,
+              previous.isEmpty()
+                  ? ScoreFactor.ALL
+                  : ScoreFactor.changed(toDTO(previous.get()), saved)));
+    }
+    return saved;
+  }
+
+  /**
+   * Creates or updates the health data of many users, each owned by the {@code userUuid} of its
+   * payload, with two round trips whatever their number: one reading the stored content hashes and
+   * one unordered bulk write of the payloads whose content changed. A single {@link
+   * ScoreInputsBulkChangedEvent} then drops the snapshots of the written users, instead of a
+   * refresh per user.
+   *
+   * @param payloads incoming DTOs, each with a {@code userUuid}; when several share a user, the
+   *     last one wins
+   * @return the users whose health data was written; the others were unchanged
+   */
+  @Transactional
+  public Set<UUID> bulkUpsert(Collection<HealthDTO> payloads) {
+    final Map<UUID, Health> entities = new LinkedHashMap<>();
+    for (HealthDTO payload : payloads) {
+      final Health entity = new Health();
+      copy(payload.userUuid(), payload, entity);
+      entities.put(payload.userUuid(), entity);
+    }
+
+    final Map<UUID, Long> stored = healthRepository.findContentHashes(entities.keySet());
+    entities
+        .values()
+        .removeIf(entity -> entity.getContentHash().equals(stored.get(entity.getUserUuid())));
+    if (entities.isEmpty()) {
+      return Set.of();
+    }
+
+    healthRepository.bulkUpsert(entities.values());
+    final Set<UUID> written = Set.copyOf(entities.keySet());
+    presenceFilter.addHealths(written);
+    eventPublisher.publishEvent(new ScoreInputsBulkChangedEvent(written));
+    return written;
+  }
+
+  /**
+   * Copies the fields of {@code payload} onto {@code entity}, owned by {@code userUuid}, and sets
+   * its content hash.
+   */
+  static void copy(UUID userUuid, HealthDTO payload, Health entity) {
     entity.setUserUuid(userUuid);
 
     entity.setSmokes(payload.smokes());
@@ -77,10 +183,58 @@ public class HealthService {
     entity.setHeadacheDizzinessLevel(payload.headacheDizzinessLevel());
     entity.setPreventiveExamFrequency(payload.preventiveExamFrequency());
 
-    return toDTO(healthRepository.save(entity));
+    entity.setContentHash(contentHash(entity));
+  }
+
+  /** Returns whether {@code previous} already had the content of {@code entity}. */
+  static boolean unchanged(Optional<Health> previous, Health entity) {
+    return previous
+        .map(Health::getContentHash)
+        .filter(entity.getContentHash()::equals)
+        .isPresent();
+  }
+
+  /**
+   * Returns the content hash the health data of {@code payload} is stored with, e.g. to tell what a
+   * score was computed from.
+   *
+   * @param payload the health data
+   * @return the fingerprint of every stored field but the identity
+   */
+  public static long contentHash(HealthDTO payload) {
+    final Health entity = new Health();
+    copy(payload.userUuid(), payload, entity);
+    return entity.getContentHash();
+  }
+
+  /** Fingerprint of every stored field of {@code e} but its identity. */
+  static long contentHash(Health e) {
+    final PersonalFamilyHistory history = e.getPersonalFamilyHistory();
+    return Fingerprint.start()
+        .add(e.getSmokes())
+        .add(e.getAlcoholConsumption())
+        .add(e.getPhysicalActivityLevel())
+        .add(e.getDietQuality())
+        .add(e.getHealthFeeling())
+        .add(e.getAverageSleepWindow())
+        .add(e.getSleepDifficulty())
+        .add(e.getNightAwakeningFrequency())
+        .add(e.getWakeUpMood())
+        .add(e.getAnxietyShortnessBreath())
+        .add(e.getStressLevel())
+        .add(e.getSadnessLevel())
+        .add(history != null)
+        .add(history == null ? null : history.getChronicConditions())
+        .add(history == null ? null : history.getParentalConditions())
+        .add(history == null ? null : history.getChronicOther())
+        .add(history == null ? null : history.getParentalOther())
+        .add(e.getDiabetesSymptomLevel())
+        .add(e.getHeadacheDizzinessLevel())
+        .add(e.getPreventiveExamFrequency())
+        .value();
   }
 
-  private HealthDTO toDTO(Health e) {
+  static HealthDTO toDTO(Health e) {
     PersonalFamilyHistoryDTO pfhDto = null;
     if (e.getPersonalFamilyHistory() != null) {
       pfhDto =
@@ -0,0 +1,94 @@
+package com.mavita.score.service.health;
+
+import com.mavita.score.domain.health.Health;
+import com.mavita.score.repository.health.ReactiveHealthRepository;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.snapshot.ScoreInputsChangedEvent;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link HealthService}, used by the reactive endpoints.
+ *
+ * <p>The {@link ScoreInputsChangedEvent} listeners refresh the score snapshot with blocking calls,
+ * so the event is published on {@link Schedulers#boundedElastic()} rather than on the event loop.
+ */
+@RequiredArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHealthService {
+
+  private final ReactiveHealthRepository healthRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Finds the health data by the user's UUID.
+   *
+   * @param userUuid user's UUID
+   * @return the DTO, or empty if not found
+   */
+  public Mono<HealthDTO> findById(UUID userUuid) {
+    if (!presenceFilter.mightHaveHealth(userUuid)) {
+      return Mono.empty();
+    }
+    return healthRepository.findByUserUuid(userUuid).map(HealthService::toDTO);
+  }
+
+  /**
+   * Checks whether the user has health data, without loading it.
+   *
+   * @param userUuid user's UUID
+   * @return whether the health data exists
+   */
+  public Mono<Boolean> exists(UUID userUuid) {
+    if (!presenceFilter.mightHaveHealth(userUuid)) {
+      return Mono.just(false);
+    }
+    return healthRepository.existsByUserUuid(userUuid);
+  }
+
+  /**
+   * Creates or updates (idempotent upsert) the health data associated with {@code userUuid}, like
+   * {@link HealthService#upsert(UUID, HealthDTO)}.
+   *
+   * @param userUuid path parameter used as the source of truth for the ownership
+   * @param payload incoming DTO with the health data fields
+   * @return the saved DTO, emitted once the score snapshot is updated or the write was skipped
+   */
+  public Mono<HealthDTO> upsert(UUID userUuid, HealthDTO payload) {
+    final Health entity = new Health();
+    HealthService.copy(userUuid, payload, entity);
+    final HealthDTO saved = HealthService.toDTO(entity);
+
+    return healthRepository
+        .findAndUpsert(entity)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            previous -> {
+              presenceFilter.addHealth(userUuid);
+              if (HealthService.unchanged(previous, entity)) {
+                return Mono.just(saved);
+              }
+              final long changed =
+                  previous.isEmpty()
+                      ? ScoreFactor.ALL
+                      : ScoreFactor.changed(HealthService.toDTO(previous.get()), saved);
+              return publish(new ScoreInputsChangedEvent(userUuid, changed)).thenReturn(saved);
+            });
+  }
+
+  private Mono<Void> publish(ScoreInputsChangedEvent event) {
+    return Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(event))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+}
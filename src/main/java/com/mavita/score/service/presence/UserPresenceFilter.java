@@ -0,0 +1,205 @@
+package com.mavita.score.service.presence;
+
+import com.mavita.score.config.ScorePresenceProperties;
+import com.mavita.score.repository.health.HealthRepository;
+import com.mavita.score.repository.profile.ProfileRepository;
+import com.mavita.score.utils.ScalableBloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells which users certainly have no profile or no health data, so their lookups can be answered
+ * without a database round trip.
+ *
+ * <p>Requests for users who never submitted their answers (e.g. a client polling the scores of a
+ * freshly registered user) would otherwise each cost indexed lookups that find nothing. The users
+ * who have a profile and the users who have health data are kept in two {@link
+ * ScalableBloomFilter}s, of about 10 bits per user at the default 1% false positive rate: a user
+ * missing from a filter certainly has no document, a user present in it probably has one and is
+ * looked up as before.
+ *
+ * <p>The filters are filled on startup by a scan of the {@code userUuid} index of both collections
+ * ({@link ProfileRepository#forEachUserUuid(Instant, java.util.function.Consumer)}). Until it
+ * completes every user may have documents. Afterwards:
+ *
+ * <ul>
+ *   <li>the services add the users they write to the filters right after the write, before the
+ *       snapshot is refreshed and before the write is acknowledged;
+ *   <li>the users written by the other instances are added as their documents are inserted, by
+ *       the {@link UserPresenceWatcher} following the change streams of both collections;
+ *   <li>every {@link ScorePresenceProperties#refreshInterval()}, the documents created since the
+ *       previous scan (minus {@link ScorePresenceProperties#refreshOverlap()}) are added, to catch
+ *       the inserts a change stream missed while it was down, or all of them when the database has
+ *       no change streams.
+ * </ul>
+ *
+ * A user whose first document was written by another instance is therefore reported absent only
+ * until the insert reaches this instance: the delivery delay of the change stream, usually
+ * milliseconds, or up to about one refresh interval without one. Documents are never removed from
+ * the filters; a deleted document only costs the lookup it would have cost anyway.
+ *
+ * <p>Checks are counted as {@code score.presence.checks}, tagged {@code collection=profile|health}
+ * and {@code outcome=absent|maybe}; the number of users in each filter is published as {@code
+ * score.presence.users} and their memory as {@code score.presence.bytes}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserPresenceFilter {
+
+  private final ProfileRepository profileRepository;
+  private final HealthRepository healthRepository;
+  private final ScorePresenceProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ScalableBloomFilter profiles;
+  private final ScalableBloomFilter healths;
+
+  private volatile boolean ready;
+  private Instant lastScan; // Guarded by "this".
+
+  public UserPresenceFilter(
+      ProfileRepository profileRepository,
+      HealthRepository healthRepository,
+      ScorePresenceProperties properties,
+      MeterRegistry meterRegistry) {
+    this.profileRepository = profileRepository;
+    this.healthRepository = healthRepository;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.profiles =
+        new ScalableBloomFilter(properties.expectedUsers(), properties.falsePositiveRate());
+    this.healths =
+        new ScalableBloomFilter(properties.expectedUsers(), properties.falsePositiveRate());
+
+    register("profile", profiles);
+    register("health", healths);
+  }
+
+  /**
+   * Tells whether a user may have a profile.
+   *
+   * @param userUuid the user's UUID
+   * @return {@code false} if the user certainly has none
+   */
+  public boolean mightHaveProfile(UUID userUuid) {
+    return check("profile", profiles, userUuid);
+  }
+
+  /**
+   * Tells whether a user may have health data.
+   *
+   * @param userUuid the user's UUID
+   * @return {@code false} if the user certainly has none
+   */
+  public boolean mightHaveHealth(UUID userUuid) {
+    return check("health", healths, userUuid);
+  }
+
+  /**
+   * Tells whether a user may have scores, i.e. both a profile and health data.
+   *
+   * @param userUuid the user's UUID
+   * @return {@code false} if the user certainly has no scores
+   */
+  public boolean mightHaveScores(UUID userUuid) {
+    return mightHaveProfile(userUuid) && mightHaveHealth(userUuid);
+  }
+
+  /**
+   * Records that a user has a profile. Must be called once it is written.
+   *
+   * @param userUuid the user's UUID
+   */
+  public void addProfile(UUID userUuid) {
+    profiles.add(userUuid);
+  }
+
+  /**
+   * Records that some users have a profile. Must be called once they are written.
+   *
+   * @param userUuids the users' UUIDs
+   */
+  public void addProfiles(Collection<UUID> userUuids) {
+    userUuids.forEach(profiles::add);
+  }
+
+  /**
+   * Records that a user has health data. Must be called once it is written.
+   *
+   * @param userUuid the user's UUID
+   */
+  public void addHealth(UUID userUuid) {
+    healths.add(userUuid);
+  }
+
+  /**
+   * Records that some users have health data. Must be called once they are written.
+   *
+   * @param userUuids the users' UUIDs
+   */
+  public void addHealths(Collection<UUID> userUuids) {
+    userUuids.forEach(healths::add);
+  }
+
+  /**
+   * Adds the users whose documents were created since the previous scan, or all of them on the
+   * first run. Failures are logged and the next run scans from the same point again; until the
+   * first scan succeeds, every user may have documents.
+   */
+  @Scheduled(fixedDelayString = "${score.presence.refresh-interval:5s}")
+  public synchronized void refresh() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    final Instant start = Instant.now();
+    final Instant since = lastScan == null ? null : lastScan.minus(properties.refreshOverlap());
+    try {
+      profileRepository.forEachUserUuid(since, profiles::add);
+      healthRepository.forEachUserUuid(since, healths::add);
+    } catch (RuntimeException ex) {
+      log.warn("Could not scan the users created since {}", since == null ? "ever" : since, ex);
+      return;
+    }
+
+    lastScan = start;
+    if (!ready) {
+      ready = true;
+      log.info(
+          "Loaded {} users with a profile and {} with health data in {} ms",
+          profiles.size(),
+          healths.size(),
+          Instant.now().toEpochMilli() - start.toEpochMilli());
+    }
+  }
+
+  private boolean check(String collection, ScalableBloomFilter filter, UUID userUuid) {
+    if (!ready) {
+      return true;
+    }
+    final boolean maybe = filter.mightContain(userUuid);
+    final String outcome = maybe ? "maybe" : "absent";
+    meterRegistry
+        .counter("score.presence.checks", "collection", collection, "outcome", outcome)
+        .increment();
+    return maybe;
+  }
+
+  private void register(String collection, ScalableBloomFilter filter) {
+    Gauge.builder("score.presence.users", filter, ScalableBloomFilter::size)
+        .tag("collection", collection)
+        .register(meterRegistry);
+    Gauge.builder("score.presence.bytes", filter, ScalableBloomFilter::sizeInBytes)
+        .tag("collection", collection)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,143 @@
+package com.mavita.score.service.presence;
+
+import com.mavita.score.config.ScorePresenceProperties;
+import com.mavita.score.repository.health.HealthRepository;
+import com.mavita.score.repository.profile.ProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the users whose first profile or health data is written by another instance to the {@link
+ * UserPresenceFilter} as soon as the insert happens.
+ *
+ * <p>The filter learns the users written by this instance from the services, and the others from
+ * its periodic scan, which leaves them reported absent for up to a refresh interval: a client
+ * answering its questionnaire through one instance and reading its scores through another would
+ * get none. Each collection is therefore followed by a change stream of its inserts ({@link
+ * ProfileRepository#watchInsertedUserUuids}), on a thread of its own, which narrows that window to
+ * the delivery delay of the stream, usually milliseconds.
+ *
+ * <p>A stream that fails is opened again after {@link ScorePresenceProperties#refreshInterval()};
+ * the inserts it missed meanwhile are found by the periodic scan, which looks back by {@link
+ * ScorePresenceProperties#refreshOverlap()}. Databases that cannot stream their inserts ({@link
+ * ProfileRepository#supportsInsertStream()}: a standalone MongoDB server, the off-heap store) are
+ * left to the scan alone.
+ *
+ * <p>The users added are counted as {@code score.presence.inserts}, tagged {@code
+ * collection=profile|health}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserPresenceWatcher implements SmartLifecycle {
+
+  private final ProfileRepository profileRepository;
+  private final HealthRepository healthRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ScorePresenceProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+  private volatile boolean running;
+
+  public UserPresenceWatcher(
+      ProfileRepository profileRepository,
+      HealthRepository healthRepository,
+      UserPresenceFilter presenceFilter,
+      ScorePresenceProperties properties,
+      MeterRegistry meterRegistry) {
+    this.profileRepository = profileRepository;
+    this.healthRepository = healthRepository;
+    this.presenceFilter = presenceFilter;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+    running = true;
+    watch(
+        "profile",
+        profileRepository::supportsInsertStream,
+        profileRepository::watchInsertedUserUuids,
+        presenceFilter::addProfile);
+    watch(
+        "health",
+        healthRepository::supportsInsertStream,
+        healthRepository::watchInsertedUserUuids,
+        presenceFilter::addHealth);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    threads.forEach(Thread::interrupt);
+    threads.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void watch(
+      String collection,
+      BooleanSupplier supported,
+      Consumer<Consumer<UUID>> inserts,
+      Consumer<UUID> presenceAction) {
+    final Counter added = meterRegistry.counter("score.presence.inserts", "collection", collection);
+    final Consumer<UUID> action =
+        userUuid -> {
+          presenceAction.accept(userUuid);
+          added.increment();
+        };
+    threads.add(
+        Thread.ofPlatform()
+            .name("score-presence-" + collection)
+            .daemon()
+            .start(() -> follow(collection, supported, inserts, action)));
+  }
+
+  /** Follows the inserts of one collection until stopped, opening the stream again on failure. */
+  private void follow(
+      String collection,
+      BooleanSupplier supported,
+      Consumer<Consumer<UUID>> inserts,
+      Consumer<UUID> action) {
+    while (running) {
+      try {
+        if (!supported.getAsBoolean()) {
+          log.info(
+              "Not following the {} inserts: the database cannot stream them, left to the scan",
+              collection);
+          return;
+        }
+        inserts.accept(action);
+      } catch (RuntimeException ex) {
+        if (!running) {
+          return;
+        }
+        log.warn("Could not follow the {} inserts, trying again", collection, ex);
+      }
+      try {
+        Thread.sleep(properties.refreshInterval());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
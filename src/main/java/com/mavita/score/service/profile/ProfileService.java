@@ -2,23 +2,40 @@ package com.mavita.score.service.profile;
 
 import com.mavita.score.domain.profile.Profile;
 import com.mavita.score.repository.profile.ProfileRepository;
+import com.mavita.score.service.presence.UserPresenceFilter;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.snapshot.ScoreInputsBulkChangedEvent;
+import com.mavita.score.service.score.snapshot.ScoreInputsChangedEvent;
+import com.mavita.score.utils.Fingerprint;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Application service that encapsulates reading and writing the user profile.
  *
- * <p>This service maps between the DTOs and the MongoDB document model.
+ * <p>This service maps between the DTOs and the MongoDB document model. Users the {@link
+ * UserPresenceFilter} knows to have no profile are answered without a query.
  */
 @RequiredArgsConstructor
 @Service
 public class ProfileService {
 
   private final ProfileRepository profileRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Finds a profile by the user's UUID.
@@ -28,14 +45,62 @@ public class ProfileService {
    */
   @Transactional(readOnly = true)
   public Optional<ProfileDTO> findById(UUID userUuid) {
-    return profileRepository.findByUserUuid(userUuid).map(this::toDTO);
+    if (!presenceFilter.mightHaveProfile(userUuid)) {
+      return Optional.empty();
+    }
+    return profileRepository.findByUserUuid(userUuid).map(ProfileService::toDTO);
+  }
+
+  /**
+   * Finds the profiles of several users in a single query.
+   *
+   * @param userUuids the users' UUIDs
+   * @return the profiles found, keyed by user UUID; users without a profile are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, ProfileDTO> findAllById(Collection<UUID> userUuids) {
+    final List<UUID> present = userUuids.stream().filter(presenceFilter::mightHaveProfile).toList();
+    if (present.isEmpty()) {
+      return Map.of();
+    }
+    return profileRepository.findByUserUuidIn(present).stream()
+        .map(ProfileService::toDTO)
+        .collect(Collectors.toMap(ProfileDTO::userUuid, Function.identity()));
+  }
+
+  /**
+   * Counts the stored profiles.
+   *
+   * @return the number of profiles
+   */
+  public long count() {
+    return profileRepository.count();
+  }
+
+  /**
+   * Streams all profiles ordered by user UUID, starting after {@code after}. Used by jobs that walk
+   * the whole collection; the stream holds a database cursor and must be closed by the caller.
+   *
+   * @param after exclusive starting point (e.g. a job checkpoint), or {@code null} to start from
+   *     the first profile
+   * @return the profiles, in a stable order that can be resumed from any {@code userUuid}
+   */
+  public Stream<ProfileDTO> streamAll(UUID after) {
+    final Stream<Profile> profiles =
+        after == null
+            ? profileRepository.findAllByOrderByUserUuidAsc()
+            : profileRepository.findByUserUuidGreaterThanOrderByUserUuidAsc(after);
+    return profiles.map(ProfileService::toDTO);
   }
 
   /**
    * Creates or updates the profile (upsert) associated to the given {@code userUuid}.
    *
    * <p>If a document already exists for this user, it is updated in-place; otherwise, a new
-   * document is created.
+   * document is created, both with a single {@code findAndModify}. A {@link
+   * ScoreInputsChangedEvent} carrying the factors whose inputs changed is published so the user's
+   * score snapshot is updated. Resubmitting the stored content is detected by its content hash and
+   * neither rewrites the document nor publishes the event.
    *
    * @param userUuid path parameter used as the source of truth for the profile ownership
    * @param payload incoming DTO (fields to be stored)
@@ -43,7 +108,63 @@ public class ProfileService {
    */
   @Transactional
   public ProfileDTO upsert(UUID userUuid, ProfileDTO payload) {
-    Profile entity = profileRepository.findByUserUuid(userUuid).orElseGet(Profile::new);
+    final Profile entity = new Profile();
+    copy(userUuid, payload, entity);
+    final Optional<Profile> previous = profileRepository.findAndUpsert(entity);
+    presenceFilter.addProfile(userUuid);
+
+    final ProfileDTO saved = toDTO(entity);
+    if (!unchanged(previous, entity)) {
+      eventPublisher.publishEvent(
+          new ScoreInputsChangedEvent(
+              userUuid,
+              previous.isEmpty()
+                  ? ScoreFactor.ALL
+                  : ScoreFactor.changed(toDTO(previous.get()), saved)));
+    }
+    return saved;
+  }
+
+  /**
+   * Creates or updates the profiles of many users, each owned by the {@code userUuid} of its
+   * payload, with two round trips whatever their number: one reading the stored content hashes and
+   * one unordered bulk write of the payloads whose content changed. A single {@link
+   * ScoreInputsBulkChangedEvent} then drops the snapshots of the written users, instead of a
+   * refresh per user.
+   *
+   * @param payloads incoming DTOs, each with a {@code userUuid}; when several share a user, the
+   *     last one wins
+   * @return the users whose profiles was written; the others were unchanged
+   */
+  @Transactional
+  public Set<UUID> bulkUpsert(Collection<ProfileDTO> payloads) {
+    final Map<UUID, Profile> entities = new LinkedHashMap<>();
+    for (ProfileDTO payload : payloads) {
+      final Profile entity = new Profile();
+      copy(payload.userUuid(), payload, entity);
+      entities.put(payload.userUuid(), entity);
+    }
+
+    final Map<UUID, Long> stored = profileRepository.findContentHashes(entities.keySet());
+    entities
+        .values()
+        .removeIf(entity -> entity.getContentHash().equals(stored.get(entity.getUserUuid())));
+    if (entities.isEmpty()) {
+      return Set.of();
+    }
+
+    profileRepository.bulkUpsert(entities.values());
+    final Set<UUID> written = Set.copyOf(entities.keySet());
+    presenceFilter.addProfiles(written);
+    eventPublisher.publishEvent(new ScoreInputsBulkChangedEvent(written));
+    return written;
+  }
+
+  /**
+   * Copies the fields of {@code payload} onto {@code entity}, owned by {@code userUuid}, and sets
+   * its content hash.
+   */
+  static void copy(UUID userUuid, ProfileDTO payload, Profile entity) {
     entity.setUserUuid(userUuid);
 
     entity.setBirthDate(payload.birthDate());
@@ -53,10 +174,43 @@ public class ProfileService {
     entity.setLgbtqiaStatus(payload.lgbtqiaStatus());
     entity.setPregnancyStatus(payload.pregnancyStatus());
 
-    return toDTO(profileRepository.save(entity));
+    entity.setContentHash(contentHash(entity));
+  }
+
+  /** Returns whether {@code previous} already had the content of {@code entity}. */
+  static boolean unchanged(Optional<Profile> previous, Profile entity) {
+    return previous
+        .map(Profile::getContentHash)
+        .filter(entity.getContentHash()::equals)
+        .isPresent();
+  }
+
+  /**
+   * Returns the content hash the profile of {@code payload} is stored with, e.g. to tell what a
+   * score was computed from.
+   *
+   * @param payload the profile
+   * @return the fingerprint of every stored field but the identity
+   */
+  public static long contentHash(ProfileDTO payload) {
+    final Profile entity = new Profile();
+    copy(payload.userUuid(), payload, entity);
+    return entity.getContentHash();
+  }
+
+  /** Fingerprint of every stored field of {@code e} but its identity. */
+  static long contentHash(Profile e) {
+    return Fingerprint.start()
+        .add(e.getBirthDate() == null ? null : e.getBirthDate().toString())
+        .add(e.getWeight())
+        .add(e.getHeight())
+        .add(e.getSex())
+        .add(e.getLgbtqiaStatus())
+        .add(e.getPregnancyStatus())
+        .value();
   }
 
-  private ProfileDTO toDTO(Profile e) {
+  static ProfileDTO toDTO(Profile e) {
     return new ProfileDTO(
         e.getUserUuid(),
         e.getBirthDate(),
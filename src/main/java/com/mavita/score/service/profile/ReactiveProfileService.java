@@ -0,0 +1,81 @@
+package com.mavita.score.service.profile;
+
+import com.mavita.score.domain.profile.Profile;
+import com.mavita.score.repository.profile.ReactiveProfileRepository;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.snapshot.ScoreInputsChangedEvent;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link ProfileService}, used by the reactive endpoints.
+ *
+ * <p>The {@link ScoreInputsChangedEvent} listeners refresh the score snapshot with blocking calls,
+ * so the event is published on {@link Schedulers#boundedElastic()} rather than on the event loop.
+ */
+@RequiredArgsConstructor
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProfileService {
+
+  private final ReactiveProfileRepository profileRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Finds a profile by the user's UUID.
+   *
+   * @param userUuid user's UUID
+   * @return the DTO, or empty if not found
+   */
+  public Mono<ProfileDTO> findById(UUID userUuid) {
+    if (!presenceFilter.mightHaveProfile(userUuid)) {
+      return Mono.empty();
+    }
+    return profileRepository.findByUserUuid(userUuid).map(ProfileService::toDTO);
+  }
+
+  /**
+   * Creates or updates the profile (upsert) associated to the given {@code userUuid}, like {@link
+   * ProfileService#upsert(UUID, ProfileDTO)}.
+   *
+   * @param userUuid path parameter used as the source of truth for the profile ownership
+   * @param payload incoming DTO (fields to be stored)
+   * @return the saved DTO, emitted once the score snapshot is updated or the write was skipped
+   */
+  public Mono<ProfileDTO> upsert(UUID userUuid, ProfileDTO payload) {
+    final Profile entity = new Profile();
+    ProfileService.copy(userUuid, payload, entity);
+    final ProfileDTO saved = ProfileService.toDTO(entity);
+
+    return profileRepository
+        .findAndUpsert(entity)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            previous -> {
+              presenceFilter.addProfile(userUuid);
+              if (ProfileService.unchanged(previous, entity)) {
+                return Mono.just(saved);
+              }
+              final long changed =
+                  previous.isEmpty()
+                      ? ScoreFactor.ALL
+                      : ScoreFactor.changed(ProfileService.toDTO(previous.get()), saved);
+              return publish(new ScoreInputsChangedEvent(userUuid, changed)).thenReturn(saved);
+            });
+  }
+
+  private Mono<Void> publish(ScoreInputsChangedEvent event) {
+    return Mono.<Void>fromRunnable(() -> eventPublisher.publishEvent(event))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+}
@@ -0,0 +1,183 @@
+package com.mavita.score.service.score.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mavita.score.config.ScoreBatchProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.exception.DeadlineExceededException;
+import com.mavita.score.service.HealthPointerScoreService;
+import com.mavita.score.service.score.batch.dto.BatchScoreResultDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.utils.LineReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scores NDJSON streams of questionnaires without persisting them.
+ *
+ * <p>Each input line is a {@link ScoreInputsDTO}, i.e. a profile and a health questionnaire:
+ *
+ * <pre>{@code
+ * {"profile":{"userUuid":"...","birthDate":"1990-05-10",...},"health":{"smokes":false,...}}
+ * }</pre>
+ *
+ * <p>Each output line is a {@link BatchScoreResultDTO} carrying either the indicators or the reason
+ * the record could not be scored. Output lines are written in input order.
+ *
+ * <p>Lines are parsed one at a time and scored on the {@code scoreBatchExecutor} pool. At most
+ * {@link ScoreBatchProperties#maxInFlight()} records are held between reading and writing, so
+ * memory stays flat whatever the size of the input. A malformed line only fails that line, and so
+ * does a line longer than {@link ScoreBatchProperties#maxLineSize()}: its remainder is skipped
+ * without being buffered.
+ *
+ * <p>Written records are counted as {@code score.batch.records}, tagged {@code
+ * outcome=scored|failed}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Service
+public class BatchScoreService {
+
+  private static final byte NEWLINE = '\n';
+
+  private final HealthPointerScoreService healthPointerScoreService;
+  private final ExecutorService executor;
+  private final ScoreBatchProperties properties;
+  private final ObjectReader reader;
+  private final ObjectWriter writer;
+  private final Counter scoredRecords;
+  private final Counter failedRecords;
+
+  public BatchScoreService(
+      HealthPointerScoreService healthPointerScoreService,
+      @Qualifier("scoreBatchExecutor") ExecutorService executor,
+      ScoreBatchProperties properties,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.healthPointerScoreService = healthPointerScoreService;
+    this.executor = executor;
+    this.properties = properties;
+    this.reader = objectMapper.readerFor(ScoreInputsDTO.class);
+    this.writer =
+        objectMapper
+            .writerFor(BatchScoreResultDTO.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.scoredRecords = meterRegistry.counter("score.batch.records", "outcome", "scored");
+    this.failedRecords = meterRegistry.counter("score.batch.records", "outcome", "failed");
+  }
+
+  /**
+   * Reads NDJSON records from {@code in} and writes one NDJSON result per record to {@code out}.
+   * Blank lines are skipped but still counted; over-long lines are answered with a failed record.
+   *
+   * @param in the request body
+   * @param out the response body; flushed whenever the writer waits for a result
+   * @throws IOException if reading the input or writing the output fails (e.g. the client
+   *     disconnected); pending records are cancelled
+   * @throws DeadlineExceededException if the deadline of the request runs out before the last
+   *     line is read; pending records are cancelled
+   */
+  public void score(InputStream in, OutputStream out) throws IOException {
+    final LineReader lines = new LineReader(in, (int) properties.maxLineSize().toBytes());
+    final OutputStream buffered = new BufferedOutputStream(out);
+    final Deque<Future<BatchScoreResultDTO>> pending = new ArrayDeque<>();
+
+    try {
+      long lineNumber = 0;
+      String line;
+      while ((line = lines.readLine()) != null) {
+        lineNumber++;
+        if (!lines.tooLong() && line.isBlank()) continue;
+        Deadline.checkCurrent("scoring line " + lineNumber);
+
+        while (!pending.isEmpty()
+            && (pending.size() >= properties.maxInFlight() || pending.peekFirst().isDone())) {
+          write(pending.pollFirst(), buffered);
+        }
+        pending.addLast(
+            lines.tooLong()
+                ? CompletableFuture.completedFuture(
+                    BatchScoreResultDTO.failed(
+                        lineNumber, null, "Line longer than " + properties.maxLineSize()))
+                : submit(lineNumber, line));
+      }
+
+      while (!pending.isEmpty()) {
+        write(pending.pollFirst(), buffered);
+      }
+      buffered.flush();
+    } finally {
+      pending.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private Future<BatchScoreResultDTO> submit(long lineNumber, String line) {
+    final ScoreInputsDTO inputs;
+    try {
+      inputs = reader.readValue(line);
+    } catch (JsonProcessingException ex) {
+      return CompletableFuture.completedFuture(
+          BatchScoreResultDTO.failed(
+              lineNumber, null, "Malformed JSON: " + ex.getOriginalMessage()));
+    }
+
+    if (inputs == null || inputs.profile() == null || inputs.health() == null) {
+      return CompletableFuture.completedFuture(
+          BatchScoreResultDTO.failed(lineNumber, null, "Both profile and health are required"));
+    }
+
+    final UUID userUuid = inputs.profile().userUuid();
+    return executor.submit(
+        () -> {
+          try {
+            return BatchScoreResultDTO.scored(
+                lineNumber,
+                userUuid,
+                healthPointerScoreService.calculate(inputs.profile(), inputs.health()));
+          } catch (RuntimeException ex) {
+            return BatchScoreResultDTO.failed(
+                lineNumber,
+                userUuid,
+                ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+          }
+        });
+  }
+
+  private void write(Future<BatchScoreResultDTO> future, OutputStream out) throws IOException {
+    if (!future.isDone()) {
+      out.flush();
+    }
+
+    final BatchScoreResultDTO result;
+    try {
+      result = future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while scoring batch");
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException(ex.getCause());
+    }
+
+    writer.writeValue(out, result);
+    out.write(NEWLINE);
+    (result.error() == null ? scoredRecords : failedRecords).increment();
+  }
+}
@@ -0,0 +1,39 @@
+package com.mavita.score.service.score.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One output line of the batch scoring endpoint.
+ *
+ * <p>Exactly one of {@code indicators} and {@code error} is present.
+ *
+ * <p>Example NDJSON lines:
+ *
+ * <pre>{@code
+ * {"line":1,"userUuid":"7d0a8e8f-8c1e-4b0b-9f6a-7a1a8f1c2d3e","indicators":[...]}
+ * {"line":2,"error":"Birth date cannot be in the future"}
+ * }</pre>
+ *
+ * @param line the 1-based line number of the record in the request body
+ * @param userUuid the profile's {@code userUuid}, when the record had one
+ * @param indicators the computed indicators, when the record was scored
+ * @param error why the record could not be scored
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchScoreResultDTO(
+    long line, UUID userUuid, List<IndicatorScoreDTO> indicators, String error) {
+
+  public static BatchScoreResultDTO scored(
+      long line, UUID userUuid, List<IndicatorScoreDTO> indicators) {
+    return new BatchScoreResultDTO(line, userUuid, indicators, null);
+  }
+
+  public static BatchScoreResultDTO failed(long line, UUID userUuid, String error) {
+    return new BatchScoreResultDTO(line, userUuid, null, error);
+  }
+}
@@ -0,0 +1,82 @@
+package com.mavita.score.service.score.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mavita.score.config.ScoreCacheProperties;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed cache of computed scores.
+ *
+ * <p>Scores are a pure function of the profile and health inputs (plus the age band), so the
+ * {@link HealthScoreSummaryDTO} is cached under the 64-bit fingerprint produced by {@link
+ * ScoringEngine#fingerprint}. Users who reopen the app without changing their answers hit the same
+ * key and skip the evaluation of the rules entirely.
+ *
+ * <p>Only the summary is cached, in its packed form: the indicators derived from it carry the time
+ * they were computed ({@link IndicatorScoreDTO#updatedAt()}), which is specific to each user, so
+ * callers derive them from the returned summary on every call ({@link ScoringEngine#indicators}).
+ *
+ * <p>The cache is bounded by {@link ScoreCacheProperties#maximumSize()} and uses Caffeine's
+ * W-TinyLFU admission policy, so one-off fingerprints do not evict the frequently reused ones.
+ * Hits, misses and evictions are published as {@code cache.*} metrics tagged {@code
+ * cache=indicators}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Component
+public class IndicatorCache {
+
+  private final Cache<Long, Packed> cache;
+
+  public IndicatorCache(ScoreCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "indicators");
+  }
+
+  /**
+   * Returns the summary cached under {@code fingerprint}, computing and caching it on a miss.
+   *
+   * <p>Concurrent misses for the same fingerprint compute the value only once. Exceptions thrown
+   * by {@code loader} are propagated and nothing is cached.
+   *
+   * @param fingerprint fingerprint of the normalized scoring inputs
+   * @param loader computes the summary on a miss
+   * @return the cached or freshly computed summary; a new instance on every call, which the caller
+   *     may modify
+   */
+  public HealthScoreSummaryDTO get(long fingerprint, Supplier<HealthScoreSummaryDTO> loader) {
+    final Packed packed =
+        cache.get(
+            fingerprint,
+            key -> {
+              final HealthScoreSummaryDTO summary = loader.get();
+              return new Packed(summary.packedLow(), summary.packedHigh());
+            });
+    return HealthScoreSummaryDTO.fromPacked(packed.low(), packed.high());
+  }
+
+  /**
+   * Returns a snapshot of the hit, miss and eviction statistics.
+   *
+   * @return the cache statistics
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private record Packed(long low, long high) {}
+}
@@ -0,0 +1,227 @@
+package com.mavita.score.service.score.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mavita.score.config.ScoreCacheProperties;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Interning table of indicator lists and their pre-encoded JSON, keyed by the rule set version and
+ * the packed {@link HealthScoreSummaryDTO}.
+ *
+ * <p>Under a given rule set, the indicators are a pure function of the summary apart from {@link
+ * IndicatorScoreDTO#updatedAt()}, and only a few thousand distinct summaries occur in practice. For
+ * each of them the table keeps the indicator list once, together with the JSON of every indicator
+ * up to its {@code "updatedAt":} value. Titles, colors and ranges are therefore encoded once per
+ * summary instead of once per request, and a response is assembled by splicing the user's
+ * timestamps between the stored byte prefixes.
+ *
+ * <p>The splice is only used when it produces exactly what the application's {@link ObjectMapper}
+ * would; otherwise (unexpected field order or date format, snapshot computed under another rule
+ * set) the indicators are serialized normally. The table is published as {@code cache.*} metrics
+ * tagged {@code cache=indicator-json}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Component
+public class IndicatorJsonCache {
+
+  private static final byte[] UPDATED_AT = "\"updatedAt\":".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] UPDATED_AT_NULL =
+      "\"updatedAt\":null}".getBytes(StandardCharsets.UTF_8);
+
+  private final Cache<Key, Entry> cache;
+  private final ScoringEngine scoringEngine;
+  private final ObjectMapper objectMapper;
+  private final boolean isoInstants;
+
+  public IndicatorJsonCache(
+      ScoreCacheProperties properties,
+      ScoringEngine scoringEngine,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder().maximumSize(properties.internedMaximumSize()).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "indicator-json");
+    this.scoringEngine = scoringEngine;
+    this.objectMapper = objectMapper;
+    this.isoInstants = writesIsoInstants(objectMapper);
+  }
+
+  /**
+   * Returns the JSON array of a user's indicators.
+   *
+   * @param ruleVersion the rule set version the indicators were computed with
+   * @param summary the summary the indicators were computed from
+   * @param indicators the user's indicators
+   * @return the UTF-8 encoded JSON, identical to serializing {@code indicators}
+   */
+  public byte[] toJson(
+      String ruleVersion, HealthScoreSummaryDTO summary, List<IndicatorScoreDTO> indicators) {
+    return toJson(ruleVersion, summary, indicators, null);
+  }
+
+  /**
+   * Returns the JSON array of some of a user's indicators.
+   *
+   * @param ruleVersion the rule set version the indicators were computed with
+   * @param summary the summary the indicators were computed from
+   * @param indicators all the user's indicators
+   * @param ids the ids of the indicators to include, or {@code null} to include all
+   * @return the UTF-8 encoded JSON, identical to serializing the selected {@code indicators}
+   */
+  public byte[] toJson(
+      String ruleVersion,
+      HealthScoreSummaryDTO summary,
+      List<IndicatorScoreDTO> indicators,
+      Collection<String> ids) {
+    final Entry entry =
+        isoInstants && summary != null && ruleVersion != null
+            ? cache.get(
+                new Key(ruleVersion, summary.packedLow(), summary.packedHigh()),
+                key -> intern(key, summary))
+            : null;
+    if (entry != null && entry.matches(indicators)) {
+      return entry.splice(indicators, ids);
+    }
+    return encode(
+        ids == null
+            ? indicators
+            : indicators.stream().filter(indicator -> ids.contains(indicator.id())).toList());
+  }
+
+  /**
+   * Serializes indicators that are not backed by a stored summary.
+   *
+   * @param indicators the indicators
+   * @return the UTF-8 encoded JSON array
+   */
+  public byte[] toJson(List<IndicatorScoreDTO> indicators) {
+    return encode(indicators);
+  }
+
+  /**
+   * Returns the number of interned summaries.
+   *
+   * @return the approximate number of entries
+   */
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  private Entry intern(Key key, HealthScoreSummaryDTO summary) {
+    if (!key.ruleVersion().equals(scoringEngine.ruleVersion())) return null;
+    final List<IndicatorScoreDTO> indicators =
+        scoringEngine.indicators(summary).stream()
+            .map(IndicatorJsonCache::withoutTimestamp)
+            .toList();
+    // The rules may have been swapped while computing.
+    if (!key.ruleVersion().equals(scoringEngine.ruleVersion())) return null;
+
+    final byte[][] prefixes = new byte[indicators.size()][];
+    for (int i = 0; i < prefixes.length; i++) {
+      final byte[] json = encode(indicators.get(i));
+      if (!endsWith(json, UPDATED_AT_NULL)) return null;
+      prefixes[i] = Arrays.copyOf(json, json.length - UPDATED_AT_NULL.length + UPDATED_AT.length);
+    }
+    return new Entry(indicators, prefixes);
+  }
+
+  private byte[] encode(Object value) {
+    try {
+      return objectMapper.writeValueAsBytes(value);
+    } catch (JsonProcessingException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static IndicatorScoreDTO withoutTimestamp(IndicatorScoreDTO indicator) {
+    return new IndicatorScoreDTO(
+        indicator.id(),
+        indicator.title(),
+        indicator.primary(),
+        indicator.order(),
+        indicator.score(),
+        indicator.maxScore(),
+        indicator.ranges(),
+        null);
+  }
+
+  private static boolean writesIsoInstants(ObjectMapper objectMapper) {
+    final Instant sample = Instant.ofEpochSecond(1_700_000_000L, 123_000_000L);
+    try {
+      return objectMapper.writeValueAsString(sample).equals(timestamp(sample));
+    } catch (JsonProcessingException ex) {
+      return false;
+    }
+  }
+
+  private static String timestamp(Instant instant) {
+    return instant == null ? "null" : '"' + instant.toString() + '"';
+  }
+
+  private static boolean endsWith(byte[] bytes, byte[] suffix) {
+    return bytes.length >= suffix.length
+        && Arrays.equals(
+            bytes, bytes.length - suffix.length, bytes.length, suffix, 0, suffix.length);
+  }
+
+  private record Key(String ruleVersion, long low, long high) {}
+
+  private record Entry(List<IndicatorScoreDTO> indicators, byte[][] prefixes) {
+
+    boolean matches(List<IndicatorScoreDTO> other) {
+      if (other == null || other.size() != indicators.size()) return false;
+      for (int i = 0; i < indicators.size(); i++) {
+        final IndicatorScoreDTO expected = indicators.get(i);
+        final IndicatorScoreDTO actual = other.get(i);
+        if (!expected.id().equals(actual.id())
+            || expected.score() != actual.score()
+            || expected.maxScore() != actual.maxScore()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    byte[] splice(List<IndicatorScoreDTO> timestamps, Collection<String> ids) {
+      final byte[][] stamps = new byte[prefixes.length][];
+      int size = 2;
+      int selected = 0;
+      for (int i = 0; i < prefixes.length; i++) {
+        if (ids != null && !ids.contains(indicators.get(i).id())) continue;
+        stamps[i] = timestamp(timestamps.get(i).updatedAt()).getBytes(StandardCharsets.US_ASCII);
+        size += prefixes[i].length + stamps[i].length + 1 + (selected++ > 0 ? 1 : 0);
+      }
+
+      final byte[] json = new byte[size];
+      int at = 0;
+      json[at++] = '[';
+      for (int i = 0; i < prefixes.length; i++) {
+        if (stamps[i] == null) continue;
+        if (at > 1) json[at++] = ',';
+        System.arraycopy(prefixes[i], 0, json, at, prefixes[i].length);
+        at += prefixes[i].length;
+        System.arraycopy(stamps[i], 0, json, at, stamps[i].length);
+        at += stamps[i].length;
+        json[at++] = '}';
+      }
+      json[at] = ']';
+      return json;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package com.mavita.score.service.score.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mavita.score.config.ScoreStaleProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user store of the last value read successfully, served instead of waiting when a read runs
+ * over its latency budget (stale-while-revalidate).
+ *
+ * <p>{@link #read(UUID, Supplier)} runs the read on an executor and waits for it up to {@link
+ * ScoreStaleProperties#budget()}. A read that completes in time is remembered and returned. A read
+ * that does not is left running: if the user has a value remembered within the last {@link
+ * ScoreStaleProperties#freshness()}, that value is returned flagged as stale, and the read
+ * refreshes it when it completes; otherwise the caller keeps waiting, since there is nothing better
+ * to serve. This keeps failovers and index builds, which stall MongoDB for seconds, out of the
+ * tail latency. Both waits end at the {@link Deadline} of the request, if it comes first; the
+ * read runs under the same deadline.
+ *
+ * <p>A read that completes late must not undo what happened meanwhile: its value is only
+ * remembered if nothing was stored for the user since the read started, neither a value {@link
+ * #put} by a write nor the forgetting of an outdated one, which is kept as an empty entry for that
+ * reason.
+ *
+ * <p>Reads are counted as {@code score.stale.reads}, tagged with the store's {@code name} and
+ * {@code outcome=fresh|stale|late}; the store itself is published as {@code cache.*} metrics
+ * tagged {@code cache=<name>}.
+ *
+ * @param <V> the value type; values are shared between callers, so they must not be modified
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+public final class LastGoodStore<V> {
+
+  private final String name;
+  private final Duration budget;
+  private final Executor executor;
+  private final MeterRegistry meterRegistry;
+  private final Cache<UUID, Reading<V>> cache;
+
+  /**
+   * Creates an empty store.
+   *
+   * @param name the name of the store in the metrics
+   * @param properties the budget, the freshness window and the maximum size
+   * @param executor runs the reads, so the caller can stop waiting for them
+   * @param meterRegistry where the metrics are registered
+   */
+  public LastGoodStore(
+      String name,
+      ScoreStaleProperties properties,
+      Executor executor,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.budget = properties.budget();
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.freshness())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+  }
+
+  /**
+   * Reads the current value of a user within the budget, or serves the last-known one.
+   *
+   * @param userUuid the user's UUID
+   * @param read loads the current value; {@code null} when the user has none
+   * @return the current value, or the last-known one flagged as stale when the read ran over the
+   *     budget; its value is {@code null} when the user has none
+   * @throws RuntimeException the exception thrown by {@code read}, when it completed within the
+   *     budget or there was no last-known value to serve
+   */
+  public Reading<V> read(UUID userUuid, Supplier<V> read) {
+    final Instant startedAt = Instant.now();
+    final CompletableFuture<V> current = CompletableFuture.supplyAsync(read, executor);
+    current.thenAccept(value -> remember(userUuid, value, startedAt));
+
+    try {
+      final V value = current.get(Deadline.boundNanos(budget.toNanos()), TimeUnit.NANOSECONDS);
+      count("fresh");
+      return Reading.fresh(value);
+    } catch (TimeoutException ex) {
+      final Reading<V> last = cache.getIfPresent(userUuid);
+      if (last != null && last.value() != null) {
+        count("stale");
+        log.debug("Serving the {} of user {} read at {}", name, userUuid, last.readAt());
+        return new Reading<>(last.value(), true, last.readAt());
+      }
+      count("late");
+      return Reading.fresh(await(current));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading the " + name, ex);
+    } catch (ExecutionException ex) {
+      throw rethrow(ex.getCause());
+    }
+  }
+
+  /**
+   * Remembers the current value of a user, e.g. one computed by a write.
+   *
+   * @param userUuid the user's UUID
+   * @param value the value, or {@code null} to forget the user
+   */
+  public void put(UUID userUuid, V value) {
+    cache.put(userUuid, Reading.fresh(value));
+  }
+
+  /**
+   * Forgets users whose value changed without being read.
+   *
+   * @param userUuids the users' UUIDs
+   */
+  public void invalidateAll(Collection<UUID> userUuids) {
+    userUuids.forEach(userUuid -> put(userUuid, null));
+  }
+
+  /** Remembers a value read since {@code startedAt}, unless something was stored meanwhile. */
+  private void remember(UUID userUuid, V value, Instant startedAt) {
+    cache
+        .asMap()
+        .compute(
+            userUuid,
+            (key, stored) ->
+                stored != null && !stored.readAt().isBefore(startedAt)
+                    ? stored
+                    : Reading.fresh(value));
+  }
+
+  private static <V> V await(CompletableFuture<V> current) {
+    try {
+      return current.get(Deadline.boundNanos(Long.MAX_VALUE), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      throw new DeadlineExceededException("The request deadline ran out before a late read");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a late read", ex);
+    } catch (ExecutionException ex) {
+      throw rethrow(ex.getCause());
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException runtime) return runtime;
+    if (cause instanceof Error error) throw error;
+    return new IllegalStateException(cause);
+  }
+
+  private void count(String outcome) {
+    meterRegistry.counter("score.stale.reads", "name", name, "outcome", outcome).increment();
+  }
+
+  /**
+   * A value served by {@link #read(UUID, Supplier)}.
+   *
+   * @param value the value, {@code null} when the user has none
+   * @param stale whether the value is the last-known one rather than the current one
+   * @param readAt when the value was read
+   * @param <V> the value type
+   */
+  public record Reading<V>(V value, boolean stale, Instant readAt) {
+
+    static <V> Reading<V> fresh(V value) {
+      return new Reading<>(value, false, Instant.now());
+    }
+
+    /**
+     * Transforms the value, keeping the staleness.
+     *
+     * @param mapper transforms a non-{@code null} value
+     * @param <R> the transformed type
+     * @return the transformed reading, whose value is {@code null} when this one's is
+     */
+    public <R> Reading<R> map(Function<? super V, ? extends R> mapper) {
+      return new Reading<>(value == null ? null : mapper.apply(value), stale, readAt);
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package com.mavita.score.service.score.engine;
+
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, validated form of a {@link RuleSetDefinition}, laid out for evaluation speed.
+ *
+ * <ul>
+ *   <li>every answer string (e.g. {@code "SOMETIMES"}) is assigned an ordinal in a shared
+ *       vocabulary;
+ *   <li>categorical factors read their points from a flat {@code byte[]} table indexed by {@code
+ *       factor * vocabularySize + answerOrdinal}; unknown answers are marked with {@link
+ *       #NO_SCORE};
+ *   <li>numeric factors (age, BMI) read their points from sorted bound arrays;
+ *   <li>indicators are parallel arrays sorted by display order, each with the ordinals of the
+ *       factors it sums and the same factors as a bit mask, so the indicators affected by a set of
+ *       changed factors are found with one {@code AND} each.
+ * </ul>
+ *
+ * <p>Instances are never mutated after {@link #compile(RuleSetDefinition)}, so the engine can swap
+ * them with a single volatile write and readers always see a consistent rule set.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+final class CompiledRuleSet {
+
+  /** Marker stored in the answer table for answers that are not valid for a factor. */
+  static final byte NO_SCORE = -1;
+
+  final String version;
+
+  final Map<String, Integer> vocabulary;
+  final int vocabularySize;
+  final byte[] answerTable;
+
+  final int[] ageBounds;
+  final int[] ageScores;
+  final double[] bmiBounds;
+  final int[] bmiScores;
+  final int chronicConditionPoints;
+  final int parentalConditionPoints;
+
+  final String[] indicatorIds;
+  final String[] indicatorTitles;
+  final boolean[] indicatorPrimary;
+  final int[] indicatorOrder;
+  final int[] indicatorMaxScore;
+  final int[][] indicatorFactors;
+  final long[] indicatorFactorMask;
+  final List<List<IndicatorScoreDTO.Range>> indicatorRanges;
+
+  private CompiledRuleSet(RuleSetDefinition definition) {
+    this.version = require(definition.version(), "version");
+    final Map<ScoreFactor, RuleSetDefinition.FactorRule> factors =
+        require(definition.factors(), "factors");
+
+    final Map<String, Integer> words = new HashMap<>();
+    for (ScoreFactor factor : ScoreFactor.all()) {
+      final RuleSetDefinition.FactorRule rule = factors.get(factor);
+      if (rule == null) throw invalid("factor " + factor + " is missing");
+      if (isCategorical(factor)) {
+        if (rule.answers() == null || rule.answers().isEmpty()) {
+          throw invalid("factor " + factor + " must define answers");
+        }
+        rule.answers().keySet().forEach(answer -> words.putIfAbsent(answer, words.size()));
+      }
+    }
+    this.vocabulary = Map.copyOf(words);
+    this.vocabularySize = words.size();
+    this.answerTable = new byte[ScoreFactor.all().length * vocabularySize];
+    Arrays.fill(answerTable, NO_SCORE);
+    for (ScoreFactor factor : ScoreFactor.all()) {
+      if (!isCategorical(factor)) continue;
+      factors
+          .get(factor)
+          .answers()
+          .forEach(
+              (answer, points) ->
+                  answerTable[factor.ordinal() * vocabularySize + words.get(answer)] =
+                      (byte) points(points, factor + "." + answer));
+    }
+
+    final RuleSetDefinition.FactorRule age = factors.get(ScoreFactor.AGE);
+    final double[] ageDoubles = bounds(age, ScoreFactor.AGE);
+    this.ageBounds = new int[ageDoubles.length];
+    for (int i = 0; i < ageDoubles.length; i++) {
+      if (ageDoubles[i] != Math.rint(ageDoubles[i])) {
+        throw invalid("factor AGE bounds must be whole years");
+      }
+      ageBounds[i] = (int) ageDoubles[i];
+    }
+    this.ageScores = bandPoints(age, ScoreFactor.AGE, ageBounds.length);
+
+    final RuleSetDefinition.FactorRule bmi = factors.get(ScoreFactor.BMI);
+    this.bmiBounds = bounds(bmi, ScoreFactor.BMI);
+    this.bmiScores = bandPoints(bmi, ScoreFactor.BMI, bmiBounds.length);
+
+    this.chronicConditionPoints =
+        itemPoints(factors.get(ScoreFactor.CHRONIC_CONDITION), ScoreFactor.CHRONIC_CONDITION);
+    this.parentalConditionPoints =
+        itemPoints(factors.get(ScoreFactor.PARENTAL_CONDITIONS), ScoreFactor.PARENTAL_CONDITIONS);
+
+    final List<RuleSetDefinition.IndicatorRule> indicators =
+        new ArrayList<>(require(definition.indicators(), "indicators"));
+    indicators.sort(Comparator.comparingInt(RuleSetDefinition.IndicatorRule::order));
+    final int count = indicators.size();
+    this.indicatorIds = new String[count];
+    this.indicatorTitles = new String[count];
+    this.indicatorPrimary = new boolean[count];
+    this.indicatorOrder = new int[count];
+    this.indicatorMaxScore = new int[count];
+    this.indicatorFactors = new int[count][];
+    this.indicatorFactorMask = new long[count];
+    final List<List<IndicatorScoreDTO.Range>> ranges = new ArrayList<>(count);
+    final Set<String> ids = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      final RuleSetDefinition.IndicatorRule indicator = indicators.get(i);
+      final String id = require(indicator.id(), "indicator id");
+      if (!ids.add(id)) throw invalid("indicator " + id + " is defined twice");
+      if (indicator.maxScore() <= 0 || indicator.maxScore() > HealthScoreSummaryDTO.MAX_POINTS) {
+        // Capping indicators at the lane maximum keeps them exact when a per-item factor
+        // saturates its lane.
+        throw invalid(
+            "indicator %s max-score must be between 1 and %d"
+                .formatted(id, HealthScoreSummaryDTO.MAX_POINTS));
+      }
+      if (indicator.factors() == null || indicator.factors().isEmpty()) {
+        throw invalid("indicator " + id + " must sum at least one factor");
+      }
+
+      indicatorIds[i] = id;
+      indicatorTitles[i] = require(indicator.title(), "indicator " + id + " title");
+      indicatorPrimary[i] = indicator.primary();
+      indicatorOrder[i] = indicator.order();
+      indicatorMaxScore[i] = indicator.maxScore();
+      indicatorFactors[i] = indicator.factors().stream().mapToInt(ScoreFactor::ordinal).toArray();
+      for (ScoreFactor factor : indicator.factors()) {
+        indicatorFactorMask[i] |= factor.bit();
+      }
+      ranges.add(ranges(indicator));
+    }
+    this.indicatorRanges = List.copyOf(ranges);
+  }
+
+  /**
+   * Validates and compiles a rule set.
+   *
+   * @param definition the declarative rule set
+   * @return the compiled rule set
+   * @throws IllegalArgumentException if the rule set is incomplete or inconsistent
+   */
+  static CompiledRuleSet compile(RuleSetDefinition definition) {
+    return new CompiledRuleSet(require(definition, "rule set"));
+  }
+
+  /**
+   * Returns the index of an indicator.
+   *
+   * @param id the indicator id
+   * @return its index in the indicator arrays, or {@code -1} if this rule set does not define it
+   */
+  int indicatorIndex(String id) {
+    for (int i = 0; i < indicatorIds.length; i++) {
+      if (indicatorIds[i].equals(id)) return i;
+    }
+    return -1;
+  }
+
+  private static boolean isCategorical(ScoreFactor factor) {
+    return switch (factor) {
+      case AGE, BMI, CHRONIC_CONDITION, PARENTAL_CONDITIONS -> false;
+      default -> true;
+    };
+  }
+
+  private static double[] bounds(RuleSetDefinition.FactorRule rule, ScoreFactor factor) {
+    if (rule.bounds() == null || rule.bounds().isEmpty()) {
+      throw invalid("factor " + factor + " must define bounds");
+    }
+    final double[] bounds = rule.bounds().stream().mapToDouble(Double::doubleValue).toArray();
+    for (int i = 1; i < bounds.length; i++) {
+      if (!(bounds[i] > bounds[i - 1])) {
+        throw invalid("factor " + factor + " bounds must be strictly ascending");
+      }
+    }
+    return bounds;
+  }
+
+  private static int[] bandPoints(
+      RuleSetDefinition.FactorRule rule, ScoreFactor factor, int boundCount) {
+    if (rule.points() == null || rule.points().size() != boundCount + 1) {
+      throw invalid("factor " + factor + " must define " + (boundCount + 1) + " points");
+    }
+    return rule.points().stream().mapToInt(points -> points(points, factor.name())).toArray();
+  }
+
+  private static int itemPoints(RuleSetDefinition.FactorRule rule, ScoreFactor factor) {
+    if (rule.pointsPerItem() == null) {
+      throw invalid("factor " + factor + " must define points-per-item");
+    }
+    return points(rule.pointsPerItem(), factor.name());
+  }
+
+  private static List<IndicatorScoreDTO.Range> ranges(RuleSetDefinition.IndicatorRule indicator) {
+    final List<IndicatorScoreDTO.Range> ranges =
+        require(indicator.ranges(), "indicator " + indicator.id() + " ranges");
+    for (IndicatorScoreDTO.Range range : ranges) {
+      if (range.from() < 0 || range.from() > range.to() || range.to() > indicator.maxScore()) {
+        throw invalid(
+            "indicator %s range %d-%d must lie within 0-%d"
+                .formatted(indicator.id(), range.from(), range.to(), indicator.maxScore()));
+      }
+    }
+    return List.copyOf(ranges);
+  }
+
+  private static int points(Integer points, String where) {
+    if (points == null || points < 0 || points > HealthScoreSummaryDTO.MAX_POINTS) {
+      throw invalid(where + " points must be between 0 and " + HealthScoreSummaryDTO.MAX_POINTS);
+    }
+    return points;
+  }
+
+  private static <T> T require(T value, String what) {
+    if (value == null || (value instanceof String text && text.isBlank())) {
+      throw invalid(what + " is required");
+    }
+    return value;
+  }
+
+  private static IllegalArgumentException invalid(String message) {
+    return new IllegalArgumentException("Invalid rule set: " + message);
+  }
+}
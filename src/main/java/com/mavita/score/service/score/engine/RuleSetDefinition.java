@@ -0,0 +1,65 @@
+package com.mavita.score.service.score.engine;
+
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative scoring rule set, as read from {@code rules/score-rules.yml}.
+ *
+ * <p>This is the editable form of the rules; it is validated and compiled into flat lookup tables
+ * ({@link CompiledRuleSet}) before the {@link ScoringEngine} uses it. Keys are kebab-case in YAML
+ * (e.g. {@code points-per-item}, {@code max-score}).
+ *
+ * @param version identifies the rule set; stored with every snapshot so results computed under
+ *     another version are recomputed
+ * @param factors the points of every {@link ScoreFactor}
+ * @param indicators the indicators derived from the factors
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record RuleSetDefinition(
+    String version, Map<ScoreFactor, FactorRule> factors, List<IndicatorRule> indicators) {
+
+  /**
+   * Points of a single factor. Which fields apply depends on the factor:
+   *
+   * <ul>
+   *   <li>{@code AGE} and {@code BMI}: {@code bounds} (ascending, inclusive lower bounds of each
+   *       band after the first) and {@code points} (one entry more than {@code bounds});
+   *   <li>{@code CHRONIC_CONDITION} and {@code PARENTAL_CONDITIONS}: {@code pointsPerItem};
+   *   <li>every other factor: {@code answers}, the points of each accepted answer ({@code SMOKING}
+   *       answers are {@code "true"} and {@code "false"}).
+   * </ul>
+   *
+   * @param answers points per answer of a categorical factor
+   * @param bounds band bounds of a numeric factor
+   * @param points points per band of a numeric factor
+   * @param pointsPerItem points per selected condition
+   */
+  public record FactorRule(
+      Map<String, Integer> answers,
+      List<Double> bounds,
+      List<Integer> points,
+      Integer pointsPerItem) {}
+
+  /**
+   * An indicator: the capped sum of some factors, shown as {@code maxScore - total}.
+   *
+   * @param id stable identifier (e.g. {@code "sleep-health"})
+   * @param title title shown by the frontend
+   * @param primary whether this is the main indicator
+   * @param order display order
+   * @param maxScore cap of the risk total and maximum of the gauge
+   * @param factors the factors summed into the risk total
+   * @param ranges gauge ranges, in the progress domain
+   */
+  public record IndicatorRule(
+      String id,
+      String title,
+      boolean primary,
+      int order,
+      int maxScore,
+      List<ScoreFactor> factors,
+      List<IndicatorScoreDTO.Range> ranges) {}
+}
@@ -0,0 +1,92 @@
+package com.mavita.score.service.score.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.mavita.score.config.ScoreRulesProperties;
+import com.mavita.score.utils.Fingerprint;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the YAML rule set from {@link ScoreRulesProperties#location()}.
+ *
+ * <p>Remembers a hash of the last content it returned, so polling an unchanged file costs one read
+ * and no parsing.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Component
+public class RuleSetSource {
+
+  private final ResourceLoader resourceLoader;
+  private final ScoreRulesProperties properties;
+  private final ObjectMapper yaml =
+      new ObjectMapper(new YAMLFactory())
+          .setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
+
+  private long lastContentHash;
+
+  public RuleSetSource(ResourceLoader resourceLoader, ScoreRulesProperties properties) {
+    this.resourceLoader = resourceLoader;
+    this.properties = properties;
+  }
+
+  /**
+   * Reads and parses the rule set.
+   *
+   * @return the parsed, not yet validated, rule set
+   * @throws UncheckedIOException if the location cannot be read or is not a valid rule set file
+   */
+  public synchronized RuleSetDefinition load() {
+    final byte[] content = read();
+    final RuleSetDefinition definition = parse(content);
+    lastContentHash = hash(content);
+    return definition;
+  }
+
+  /**
+   * Reads the rule set only if its content changed since the last successful read.
+   *
+   * @return the parsed rule set, or empty if the content is unchanged
+   * @throws UncheckedIOException if the location cannot be read or is not a valid rule set file
+   */
+  public synchronized Optional<RuleSetDefinition> loadIfChanged() {
+    final byte[] content = read();
+    final long hash = hash(content);
+    if (hash == lastContentHash) {
+      return Optional.empty();
+    }
+    final RuleSetDefinition definition = parse(content);
+    lastContentHash = hash;
+    return Optional.of(definition);
+  }
+
+  private byte[] read() {
+    final Resource resource = resourceLoader.getResource(properties.location());
+    try (InputStream in = resource.getInputStream()) {
+      return in.readAllBytes();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not read rule set " + properties.location(), ex);
+    }
+  }
+
+  private RuleSetDefinition parse(byte[] content) {
+    try {
+      return yaml.readValue(content, RuleSetDefinition.class);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not parse rule set " + properties.location(), ex);
+    }
+  }
+
+  private static long hash(byte[] content) {
+    return Fingerprint.start().add(new String(content, StandardCharsets.UTF_8)).value();
+  }
+}
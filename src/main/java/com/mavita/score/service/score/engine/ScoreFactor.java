@@ -0,0 +1,175 @@
+package com.mavita.score.service.score.engine;
+
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.health.dto.PersonalFamilyHistoryDTO;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Atomic score factors evaluated by the {@link ScoringEngine}.
+ *
+ * <p>Each constant maps 1:1 to a field of {@link HealthScoreSummaryDTO} and to one {@code
+ * ScoreService} bean. The declaration order is the evaluation order and is used both as the lane
+ * of the field in the summary's packed words and as the row index of the engine's compiled lookup
+ * tables, so new factors must be appended. The points of each factor are defined by the active
+ * rule set (see {@link RuleSetDefinition}).
+ *
+ * <p>Each factor also declares the input it reads ({@link #input(ProfileDTO, HealthDTO)}). This is
+ * the first edge of the dependency graph used for incremental recomputation: a write is diffed
+ * into a bit mask of changed factors ({@link #changed}), and the compiled rule set maps factors to
+ * the indicators that sum them, so only the affected factors and indicators are recomputed.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public enum ScoreFactor {
+  AGE,
+  BMI,
+  SMOKING,
+  ALCOHOL_CONSUMPTION,
+  PHYSICAL_ACTIVITY,
+  DIET,
+  HEALTH_FEELING,
+  SLEEP_HOURS,
+  SLEEP_DIFFICULTY,
+  NIGHT_AWAKENING_FREQUENCY,
+  WAKE_UP_MOOD,
+  ANXIETY_SHORTNESS_BREATH,
+  STRESS_LEVEL,
+  SADNESS_LEVEL,
+  CHRONIC_CONDITION,
+  PARENTAL_CONDITIONS,
+  DIABETES_SYMPTOM_LEVEL,
+  HEADACHE_DIZZINESS_LEVEL,
+  PREVENTIVE_EXAM_FREQUENCY;
+
+  private static final ScoreFactor[] VALUES = values();
+
+  /** Bit mask with every factor set; see {@link #bit()}. */
+  public static final long ALL = (1L << VALUES.length) - 1;
+
+  /** Bit mask of the factors computed from the profile; every other factor reads health data. */
+  public static final long PROFILE = AGE.bit() | BMI.bit();
+
+  /**
+   * Returns all factors in evaluation order without cloning the backing array.
+   *
+   * <p>Callers must not modify the returned array.
+   *
+   * @return the shared array of factors
+   */
+  static ScoreFactor[] all() {
+    return VALUES;
+  }
+
+  /**
+   * Reads the points of this factor from a computed summary.
+   *
+   * @param summary the computed summary; must not be {@code null}
+   * @return the points stored in the field of {@code summary} that maps to this factor
+   */
+  public int read(HealthScoreSummaryDTO summary) {
+    return summary.points(ordinal());
+  }
+
+  /**
+   * Returns the bit of this factor in factor masks.
+   *
+   * @return {@code 1L << ordinal()}
+   */
+  public long bit() {
+    return 1L << ordinal();
+  }
+
+  /**
+   * Writes the points of this factor into a summary.
+   *
+   * @param summary the summary to update; must not be {@code null}
+   * @param points the points of this factor
+   */
+  public void write(HealthScoreSummaryDTO summary, int points) {
+    summary.setPoints(ordinal(), points);
+  }
+
+  /**
+   * Returns the raw input this factor is computed from.
+   *
+   * <p>Only the document the factor depends on is read ({@code profileDTO} for {@code AGE} and
+   * {@code BMI}, {@code healthDTO} for every other factor); the other may be {@code null}.
+   *
+   * @param profileDTO profile inputs, or {@code null}
+   * @param healthDTO questionnaire answers, or {@code null}
+   * @return a value whose equality tells whether the factor may change, {@code null} when the
+   *     document is {@code null}
+   */
+  public Object input(ProfileDTO profileDTO, HealthDTO healthDTO) {
+    if (this == AGE || this == BMI) {
+      if (profileDTO == null) return null;
+      return this == AGE
+          ? profileDTO.birthDate()
+          : Arrays.asList(profileDTO.weight(), profileDTO.height());
+    }
+    if (healthDTO == null) return null;
+
+    final PersonalFamilyHistoryDTO history = healthDTO.personalFamilyHistory();
+    return switch (this) {
+      case AGE, BMI -> throw new IllegalStateException("Unexpected value: " + this);
+      case SMOKING -> healthDTO.smokes();
+      case ALCOHOL_CONSUMPTION -> healthDTO.alcoholConsumption();
+      case PHYSICAL_ACTIVITY -> healthDTO.physicalActivityLevel();
+      case DIET -> healthDTO.dietQuality();
+      case HEALTH_FEELING -> healthDTO.healthFeeling();
+      case SLEEP_HOURS -> healthDTO.averageSleepWindow();
+      case SLEEP_DIFFICULTY -> healthDTO.sleepDifficulty();
+      case NIGHT_AWAKENING_FREQUENCY -> healthDTO.nightAwakeningFrequency();
+      case WAKE_UP_MOOD -> healthDTO.wakeUpMood();
+      case ANXIETY_SHORTNESS_BREATH -> healthDTO.anxietyShortnessBreath();
+      case STRESS_LEVEL -> healthDTO.stressLevel();
+      case SADNESS_LEVEL -> healthDTO.sadnessLevel();
+      case CHRONIC_CONDITION -> history == null ? null : history.chronicConditions();
+      case PARENTAL_CONDITIONS -> history == null ? null : history.parentalConditions();
+      case DIABETES_SYMPTOM_LEVEL -> healthDTO.diabetesSymptomLevel();
+      case HEADACHE_DIZZINESS_LEVEL -> healthDTO.headacheDizzinessLevel();
+      case PREVENTIVE_EXAM_FREQUENCY -> healthDTO.preventiveExamFrequency();
+    };
+  }
+
+  /**
+   * Diffs two versions of a user's profile.
+   *
+   * @param before the profile before the write, or {@code null} if it did not exist
+   * @param after the profile after the write
+   * @return the mask of factors whose input changed
+   */
+  public static long changed(ProfileDTO before, ProfileDTO after) {
+    return changed(before, null, after, null);
+  }
+
+  /**
+   * Diffs two versions of a user's health data.
+   *
+   * @param before the health data before the write, or {@code null} if it did not exist
+   * @param after the health data after the write
+   * @return the mask of factors whose input changed
+   */
+  public static long changed(HealthDTO before, HealthDTO after) {
+    return changed(null, before, null, after);
+  }
+
+  private static long changed(
+      ProfileDTO profileBefore,
+      HealthDTO healthBefore,
+      ProfileDTO profileAfter,
+      HealthDTO healthAfter) {
+    long mask = 0;
+    for (ScoreFactor factor : VALUES) {
+      if (!Objects.equals(
+          factor.input(profileBefore, healthBefore), factor.input(profileAfter, healthAfter))) {
+        mask |= factor.bit();
+      }
+    }
+    return mask;
+  }
+}
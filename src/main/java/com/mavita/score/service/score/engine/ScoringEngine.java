@@ -0,0 +1,567 @@
+package com.mavita.score.service.score.engine;
+
+import com.mavita.score.exception.InvalidChronicConditionSelectionException;
+import com.mavita.score.exception.InvalidParentalConditionSelectionException;
+import com.mavita.score.exception.UnknownIndicatorException;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.health.dto.PersonalFamilyHistoryDTO;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import com.mavita.score.utils.Fingerprint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled scoring engine that evaluates every {@link ScoreFactor} and every indicator from lookup
+ * tables.
+ *
+ * <p>The rules are not hard-coded: they are read from a versioned YAML rule set ({@link
+ * RuleSetDefinition}, {@code rules/score-rules.yml} by default), validated and compiled into flat
+ * primitive arrays ({@link CompiledRuleSet}). The location is polled every {@code
+ * score.rules.refresh-interval}; a changed rule set is compiled off the request path and swapped in
+ * with a single volatile write, so requests never wait for a reload and every evaluation sees one
+ * consistent rule set. A rule set that fails validation is logged and ignored until the file
+ * changes again; the previous one stays active. So is a changed rule set that keeps the active
+ * version: the caches and the stored snapshots tell the rule sets apart by their version only, and
+ * would keep serving results of the previous rules.
+ *
+ * <p>{@link #evaluate(ProfileDTO, HealthDTO, HealthScoreSummaryDTO)} fills a whole summary in one
+ * pass: one hash lookup per answer, one array read per factor and no allocation besides the current
+ * date. The validation rules are the same as the original per-factor services: {@code null}
+ * answers are neutral (0 points), unknown answers raise {@link IllegalStateException}, missing or
+ * invalid birth date, weight and height raise {@link IllegalArgumentException} and {@code NONE}
+ * combined with other conditions raises the corresponding selection exception.
+ *
+ * <p>Stored results can also be updated incrementally: {@link #evaluate(ProfileDTO, HealthDTO,
+ * HealthScoreSummaryDTO, long)} re-evaluates only the changed factors and {@link
+ * #indicators(HealthScoreSummaryDTO, List, long)} recomputes only the indicators that sum them.
+ *
+ * <p>Metrics ({@code /actuator/prometheus}):
+ *
+ * <ul>
+ *   <li>{@code score.engine.evaluate} timer, tagged {@code scope=full|partial}: one summary pass;
+ *   <li>{@code score.engine.indicators} timer, tagged {@code
+ *       scope=all|selected|incremental|single};
+ *   <li>{@code score.factor.failures} counter, tagged {@code factor} and {@code exception}: answers
+ *       or profile inputs that a factor rejected;
+ *   <li>{@code score.rules.reloads} counter, tagged {@code outcome=activated|rejected}.
+ * </ul>
+ *
+ * <p>Factors and indicators are not timed one by one: each takes a few nanoseconds, about as
+ * long as reading the clock.
+ *
+ * <p>Instances are thread-safe.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ScoringEngine {
+
+  private static final String NONE = "NONE";
+
+  private final RuleSetSource source;
+  private final MeterRegistry meterRegistry;
+  private final Timer fullEvaluationTimer;
+  private final Timer partialEvaluationTimer;
+  private final Timer allIndicatorsTimer;
+  private final Timer selectedIndicatorsTimer;
+  private final Timer incrementalIndicatorsTimer;
+  private final Timer singleIndicatorTimer;
+  private volatile CompiledRuleSet rules;
+
+  /**
+   * Loads and compiles the initial rule set.
+   *
+   * @param source where the rule set is read from
+   * @param meterRegistry where the engine's metrics are registered
+   * @throws IllegalArgumentException if the rule set is invalid, which fails the startup
+   */
+  public ScoringEngine(RuleSetSource source, MeterRegistry meterRegistry) {
+    this.source = source;
+    this.meterRegistry = meterRegistry;
+    this.fullEvaluationTimer = timer("score.engine.evaluate", "full");
+    this.partialEvaluationTimer = timer("score.engine.evaluate", "partial");
+    this.allIndicatorsTimer = timer("score.engine.indicators", "all");
+    this.selectedIndicatorsTimer = timer("score.engine.indicators", "selected");
+    this.incrementalIndicatorsTimer = timer("score.engine.indicators", "incremental");
+    this.singleIndicatorTimer = timer("score.engine.indicators", "single");
+    this.rules = CompiledRuleSet.compile(source.load());
+    log.info("Loaded scoring rule set {}", rules.version);
+  }
+
+  /**
+   * Re-reads the rule set and activates it if its content changed, it is valid and it declares
+   * another version than the active one.
+   *
+   * <p>Runs every {@code score.rules.refresh-interval}; failures are logged and never propagated,
+   * so a broken file cannot take the current rules down.
+   */
+  @Scheduled(
+      initialDelayString = "${score.rules.refresh-interval:30s}",
+      fixedDelayString = "${score.rules.refresh-interval:30s}")
+  public void reload() {
+    try {
+      source
+          .loadIfChanged()
+          .map(CompiledRuleSet::compile)
+          .ifPresent(
+              compiled -> {
+                final String previous = rules.version;
+                if (compiled.version.equals(previous)) {
+                  throw new IllegalArgumentException(
+                      "the rules changed but version " + previous + " did not");
+                }
+                rules = compiled;
+                meterRegistry.counter("score.rules.reloads", "outcome", "activated").increment();
+                log.info("Activated scoring rule set {} (was {})", compiled.version, previous);
+              });
+    } catch (RuntimeException ex) {
+      meterRegistry.counter("score.rules.reloads", "outcome", "rejected").increment();
+      log.error("Rejected scoring rule set, keeping {}: {}", rules.version, ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns the version of the active rule set.
+   *
+   * @return the version declared by the rule set
+   */
+  public String ruleVersion() {
+    return rules.version;
+  }
+
+  /**
+   * Evaluates every factor and writes the results into {@code summary}.
+   *
+   * @param profileDTO profile inputs (birth date, weight, height); must not be {@code null}
+   * @param healthDTO questionnaire answers; must not be {@code null}
+   * @param summary target container, mutated in place; must not be {@code null}
+   * @throws NullPointerException if any argument is {@code null}
+   * @throws IllegalArgumentException if the profile inputs are missing or invalid
+   * @throws IllegalStateException if an answer is not valid for its factor
+   */
+  public void evaluate(ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO summary) {
+    evaluate(profileDTO, healthDTO, summary, ScoreFactor.ALL);
+  }
+
+  /**
+   * Evaluates only some factors and writes the results into {@code summary}, leaving the other
+   * fields untouched.
+   *
+   * <p>Used to update a stored summary after a write: with the mask returned by {@link
+   * ScoreFactor#changed}, the work is proportional to the number of changed answers.
+   *
+   * @param profileDTO profile inputs (birth date, weight, height); may only be {@code null} when
+   *     no {@link ScoreFactor#PROFILE} factor is evaluated
+   * @param healthDTO questionnaire answers; may only be {@code null} when only {@link
+   *     ScoreFactor#PROFILE} factors are evaluated
+   * @param summary target container, mutated in place; must not be {@code null}
+   * @param factors mask of the factors to evaluate (see {@link ScoreFactor#bit()})
+   * @throws NullPointerException if {@code summary} or a required input is {@code null}
+   * @throws IllegalArgumentException if the profile inputs are missing or invalid
+   * @throws IllegalStateException if an answer is not valid for its factor
+   */
+  public void evaluate(
+      ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO summary, long factors) {
+    if ((factors & ScoreFactor.PROFILE) != 0) {
+      Objects.requireNonNull(profileDTO, "profileDTO must not be null");
+    }
+    if ((factors & ~ScoreFactor.PROFILE) != 0) {
+      Objects.requireNonNull(healthDTO, "healthDTO must not be null");
+    }
+    Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
+
+    final long start = System.nanoTime();
+    final LocalDate today = LocalDate.now();
+    final CompiledRuleSet rules = this.rules;
+    try {
+      for (ScoreFactor factor : ScoreFactor.all()) {
+        if ((factors & factor.bit()) != 0) {
+          factor.write(summary, score(factor, profileDTO, healthDTO, today, rules));
+        }
+      }
+    } finally {
+      (factors == ScoreFactor.ALL ? fullEvaluationTimer : partialEvaluationTimer)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Evaluates a single factor.
+   *
+   * @param factor the factor to evaluate
+   * @param profileDTO profile inputs; must not be {@code null}
+   * @param healthDTO questionnaire answers; must not be {@code null}
+   * @return the points of the factor
+   * @throws IllegalArgumentException if the profile inputs are missing or invalid
+   * @throws IllegalStateException if the answer is not valid for the factor
+   */
+  public int score(ScoreFactor factor, ProfileDTO profileDTO, HealthDTO healthDTO) {
+    return score(factor, profileDTO, healthDTO, LocalDate.now(), rules);
+  }
+
+  private int score(
+      ScoreFactor factor,
+      ProfileDTO profile,
+      HealthDTO health,
+      LocalDate today,
+      CompiledRuleSet rules) {
+    try {
+      return evaluate(factor, profile, health, today, rules);
+    } catch (RuntimeException ex) {
+      meterRegistry
+          .counter(
+              "score.factor.failures",
+              "factor",
+              factor.name(),
+              "exception",
+              ex.getClass().getSimpleName())
+          .increment();
+      throw ex;
+    }
+  }
+
+  private static int evaluate(
+      ScoreFactor factor,
+      ProfileDTO profile,
+      HealthDTO health,
+      LocalDate today,
+      CompiledRuleSet rules) {
+    return switch (factor) {
+      case AGE -> ageScore(rules, profile.birthDate(), today);
+      case BMI -> bmiScore(rules, profile.weight(), profile.height());
+      case SMOKING ->
+          lookup(rules, factor, health.smokes() == null ? null : health.smokes().toString());
+      case ALCOHOL_CONSUMPTION -> lookup(rules, factor, health.alcoholConsumption());
+      case PHYSICAL_ACTIVITY -> lookup(rules, factor, health.physicalActivityLevel());
+      case DIET -> lookup(rules, factor, health.dietQuality());
+      case HEALTH_FEELING -> lookup(rules, factor, health.healthFeeling());
+      case SLEEP_HOURS -> lookup(rules, factor, health.averageSleepWindow());
+      case SLEEP_DIFFICULTY -> lookup(rules, factor, health.sleepDifficulty());
+      case NIGHT_AWAKENING_FREQUENCY -> lookup(rules, factor, health.nightAwakeningFrequency());
+      case WAKE_UP_MOOD -> lookup(rules, factor, health.wakeUpMood());
+      case ANXIETY_SHORTNESS_BREATH -> lookup(rules, factor, health.anxietyShortnessBreath());
+      case STRESS_LEVEL -> lookup(rules, factor, health.stressLevel());
+      case SADNESS_LEVEL -> lookup(rules, factor, health.sadnessLevel());
+      case CHRONIC_CONDITION -> chronicConditionScore(rules, health.personalFamilyHistory());
+      case PARENTAL_CONDITIONS -> parentalConditionScore(rules, health.personalFamilyHistory());
+      case DIABETES_SYMPTOM_LEVEL -> lookup(rules, factor, health.diabetesSymptomLevel());
+      case HEADACHE_DIZZINESS_LEVEL -> lookup(rules, factor, health.headacheDizzinessLevel());
+      case PREVENTIVE_EXAM_FREQUENCY -> lookup(rules, factor, health.preventiveExamFrequency());
+    };
+  }
+
+  /**
+   * Computes every indicator of the active rule set from a computed summary.
+   *
+   * <p>Each indicator sums its factors into a risk total capped at its maximum and reports {@code
+   * progress = maxScore - total}, since the gauge expects 0 = bad and max = good.
+   *
+   * @param summary the computed summary; must not be {@code null}
+   * @return an immutable list of indicators, sorted by {@link IndicatorScoreDTO#order()}
+   */
+  public List<IndicatorScoreDTO> indicators(HealthScoreSummaryDTO summary) {
+    Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
+
+    final long start = System.nanoTime();
+    final CompiledRuleSet rules = this.rules;
+    final Instant now = Instant.now();
+    final IndicatorScoreDTO[] indicators = new IndicatorScoreDTO[rules.indicatorIds.length];
+    for (int i = 0; i < indicators.length; i++) {
+      indicators[i] = indicator(rules, i, summary, now);
+    }
+    allIndicatorsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return List.of(indicators);
+  }
+
+  /**
+   * Returns the factors that some indicators of the active rule set sum.
+   *
+   * <p>Evaluating only these factors ({@link #evaluate(ProfileDTO, HealthDTO,
+   * HealthScoreSummaryDTO, long)}) is enough for {@link #indicators(HealthScoreSummaryDTO,
+   * Collection)} to compute the selected indicators; if none of them is outside {@link
+   * ScoreFactor#PROFILE}, the health data need not be loaded at all.
+   *
+   * @param ids the selected indicator ids
+   * @return the mask of the factors they depend on (see {@link ScoreFactor#bit()})
+   * @throws UnknownIndicatorException if the active rule set does not define one of the ids
+   */
+  public long requiredFactors(Collection<String> ids) {
+    final CompiledRuleSet rules = this.rules;
+    long factors = 0;
+    for (String id : ids) {
+      final int index = rules.indicatorIndex(id);
+      if (index < 0) {
+        throw new UnknownIndicatorException("Unknown indicator: " + id);
+      }
+      factors |= rules.indicatorFactorMask[index];
+    }
+    return factors;
+  }
+
+  /**
+   * Computes some indicators of the active rule set from a (possibly partially) computed summary.
+   *
+   * @param summary a summary holding at least the factors returned by {@link
+   *     #requiredFactors(Collection)} for {@code ids}; must not be {@code null}
+   * @param ids the selected indicator ids; ids the rule set does not define are ignored
+   * @return an immutable list of the selected indicators, sorted by {@link
+   *     IndicatorScoreDTO#order()}
+   */
+  public List<IndicatorScoreDTO> indicators(HealthScoreSummaryDTO summary, Collection<String> ids) {
+    Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
+
+    final long start = System.nanoTime();
+    final CompiledRuleSet rules = this.rules;
+    final Instant now = Instant.now();
+    final List<IndicatorScoreDTO> indicators = new ArrayList<>(ids.size());
+    for (int i = 0; i < rules.indicatorIds.length; i++) {
+      if (ids.contains(rules.indicatorIds[i])) {
+        indicators.add(indicator(rules, i, summary, now));
+      }
+    }
+    selectedIndicatorsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return List.copyOf(indicators);
+  }
+
+  /**
+   * Recomputes the indicators that depend on some factors and reuses the others.
+   *
+   * <p>An indicator is recomputed when it sums one of {@code changedFactors} or when {@code
+   * previous} does not contain it; every other indicator is taken from {@code previous} as is,
+   * keeping its {@link IndicatorScoreDTO#updatedAt()}.
+   *
+   * @param summary the updated summary; must not be {@code null}
+   * @param previous the indicators computed before the change, under the active rule set
+   * @param changedFactors mask of the factors that changed (see {@link ScoreFactor#bit()})
+   * @return an immutable list of indicators, sorted by {@link IndicatorScoreDTO#order()}
+   */
+  public List<IndicatorScoreDTO> indicators(
+      HealthScoreSummaryDTO summary, List<IndicatorScoreDTO> previous, long changedFactors) {
+    Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
+
+    final long start = System.nanoTime();
+    final CompiledRuleSet rules = this.rules;
+    final Instant now = Instant.now();
+    final IndicatorScoreDTO[] indicators = new IndicatorScoreDTO[rules.indicatorIds.length];
+    for (int i = 0; i < indicators.length; i++) {
+      final IndicatorScoreDTO reusable =
+          (rules.indicatorFactorMask[i] & changedFactors) == 0
+              ? find(previous, rules.indicatorIds[i])
+              : null;
+      indicators[i] = reusable != null ? reusable : indicator(rules, i, summary, now);
+    }
+    incrementalIndicatorsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return List.of(indicators);
+  }
+
+  /**
+   * Computes a single indicator of the active rule set from a computed summary.
+   *
+   * @param id the indicator id (e.g. {@code "mental-health"})
+   * @param summary the computed summary; must not be {@code null}
+   * @return the indicator
+   * @throws IllegalArgumentException if the active rule set does not define the indicator
+   */
+  public IndicatorScoreDTO indicator(String id, HealthScoreSummaryDTO summary) {
+    Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
+
+    final CompiledRuleSet rules = this.rules;
+    final int index = rules.indicatorIndex(id);
+    if (index < 0) {
+      throw new IllegalArgumentException("Rule set " + rules.version + " has no indicator " + id);
+    }
+    final long start = System.nanoTime();
+    final IndicatorScoreDTO indicator = indicator(rules, index, summary, Instant.now());
+    singleIndicatorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return indicator;
+  }
+
+  private Timer timer(String name, String scope) {
+    return Timer.builder(name).tag("scope", scope).register(meterRegistry);
+  }
+
+  private static IndicatorScoreDTO find(List<IndicatorScoreDTO> indicators, String id) {
+    if (indicators == null) return null;
+    for (IndicatorScoreDTO indicator : indicators) {
+      if (indicator.id().equals(id)) return indicator;
+    }
+    return null;
+  }
+
+  private static IndicatorScoreDTO indicator(
+      CompiledRuleSet rules, int index, HealthScoreSummaryDTO summary, Instant now) {
+    final int maxScore = rules.indicatorMaxScore[index];
+    int total = 0;
+    for (int factor : rules.indicatorFactors[index]) {
+      total += ScoreFactor.all()[factor].read(summary);
+    }
+    total = Math.max(0, Math.min(maxScore, total));
+
+    return new IndicatorScoreDTO(
+        rules.indicatorIds[index],
+        rules.indicatorTitles[index],
+        rules.indicatorPrimary[index],
+        rules.indicatorOrder[index],
+        maxScore - total,
+        maxScore,
+        rules.indicatorRanges.get(index),
+        now);
+  }
+
+  /**
+   * Computes a 64-bit fingerprint of the inputs that affect scoring.
+   *
+   * <p>The inputs are normalized before hashing: fields that no rule reads (user UUID, sex,
+   * free-text "other" conditions, etc.) are ignored and the birth date is replaced by its age band,
+   * so the fingerprint only changes when the resulting scores may change. It is the same for every
+   * user with the same answers and rolls over when a birthday moves the user into a new band or
+   * when a new rule set version is activated.
+   *
+   * @param profileDTO profile inputs; must not be {@code null}
+   * @param healthDTO questionnaire answers; must not be {@code null}
+   * @return the fingerprint of the normalized inputs
+   * @throws IllegalArgumentException if the birth date is missing or in the future
+   */
+  public long fingerprint(ProfileDTO profileDTO, HealthDTO healthDTO) {
+    Objects.requireNonNull(profileDTO, "profileDTO must not be null");
+    Objects.requireNonNull(healthDTO, "healthDTO must not be null");
+
+    final CompiledRuleSet rules = this.rules;
+    final PersonalFamilyHistoryDTO history = healthDTO.personalFamilyHistory();
+    return Fingerprint.start()
+        .add(rules.version)
+        .add(ageScore(rules, profileDTO.birthDate(), LocalDate.now()))
+        .add(profileDTO.weight())
+        .add(profileDTO.height())
+        .add(healthDTO.smokes())
+        .add(healthDTO.alcoholConsumption())
+        .add(healthDTO.physicalActivityLevel())
+        .add(healthDTO.dietQuality())
+        .add(healthDTO.healthFeeling())
+        .add(healthDTO.averageSleepWindow())
+        .add(healthDTO.sleepDifficulty())
+        .add(healthDTO.nightAwakeningFrequency())
+        .add(healthDTO.wakeUpMood())
+        .add(healthDTO.anxietyShortnessBreath())
+        .add(healthDTO.stressLevel())
+        .add(healthDTO.sadnessLevel())
+        .add(history == null ? null : history.chronicConditions())
+        .add(history == null ? null : history.parentalConditions())
+        .add(healthDTO.diabetesSymptomLevel())
+        .add(healthDTO.headacheDizzinessLevel())
+        .add(healthDTO.preventiveExamFrequency())
+        .value();
+  }
+
+  private static int lookup(CompiledRuleSet rules, ScoreFactor factor, String answer) {
+    if (answer == null) return 0;
+
+    final Integer ordinal = rules.vocabulary.get(answer);
+    final byte points =
+        ordinal == null
+            ? CompiledRuleSet.NO_SCORE
+            : rules.answerTable[factor.ordinal() * rules.vocabularySize + ordinal];
+    if (points == CompiledRuleSet.NO_SCORE) {
+      throw new IllegalStateException("Unexpected value: " + answer);
+    }
+    return points;
+  }
+
+  /**
+   * Returns the first day on which the age factor of a user born on {@code birthDate} changes.
+   *
+   * <p>Anything derived from the age factor (summaries, indicators, cached results) stays valid
+   * until the returned date.
+   *
+   * @param birthDate the user's birth date; must not be {@code null} or in the future
+   * @param today the reference date
+   * @return the date of the next age band change, or {@code null} if the user is already in the
+   *     last band
+   * @throws IllegalArgumentException if the birth date is missing or in the future
+   */
+  public LocalDate nextAgeBandChange(LocalDate birthDate, LocalDate today) {
+    final int age = age(birthDate, today);
+    for (int bound : rules.ageBounds) {
+      if (age < bound) return birthDate.plusYears(bound);
+    }
+    return null;
+  }
+
+  private static int ageScore(CompiledRuleSet rules, LocalDate birthDate, LocalDate today) {
+    final int age = age(birthDate, today);
+    int band = 0;
+    while (band < rules.ageBounds.length && age >= rules.ageBounds[band]) band++;
+    return rules.ageScores[band];
+  }
+
+  private static int age(LocalDate birthDate, LocalDate today) {
+    if (birthDate == null) {
+      throw new IllegalArgumentException("Birth date must not be null in profileDTO");
+    }
+    if (birthDate.isAfter(today)) {
+      throw new IllegalArgumentException("Birth date cannot be in the future");
+    }
+
+    int age = today.getYear() - birthDate.getYear();
+    if (today.getMonthValue() < birthDate.getMonthValue()
+        || (today.getMonthValue() == birthDate.getMonthValue()
+            && today.getDayOfMonth() < birthDate.getDayOfMonth())) {
+      age--;
+    }
+    return age;
+  }
+
+  private static int bmiScore(CompiledRuleSet rules, Double weight, Double height) {
+    if (weight == null || height == null) {
+      throw new IllegalArgumentException("Weight and height must not be null in profileDTO");
+    }
+    if (!(weight > 0.0) || !(height > 0.0)) {
+      throw new IllegalArgumentException("Weight and height must be positive");
+    }
+
+    final double bmi = weight / (height * height);
+    int band = 0;
+    while (band < rules.bmiBounds.length && bmi >= rules.bmiBounds[band]) band++;
+    return rules.bmiScores[band];
+  }
+
+  private static int chronicConditionScore(
+      CompiledRuleSet rules, PersonalFamilyHistoryDTO history) {
+    final List<String> conditions = history == null ? null : history.chronicConditions();
+    if (conditions == null || conditions.isEmpty()) return 0;
+
+    final boolean hasNone = conditions.contains(NONE);
+    if (hasNone && conditions.size() > 1) {
+      throw new InvalidChronicConditionSelectionException(
+          "'NONE' must not be selected with other conditions");
+    }
+    return hasNone ? 0 : conditions.size() * rules.chronicConditionPoints;
+  }
+
+  private static int parentalConditionScore(
+      CompiledRuleSet rules, PersonalFamilyHistoryDTO history) {
+    final List<String> conditions = history == null ? null : history.parentalConditions();
+    if (conditions == null || conditions.isEmpty()) return 0;
+
+    final boolean hasNone = conditions.contains(NONE);
+    if (hasNone && conditions.size() > 1) {
+      throw new InvalidParentalConditionSelectionException(
+          "'NONE' must not be selected with other conditions");
+    }
+    return hasNone ? 0 : conditions.size() * rules.parentalConditionPoints;
+  }
+}
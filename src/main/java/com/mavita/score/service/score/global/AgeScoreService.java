@@ -2,10 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
-import java.time.LocalDate;
-import java.time.Period;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -30,8 +31,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class AgeScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -40,25 +44,7 @@ public class AgeScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final LocalDate birthDate = profileDTO.birthDate();
-    if (birthDate == null) {
-      throw new IllegalArgumentException("Birth date must not be null in profileDTO");
-    }
-    if (birthDate.isAfter(LocalDate.now())) {
-      throw new IllegalArgumentException("Birth date cannot be in the future");
-    }
-
-    final int age = Period.between(birthDate, LocalDate.now()).getYears();
-    final int score = toAgeScore(age);
-
+    final int score = scoringEngine.score(ScoreFactor.AGE, profileDTO, healthDTO);
     healthScoreSummaryDTO.setAgeScore(score);
   }
-
-  private int toAgeScore(int age) {
-    if (age < 30) return 0;
-    if (age < 40) return 1;
-    if (age < 50) return 2;
-    if (age < 60) return 3;
-    return 4;
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -27,8 +30,11 @@ import org.springframework.stereotype.Service;
  * </ul>
  */
 @Service
+@RequiredArgsConstructor
 public class AlcoholConsumptionScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -37,19 +43,7 @@ public class AlcoholConsumptionScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toAlcoholScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.ALCOHOL_CONSUMPTION, profileDTO, healthDTO);
     healthScoreSummaryDTO.setAlcoholConsumptionScore(score);
   }
-
-  private int toAlcoholScore(HealthDTO healthDTO) {
-    final String ac = healthDTO.alcoholConsumption();
-    if (ac == null) return 0;
-
-    return switch (ac) {
-      case "NONE" -> 0;
-      case "WEEKENDS" -> 2;
-      case "DAILY" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + ac);
-    };
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -29,8 +32,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class AnxietyShortnessBreathScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -39,19 +45,8 @@ public class AnxietyShortnessBreathScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    int score = toAnxietyShortnessBreathScore(healthDTO);
+    final int score =
+        scoringEngine.score(ScoreFactor.ANXIETY_SHORTNESS_BREATH, profileDTO, healthDTO);
     healthScoreSummaryDTO.setAnxietyShortnessBreathScore(score);
   }
-
-  private int toAnxietyShortnessBreathScore(HealthDTO healthDTO) {
-    var value = healthDTO.anxietyShortnessBreath();
-    if (value == null) return 0;
-
-    return switch (value) {
-      case "YES" -> 4;
-      case "SOMETIMES" -> 2;
-      case "RARELY" -> 0;
-      default -> throw new IllegalStateException("Unexpected value: " + value);
-    };
-  }
 }
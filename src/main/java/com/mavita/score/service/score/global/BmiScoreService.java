@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,40 +26,20 @@ import org.springframework.stereotype.Service;
  * performs no I/O or persistence, and mutates the provided {@link HealthScoreSummaryDTO} in place.
  */
 @Service
+@RequiredArgsConstructor
 public class BmiScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
 
     Objects.requireNonNull(profileDTO, "profileDTO must not be null");
-    Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
+    Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final Double weight = profileDTO.weight();
-    final Double height = profileDTO.height();
-
-    if (weight == null || height == null) {
-      throw new IllegalArgumentException("Weight and height must not be null in profileDTO");
-    }
-    if (!(weight > 0.0) || !(height > 0.0)) {
-      throw new IllegalArgumentException("Weight and height must be positive");
-    }
-
-    final double bmi = calculateBmi(weight, height);
-    final int score = mapBmiToScore(bmi);
-
+    final int score = scoringEngine.score(ScoreFactor.BMI, profileDTO, healthDTO);
     healthScoreSummaryDTO.setBmiScore(score);
   }
-
-  private double calculateBmi(double weightKg, double heightM) {
-    return weightKg / (heightM * heightM);
-  }
-
-  private int mapBmiToScore(double bmi) {
-    if (bmi < 18.5) return 2;
-    if (bmi < 25.0) return 0;
-    if (bmi < 30.0) return 2;
-    return 4;
-  }
 }
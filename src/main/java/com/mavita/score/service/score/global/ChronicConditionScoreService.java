@@ -3,9 +3,11 @@ package com.mavita.score.service.score.global;
 import com.mavita.score.exception.InvalidChronicConditionSelectionException;
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
-import java.util.List;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -28,8 +30,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class ChronicConditionScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -38,23 +43,7 @@ public class ChronicConditionScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final List<String> conditions = healthDTO.personalFamilyHistory().chronicConditions();
-
-    final int score = toChronicConditionScore(conditions);
+    final int score = scoringEngine.score(ScoreFactor.CHRONIC_CONDITION, profileDTO, healthDTO);
     healthScoreSummaryDTO.setChronicConditionScore(score);
   }
-
-  private int toChronicConditionScore(List<String> conditions) {
-    if (conditions == null || conditions.isEmpty()) {
-      return 0;
-    }
-
-    final boolean hasNone = conditions.contains("NONE");
-    if (hasNone && conditions.size() > 1) {
-      throw new InvalidChronicConditionSelectionException(
-          "'NONE' must not be selected with other conditions");
-    }
-
-    return hasNone ? 0 : conditions.size() * 5;
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -22,8 +25,11 @@ import org.springframework.stereotype.Service;
  * {@link HealthScoreSummaryDTO#setDiabetesSymptomLevelScore(int)}.
  */
 @Service
+@RequiredArgsConstructor
 public class DiabetesSymptomScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -32,19 +38,8 @@ public class DiabetesSymptomScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toDiabetesSymptomScore(healthDTO);
+    final int score =
+        scoringEngine.score(ScoreFactor.DIABETES_SYMPTOM_LEVEL, profileDTO, healthDTO);
     healthScoreSummaryDTO.setDiabetesSymptomLevelScore(score);
   }
-
-  private int toDiabetesSymptomScore(HealthDTO healthDTO) {
-    final String value = healthDTO.diabetesSymptomLevel();
-    if (value == null) return 0;
-
-    return switch (value) {
-      case "NO" -> 0;
-      case "SOMETIMES" -> 2;
-      case "YES" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + value);
-    };
-  }
 }
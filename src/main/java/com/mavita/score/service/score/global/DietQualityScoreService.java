@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -21,8 +24,11 @@ import org.springframework.stereotype.Service;
  * {@link HealthScoreSummaryDTO#setDietScore(int)}.
  */
 @Service
+@RequiredArgsConstructor
 public class DietQualityScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -31,19 +37,7 @@ public class DietQualityScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toDietScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.DIET, profileDTO, healthDTO);
     healthScoreSummaryDTO.setDietScore(score);
   }
-
-  private int toDietScore(HealthDTO healthDTO) {
-    final var dq = healthDTO.dietQuality();
-    if (dq == null) return 0;
-
-    return switch (dq) {
-      case "HEALTHY" -> 0;
-      case "AVERAGE" -> 2;
-      case "UNHEALTHY" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + dq);
-    };
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,8 +27,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class HeadacheDizzinessScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -34,19 +40,8 @@ public class HeadacheDizzinessScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toHeadacheDizzinessScore(healthDTO);
+    final int score =
+        scoringEngine.score(ScoreFactor.HEADACHE_DIZZINESS_LEVEL, profileDTO, healthDTO);
     healthScoreSummaryDTO.setHeadacheDizzinessLevelScore(score);
   }
-
-  private int toHeadacheDizzinessScore(HealthDTO healthDTO) {
-    final var level = healthDTO.headacheDizzinessLevel();
-    if (level == null) return 0;
-
-    return switch (level) {
-      case "NO" -> 0;
-      case "SOMETIMES" -> 2;
-      case "YES" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + level);
-    };
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -25,8 +28,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class HealthFeelingScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -35,19 +41,7 @@ public class HealthFeelingScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    int score = toHealthFeelingScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.HEALTH_FEELING, profileDTO, healthDTO);
     healthScoreSummaryDTO.setHealthFeelingScore(score);
   }
-
-  private int toHealthFeelingScore(HealthDTO healthDTO) {
-    var value = healthDTO.healthFeeling();
-    if (value == null) return 0;
-
-    return switch (value) {
-      case "YES" -> 0;
-      case "SOMETIMES" -> 2;
-      case "RARELY" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + value);
-    };
-  }
 }
@@ -3,9 +3,11 @@ package com.mavita.score.service.score.global;
 import com.mavita.score.exception.InvalidParentalConditionSelectionException;
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
-import java.util.List;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -29,8 +31,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class ParentalConditionScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -39,23 +44,7 @@ public class ParentalConditionScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final List<String> conditions = healthDTO.personalFamilyHistory().parentalConditions();
-    final int score = toParentalConditionScore(conditions);
-
+    final int score = scoringEngine.score(ScoreFactor.PARENTAL_CONDITIONS, profileDTO, healthDTO);
     healthScoreSummaryDTO.setParentalConditionsScore(score);
   }
-
-  private int toParentalConditionScore(List<String> conditions) {
-    if (conditions == null || conditions.isEmpty()) {
-      return 0;
-    }
-
-    final boolean hasNone = conditions.contains("NONE");
-    if (hasNone && conditions.size() > 1) {
-      throw new InvalidParentalConditionSelectionException(
-          "'NONE' must not be selected with other conditions");
-    }
-
-    return hasNone ? 0 : conditions.size() * 5;
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,8 +27,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class PhysicalActivityScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -34,19 +40,7 @@ public class PhysicalActivityScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toPhysicalActivityScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.PHYSICAL_ACTIVITY, profileDTO, healthDTO);
     healthScoreSummaryDTO.setPhysicalActivityScore(score);
   }
-
-  private int toPhysicalActivityScore(HealthDTO healthDTO) {
-    final var level = healthDTO.physicalActivityLevel();
-    if (level == null) return 0;
-
-    return switch (level) {
-      case "ALWAYS" -> 0;
-      case "OFTEN" -> 2;
-      case "RARELY" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + level);
-    };
-  }
 }
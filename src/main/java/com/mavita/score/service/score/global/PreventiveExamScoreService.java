@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -25,8 +28,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class PreventiveExamScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -35,19 +41,8 @@ public class PreventiveExamScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toPreventiveExamScore(healthDTO);
+    final int score =
+        scoringEngine.score(ScoreFactor.PREVENTIVE_EXAM_FREQUENCY, profileDTO, healthDTO);
     healthScoreSummaryDTO.setPreventiveExamFrequencyScore(score);
   }
-
-  private int toPreventiveExamScore(HealthDTO healthDTO) {
-    final var freq = healthDTO.preventiveExamFrequency();
-    if (freq == null) return 0;
-
-    return switch (freq) {
-      case "YES" -> 0;
-      case "SOMETIMES" -> 2;
-      case "NO" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + freq);
-    };
-  }
 }
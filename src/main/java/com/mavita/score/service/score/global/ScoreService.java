@@ -2,6 +2,7 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 
 /**
@@ -10,6 +11,11 @@ import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
  * <p>Implementations of this service are responsible for analyzing health data and updating the
  * provided score summary object with the results of each evaluation.
  *
+ * <p>The built-in implementations delegate to the tables compiled by {@link ScoringEngine}; the
+ * request path calls {@link ScoringEngine#evaluate} directly to fill the whole summary in one pass.
+ * The points documented on each implementation are the defaults shipped in {@code
+ * rules/score-rules.yml}; the active rule set may differ.
+ *
  * @author Leandro Marques
  * @since 1.0.0
  */
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -25,8 +28,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class SleepHoursScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -35,18 +41,7 @@ public class SleepHoursScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toSleepWindowScore(healthDTO.averageSleepWindow());
+    final int score = scoringEngine.score(ScoreFactor.SLEEP_HOURS, profileDTO, healthDTO);
     healthScoreSummaryDTO.setSleepHoursScore(score);
   }
-
-  private int toSleepWindowScore(String window) {
-    if (window == null) return 0;
-
-    return switch (window) {
-      case "BETWEEN_SEVEN_AND_EIGHT" -> 0;
-      case "BETWEEN_SIX_AND_SEVEN", "MORE_THAN_EIGHT" -> 2;
-      case "LESS_THAN_SIX" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + window);
-    };
-  }
 }
@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,8 +26,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class StressLevelScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -33,19 +39,7 @@ public class StressLevelScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toStressLevelScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.STRESS_LEVEL, profileDTO, healthDTO);
     healthScoreSummaryDTO.setStressLevelScore(score);
   }
-
-  private int toStressLevelScore(HealthDTO healthDTO) {
-    final var level = healthDTO.stressLevel();
-    if (level == null) return 0;
-
-    return switch (level) {
-      case "RARELY" -> 0;
-      case "SOMETIMES" -> 2;
-      case "YES" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + level);
-    };
-  }
 }
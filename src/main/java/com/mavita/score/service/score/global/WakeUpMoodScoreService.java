@@ -2,8 +2,11 @@ package com.mavita.score.service.score.global;
 
 import com.mavita.score.service.health.dto.HealthDTO;
 import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
@@ -24,8 +27,11 @@ import org.springframework.stereotype.Service;
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class WakeUpMoodScoreService implements ScoreService {
 
+  private final ScoringEngine scoringEngine;
+
   @Override
   public void calculateScore(
       ProfileDTO profileDTO, HealthDTO healthDTO, HealthScoreSummaryDTO healthScoreSummaryDTO) {
@@ -34,19 +40,7 @@ public class WakeUpMoodScoreService implements ScoreService {
     Objects.requireNonNull(healthDTO, "healthDTO must not be null");
     Objects.requireNonNull(healthScoreSummaryDTO, "healthScoreSummaryDTO must not be null");
 
-    final int score = toWakeUpMoodScore(healthDTO);
+    final int score = scoringEngine.score(ScoreFactor.WAKE_UP_MOOD, profileDTO, healthDTO);
     healthScoreSummaryDTO.setWakeUpMoodScore(score);
   }
-
-  private int toWakeUpMoodScore(HealthDTO healthDTO) {
-    final var mood = healthDTO.wakeUpMood();
-    if (mood == null) return 0;
-
-    return switch (mood) {
-      case "NO" -> 0;
-      case "SOMETIMES" -> 2;
-      case "FREQUENTLY" -> 4;
-      default -> throw new IllegalStateException("Unexpected value: " + mood);
-    };
-  }
 }
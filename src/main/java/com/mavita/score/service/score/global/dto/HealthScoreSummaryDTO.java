@@ -1,9 +1,7 @@
 package com.mavita.score.service.score.global.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.Objects;
 
 /**
  * Data Transfer Object representing the breakdown of individual scores that contribute to the
@@ -42,32 +40,285 @@ import lombok.Setter;
  *       checkups
  * </ul>
  *
+ * <p><b>Representation:</b> the scores are not stored as 19 {@code int} fields but packed into two
+ * {@code long} words, one {@value #LANE_BITS}-bit lane per score in the order listed above (which
+ * is also the order of {@code ScoreFactor}): lanes 0-9 in {@link #packedLow()}, lanes 10-18 in
+ * {@link #packedHigh()}. The getters and setters are views over the packed words and allocate
+ * nothing, so an instance costs two words instead of 19 and it can be stored as 16 bytes in MongoDB
+ * (see {@code MongoConfig}) while still serializing to the same JSON. Scores above {@link
+ * #MAX_POINTS} are stored as {@link #MAX_POINTS}; rule sets cap indicators at that value, so no
+ * indicator is affected.
+ *
  * @author Leandro Marques
  * @since 1.0.0
  */
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
+@JsonPropertyOrder({
+  "ageScore",
+  "bmiScore",
+  "smokingScore",
+  "alcoholConsumptionScore",
+  "physicalActivityScore",
+  "dietScore",
+  "healthFeelingScore",
+  "sleepHoursScore",
+  "sleepDifficultyScore",
+  "nightAwakeningFrequencyScore",
+  "wakeUpMoodScore",
+  "anxietyShortnessBreathScore",
+  "stressLevelScore",
+  "sadnessLevelScore",
+  "chronicConditionScore",
+  "parentalConditionsScore",
+  "diabetesSymptomLevelScore",
+  "headacheDizzinessLevelScore",
+  "preventiveExamFrequencyScore"
+})
 public class HealthScoreSummaryDTO {
 
-  private int ageScore;
-  private int bmiScore;
-  private int smokingScore;
-  private int alcoholConsumptionScore;
-  private int physicalActivityScore;
-  private int dietScore;
-  private int healthFeelingScore;
-  private int sleepHoursScore;
-  private int sleepDifficultyScore;
-  private int nightAwakeningFrequencyScore;
-  private int wakeUpMoodScore;
-  private int anxietyShortnessBreathScore;
-  private int stressLevelScore;
-  private int sadnessLevelScore;
-  private int chronicConditionScore;
-  private int parentalConditionsScore;
-  private int diabetesSymptomLevelScore;
-  private int headacheDizzinessLevelScore;
-  private int preventiveExamFrequencyScore;
+  /** Width of a score lane. */
+  public static final int LANE_BITS = 6;
+
+  /** Largest score a lane holds. */
+  public static final int MAX_POINTS = (1 << LANE_BITS) - 1;
+
+  /** Number of lanes, one per score. */
+  public static final int LANES = 19;
+
+  private static final int LANES_PER_WORD = Long.SIZE / LANE_BITS;
+
+  private long low;
+  private long high;
+
+  public HealthScoreSummaryDTO() {}
+
+  private HealthScoreSummaryDTO(long low, long high) {
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Rebuilds a summary from its packed words.
+   *
+   * @param low the value of {@link #packedLow()}
+   * @param high the value of {@link #packedHigh()}
+   * @return the summary
+   */
+  public static HealthScoreSummaryDTO fromPacked(long low, long high) {
+    return new HealthScoreSummaryDTO(low, high);
+  }
+
+  /**
+   * Returns the first packed word (lanes 0-9).
+   *
+   * @return the packed word
+   */
+  public long packedLow() {
+    return low;
+  }
+
+  /**
+   * Returns the second packed word (lanes 10-18).
+   *
+   * @return the packed word
+   */
+  public long packedHigh() {
+    return high;
+  }
+
+  /**
+   * Reads one lane.
+   *
+   * @param lane the lane index, in {@code [0, LANES)}
+   * @return the score stored in the lane
+   */
+  public int points(int lane) {
+    Objects.checkIndex(lane, LANES);
+    final long word = lane < LANES_PER_WORD ? low : high;
+    return (int) (word >>> shift(lane)) & MAX_POINTS;
+  }
+
+  /**
+   * Writes one lane.
+   *
+   * @param lane the lane index, in {@code [0, LANES)}
+   * @param points the score; negative values are stored as 0 and values above {@link #MAX_POINTS}
+   *     as {@link #MAX_POINTS}
+   */
+  public void setPoints(int lane, int points) {
+    Objects.checkIndex(lane, LANES);
+    final long value = Math.max(0, Math.min(MAX_POINTS, points));
+    final int shift = shift(lane);
+    final long mask = (long) MAX_POINTS << shift;
+    if (lane < LANES_PER_WORD) {
+      low = (low & ~mask) | (value << shift);
+    } else {
+      high = (high & ~mask) | (value << shift);
+    }
+  }
+
+  private static int shift(int lane) {
+    return (lane % LANES_PER_WORD) * LANE_BITS;
+  }
+
+  public int getAgeScore() {
+    return points(0);
+  }
+
+  public void setAgeScore(int ageScore) {
+    setPoints(0, ageScore);
+  }
+
+  public int getBmiScore() {
+    return points(1);
+  }
+
+  public void setBmiScore(int bmiScore) {
+    setPoints(1, bmiScore);
+  }
+
+  public int getSmokingScore() {
+    return points(2);
+  }
+
+  public void setSmokingScore(int smokingScore) {
+    setPoints(2, smokingScore);
+  }
+
+  public int getAlcoholConsumptionScore() {
+    return points(3);
+  }
+
+  public void setAlcoholConsumptionScore(int alcoholConsumptionScore) {
+    setPoints(3, alcoholConsumptionScore);
+  }
+
+  public int getPhysicalActivityScore() {
+    return points(4);
+  }
+
+  public void setPhysicalActivityScore(int physicalActivityScore) {
+    setPoints(4, physicalActivityScore);
+  }
+
+  public int getDietScore() {
+    return points(5);
+  }
+
+  public void setDietScore(int dietScore) {
+    setPoints(5, dietScore);
+  }
+
+  public int getHealthFeelingScore() {
+    return points(6);
+  }
+
+  public void setHealthFeelingScore(int healthFeelingScore) {
+    setPoints(6, healthFeelingScore);
+  }
+
+  public int getSleepHoursScore() {
+    return points(7);
+  }
+
+  public void setSleepHoursScore(int sleepHoursScore) {
+    setPoints(7, sleepHoursScore);
+  }
+
+  public int getSleepDifficultyScore() {
+    return points(8);
+  }
+
+  public void setSleepDifficultyScore(int sleepDifficultyScore) {
+    setPoints(8, sleepDifficultyScore);
+  }
+
+  public int getNightAwakeningFrequencyScore() {
+    return points(9);
+  }
+
+  public void setNightAwakeningFrequencyScore(int nightAwakeningFrequencyScore) {
+    setPoints(9, nightAwakeningFrequencyScore);
+  }
+
+  public int getWakeUpMoodScore() {
+    return points(10);
+  }
+
+  public void setWakeUpMoodScore(int wakeUpMoodScore) {
+    setPoints(10, wakeUpMoodScore);
+  }
+
+  public int getAnxietyShortnessBreathScore() {
+    return points(11);
+  }
+
+  public void setAnxietyShortnessBreathScore(int anxietyShortnessBreathScore) {
+    setPoints(11, anxietyShortnessBreathScore);
+  }
+
+  public int getStressLevelScore() {
+    return points(12);
+  }
+
+  public void setStressLevelScore(int stressLevelScore) {
+    setPoints(12, stressLevelScore);
+  }
+
+  public int getSadnessLevelScore() {
+    return points(13);
+  }
+
+  public void setSadnessLevelScore(int sadnessLevelScore) {
+    setPoints(13, sadnessLevelScore);
+  }
+
+  public int getChronicConditionScore() {
+    return points(14);
+  }
+
+  public void setChronicConditionScore(int chronicConditionScore) {
+    setPoints(14, chronicConditionScore);
+  }
+
+  public int getParentalConditionsScore() {
+    return points(15);
+  }
+
+  public void setParentalConditionsScore(int parentalConditionsScore) {
+    setPoints(15, parentalConditionsScore);
+  }
+
+  public int getDiabetesSymptomLevelScore() {
+    return points(16);
+  }
+
+  public void setDiabetesSymptomLevelScore(int diabetesSymptomLevelScore) {
+    setPoints(16, diabetesSymptomLevelScore);
+  }
+
+  public int getHeadacheDizzinessLevelScore() {
+    return points(17);
+  }
+
+  public void setHeadacheDizzinessLevelScore(int headacheDizzinessLevelScore) {
+    setPoints(17, headacheDizzinessLevelScore);
+  }
+
+  public int getPreventiveExamFrequencyScore() {
+    return points(18);
+  }
+
+  public void setPreventiveExamFrequencyScore(int preventiveExamFrequencyScore) {
+    setPoints(18, preventiveExamFrequencyScore);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof HealthScoreSummaryDTO other && low == other.low && high == other.high;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(low) * 31 + Long.hashCode(high);
+  }
 }
@@ -0,0 +1,15 @@
+package com.mavita.score.service.score.global.dto;
+
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+
+/**
+ * The persisted documents a user's scores are computed from.
+ *
+ * @param profile the user's profile
+ * @param health the user's health questionnaire; {@code null} when it was not needed and therefore
+ *     not loaded (see {@code HealthScoreService#findInputs(String, long)})
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record ScoreInputsDTO(ProfileDTO profile, HealthDTO health) {}
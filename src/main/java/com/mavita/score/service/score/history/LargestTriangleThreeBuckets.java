@@ -0,0 +1,70 @@
+package com.mavita.score.service.score.history;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013).
+ *
+ * <p>Keeps the first and last points and, for every bucket in between, the point that forms the
+ * largest triangle with the previously selected point and the average of the next bucket. Unlike
+ * plain averaging or striding it preserves the visual peaks and valleys of the series.
+ */
+final class LargestTriangleThreeBuckets {
+
+  private LargestTriangleThreeBuckets() {}
+
+  /**
+   * Selects at most {@code threshold} points of a series.
+   *
+   * @param x the x coordinates, in ascending order
+   * @param y the y coordinates
+   * @param size number of points in use in {@code x} and {@code y}
+   * @param threshold maximum number of points to keep
+   * @return the indices of the selected points, in ascending order
+   */
+  static int[] downsample(long[] x, int[] y, int size, int threshold) {
+    if (threshold >= size || threshold < 3) {
+      int kept = Math.min(size, Math.max(threshold, 0));
+      int[] indices = new int[kept];
+      for (int i = 0; i < kept; i++) {
+        indices[i] = kept == size || i == 0 ? i : size - kept + i;
+      }
+      return indices;
+    }
+
+    int[] selected = new int[threshold];
+    double every = (double) (size - 2) / (threshold - 2);
+    int a = 0;
+    selected[0] = 0;
+
+    for (int i = 0; i < threshold - 2; i++) {
+      int avgStart = (int) Math.floor((i + 1) * every) + 1;
+      int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, size);
+      double avgX = 0;
+      double avgY = 0;
+      for (int j = avgStart; j < avgEnd; j++) {
+        avgX += x[j];
+        avgY += y[j];
+      }
+      int avgLength = Math.max(avgEnd - avgStart, 1);
+      avgX /= avgLength;
+      avgY /= avgLength;
+
+      int rangeStart = (int) Math.floor(i * every) + 1;
+      int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+      double maxArea = -1;
+      int next = rangeStart;
+      for (int j = rangeStart; j < rangeEnd; j++) {
+        double area =
+            Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a])) * 0.5;
+        if (area > maxArea) {
+          maxArea = area;
+          next = j;
+        }
+      }
+      selected[i + 1] = next;
+      a = next;
+    }
+
+    selected[threshold - 1] = size - 1;
+    return selected;
+  }
+}
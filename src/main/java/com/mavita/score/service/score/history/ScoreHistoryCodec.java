@@ -0,0 +1,76 @@
+package com.mavita.score.service.score.history;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Delta encoding of history entries.
+ *
+ * <p>An entry is the number of seconds elapsed since the previous entry followed by the difference
+ * of every lane against the previous vector. Both are written as LEB128 varints, lane deltas after
+ * a zig-zag transform, so unchanged lanes cost one byte and a typical entry fits in ~30 bytes.
+ */
+final class ScoreHistoryCodec {
+
+  private ScoreHistoryCodec() {}
+
+  /**
+   * Encodes an entry.
+   *
+   * @param elapsedSeconds seconds since the previous entry (or the start of the bucket)
+   * @param previous the previous absolute vector (all zeros for the first entry)
+   * @param current the new absolute vector, same length as {@code previous}
+   * @return the encoded entry
+   */
+  static byte[] encode(long elapsedSeconds, int[] previous, int[] current) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(8 + current.length);
+    writeVarint(out, Math.max(0L, elapsedSeconds));
+    for (int i = 0; i < current.length; i++) {
+      writeVarint(out, zigZag(current[i] - previous[i]));
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes an entry in place.
+   *
+   * @param entry the encoded entry
+   * @param vector the previous absolute vector, overwritten with the decoded one
+   * @return the seconds elapsed since the previous entry
+   */
+  static long decode(byte[] entry, int[] vector) {
+    int[] position = {0};
+    long elapsedSeconds = readVarint(entry, position);
+    for (int i = 0; i < vector.length && position[0] < entry.length; i++) {
+      vector[i] += unZigZag(readVarint(entry, position));
+    }
+    return elapsedSeconds;
+  }
+
+  private static long zigZag(int value) {
+    return ((value << 1) ^ (value >> 31)) & 0xffffffffL;
+  }
+
+  private static int unZigZag(long value) {
+    return (int) (value >>> 1) ^ -(int) (value & 1);
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7fL) != 0) {
+      out.write((int) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarint(byte[] in, int[] position) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in[position[0]++];
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
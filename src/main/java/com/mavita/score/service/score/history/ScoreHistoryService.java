@@ -0,0 +1,182 @@
+package com.mavita.score.service.score.history;
+
+import com.mavita.score.domain.score.ScoreHistoryBucket;
+import com.mavita.score.repository.score.ScoreHistoryRepository;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.history.dto.ScoreHistoryDTO;
+import com.mavita.score.service.score.history.dto.ScoreHistoryPointDTO;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Application service that appends to and reads the users' score history.
+ *
+ * <p>History is stored with the bucket pattern (see {@link ScoreHistoryBucket}): one document per
+ * user per month holding delta-encoded score vectors. A vector is made of one lane per {@link
+ * ScoreFactor} followed by one lane per indicator of the bucket.
+ *
+ * <p>Reads decode only the buckets overlapping the requested range and downsample the series
+ * server-side with {@link LargestTriangleThreeBuckets}, so a chart costs one small indexed read
+ * however long the user has been using the app.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoreHistoryService {
+
+  private static final int FACTOR_LANES = ScoreFactor.values().length;
+  private static final int MAX_APPEND_ATTEMPTS = 3;
+
+  private final ScoreHistoryRepository historyRepository;
+
+  /**
+   * Appends a computed summary and its indicators to the user's history.
+   *
+   * <p>Nothing is appended when the scores are identical to the latest entry of the month. If the
+   * bucket was created without some of the current indicators, those indicators are not recorded
+   * until the next month's bucket.
+   *
+   * @param userUuid the user's UUID
+   * @param summary the computed component scores
+   * @param indicators the computed indicators
+   * @param at when the scores were computed
+   */
+  public void append(
+      UUID userUuid,
+      HealthScoreSummaryDTO summary,
+      List<IndicatorScoreDTO> indicators,
+      Instant at) {
+    final YearMonth month = YearMonth.from(at.atZone(ZoneOffset.UTC));
+
+    for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+      Optional<ScoreHistoryBucket> existing =
+          historyRepository.findByUserUuidAndMonth(userUuid, month.toString());
+
+      if (existing.isEmpty()) {
+        List<String> indicatorIds = indicators.stream().map(IndicatorScoreDTO::id).toList();
+        int[] vector = toVector(summary, indicators, indicatorIds, null);
+        Instant start = month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        byte[] entry =
+            ScoreHistoryCodec.encode(seconds(start, at), new int[vector.length], vector);
+        try {
+          historyRepository.insert(
+              new ScoreHistoryBucket(
+                  null,
+                  userUuid,
+                  month.toString(),
+                  indicatorIds,
+                  1,
+                  at,
+                  vector,
+                  new ArrayList<>(List.of(entry))));
+          return;
+        } catch (DuplicateKeyException ex) {
+          continue;
+        }
+      }
+
+      ScoreHistoryBucket bucket = existing.get();
+      int[] vector = toVector(summary, indicators, bucket.getIndicatorIds(), bucket.getLast());
+      if (Arrays.equals(vector, bucket.getLast())) {
+        return;
+      }
+      byte[] entry =
+          ScoreHistoryCodec.encode(seconds(bucket.getLastAt(), at), bucket.getLast(), vector);
+      if (historyRepository.appendEntry(bucket.getId(), bucket.getCount(), entry, vector, at)) {
+        return;
+      }
+    }
+    log.warn("Gave up appending score history of user {} after concurrent updates", userUuid);
+  }
+
+  /**
+   * Returns the history of one indicator between two dates, downsampled to at most {@code points}
+   * points.
+   *
+   * @param userUuid the user's UUID
+   * @param indicator the indicator id (e.g. {@code "sleep-health"})
+   * @param from first day of the range (inclusive, UTC)
+   * @param to last day of the range (inclusive, UTC)
+   * @param points maximum number of points to return
+   * @return the downsampled history, empty if nothing was recorded in the range
+   */
+  public ScoreHistoryDTO findHistory(
+      UUID userUuid, String indicator, LocalDate from, LocalDate to, int points) {
+    final long fromSecond = from.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    final long toSecond = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+
+    long[] xs = new long[64];
+    int[] ys = new int[64];
+    int size = 0;
+
+    for (ScoreHistoryBucket bucket :
+        historyRepository.findRange(
+            userUuid, YearMonth.from(from).toString(), YearMonth.from(to).toString())) {
+      int lane = bucket.getIndicatorIds().indexOf(indicator);
+      if (lane < 0) continue;
+
+      int[] vector = new int[bucket.getLast().length];
+      long second =
+          YearMonth.parse(bucket.getMonth()).atDay(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+      for (byte[] entry : bucket.getEntries()) {
+        second += ScoreHistoryCodec.decode(entry, vector);
+        if (second < fromSecond || second >= toSecond) continue;
+
+        if (size == xs.length) {
+          xs = Arrays.copyOf(xs, size * 2);
+          ys = Arrays.copyOf(ys, size * 2);
+        }
+        xs[size] = second;
+        ys[size] = vector[FACTOR_LANES + lane];
+        size++;
+      }
+    }
+
+    int[] selected = LargestTriangleThreeBuckets.downsample(xs, ys, size, points);
+    List<ScoreHistoryPointDTO> result = new ArrayList<>(selected.length);
+    for (int index : selected) {
+      result.add(new ScoreHistoryPointDTO(Instant.ofEpochSecond(xs[index]), ys[index]));
+    }
+    return new ScoreHistoryDTO(indicator, result);
+  }
+
+  private static int[] toVector(
+      HealthScoreSummaryDTO summary,
+      List<IndicatorScoreDTO> indicators,
+      List<String> indicatorIds,
+      int[] previous) {
+    int[] vector = new int[FACTOR_LANES + indicatorIds.size()];
+    for (ScoreFactor factor : ScoreFactor.values()) {
+      vector[factor.ordinal()] = factor.read(summary);
+    }
+
+    for (int lane = 0; lane < indicatorIds.size(); lane++) {
+      vector[FACTOR_LANES + lane] = previous == null ? 0 : previous[FACTOR_LANES + lane];
+    }
+    for (IndicatorScoreDTO indicator : indicators) {
+      int lane = indicatorIds.indexOf(indicator.id());
+      if (lane >= 0) vector[FACTOR_LANES + lane] = indicator.score();
+    }
+    return vector;
+  }
+
+  private static long seconds(Instant from, Instant to) {
+    return to.getEpochSecond() - from.getEpochSecond();
+  }
+}
@@ -0,0 +1,23 @@
+package com.mavita.score.service.score.history.dto;
+
+import java.util.List;
+
+/**
+ * Downsampled score history of one indicator, ready to be charted.
+ *
+ * <p>Example JSON:
+ *
+ * <pre>{@code
+ * {
+ *   "indicator": "sleep-health",
+ *   "points": [
+ *     { "at": "2025-06-02T10:15:00Z", "score": 9 },
+ *     { "at": "2025-07-14T08:01:00Z", "score": 12 }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @param indicator the indicator id (e.g. {@code "sleep-health"})
+ * @param points the points in chronological order
+ */
+public record ScoreHistoryDTO(String indicator, List<ScoreHistoryPointDTO> points) {}
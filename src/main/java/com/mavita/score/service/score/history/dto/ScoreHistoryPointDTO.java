@@ -0,0 +1,11 @@
+package com.mavita.score.service.score.history.dto;
+
+import java.time.Instant;
+
+/**
+ * A single point of an indicator's score history.
+ *
+ * @param at when the score was computed
+ * @param score the indicator score at that time
+ */
+public record ScoreHistoryPointDTO(Instant at, int score) {}
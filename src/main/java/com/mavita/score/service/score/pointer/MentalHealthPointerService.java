@@ -1,18 +1,18 @@
 package com.mavita.score.service.score.pointer;
 
+import com.mavita.score.service.score.engine.ScoringEngine;
 import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
 import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
-import java.time.Instant;
-import java.util.List;
 import java.util.Objects;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 /**
  * Builds the "Mental Health" indicator from atomic domain scores contained in {@link
  * HealthScoreSummaryDTO}.
  *
- * <p><strong>Aggregation (risk points, capped at {@value #MAX_SCORE})</strong>: anxiety/shortness
- * of breath + stress level + sadness/low motivation.
+ * <p><strong>Aggregation (risk points, capped at 12)</strong>: anxiety/shortness of breath + stress
+ * level + sadness/low motivation.
  *
  * <p><strong>Progress mapping</strong>: the gauge expects 0=bad and MAX=good, so {@code progress =
  * MAX - totalRisk}.
@@ -25,34 +25,22 @@ import org.springframework.stereotype.Service;
  *   <li>0–4: Alto risco emocional
  * </ul>
  *
+ * <p>The factors, maximum and ranges come from the {@code mental-health} entry of the active
+ * rule set ({@code rules/score-rules.yml}); the values above are the shipped defaults. This bean
+ * delegates to the {@link ScoringEngine}.
+ *
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class MentalHealthPointerService implements PointerService {
 
-  private static final int MAX_SCORE = 12;
+  private final ScoringEngine scoringEngine;
 
   @Override
   public IndicatorScoreDTO calculate(HealthScoreSummaryDTO summary) {
     Objects.requireNonNull(summary, "healthScoreSummaryDTO must not be null");
 
-    int total =
-        summary.getAnxietyShortnessBreathScore()
-            + summary.getStressLevelScore()
-            + summary.getSadnessLevelScore();
-
-    if (total < 0) total = 0;
-    if (total > MAX_SCORE) total = MAX_SCORE;
-
-    int progress = MAX_SCORE - total;
-
-    List<IndicatorScoreDTO.Range> ranges =
-        List.of(
-            new IndicatorScoreDTO.Range(9, 12, "#5CB85C", "boa saúde mental"),
-            new IndicatorScoreDTO.Range(5, 8, "#F0AD4E", "atenção moderada"),
-            new IndicatorScoreDTO.Range(0, 4, "#D9534F", "alto risco emocional"));
-
-    return new IndicatorScoreDTO(
-        "mental-health", "Saúde Mental", false, 1, progress, MAX_SCORE, ranges, Instant.now());
+    return scoringEngine.indicator("mental-health", summary);
   }
 }
@@ -0,0 +1,54 @@
+package com.mavita.score.service.score.rescore;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces a background job by the latency it observes on the database.
+ *
+ * <p>Latencies are smoothed with an exponentially weighted moving average. While the average is
+ * above the target, the pause between batches doubles (up to a maximum); once it is back under
+ * the target, the pause halves. The job therefore runs at full speed on an idle cluster and yields
+ * to the online traffic when the cluster is busy.
+ *
+ * <p>Not thread-safe: meant to be used by the single thread driving a job.
+ */
+final class LatencyThrottle {
+
+  private static final double SMOOTHING = 0.2;
+  private static final long MIN_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final long targetNanos;
+  private final long maxPauseNanos;
+
+  private double averageNanos = -1;
+  private long pauseNanos;
+
+  LatencyThrottle(Duration target, Duration maxPause) {
+    this.targetNanos = target.toNanos();
+    this.maxPauseNanos = maxPause.toNanos();
+  }
+
+  void observe(long latencyNanos) {
+    averageNanos =
+        averageNanos < 0
+            ? latencyNanos
+            : (1 - SMOOTHING) * averageNanos + SMOOTHING * latencyNanos;
+
+    if (averageNanos > targetNanos) {
+      pauseNanos = Math.min(maxPauseNanos, Math.max(MIN_PAUSE_NANOS, pauseNanos * 2));
+    } else {
+      pauseNanos = pauseNanos / 2 < MIN_PAUSE_NANOS ? 0 : pauseNanos / 2;
+    }
+  }
+
+  long pauseMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(pauseNanos);
+  }
+
+  void pause() throws InterruptedException {
+    if (pauseNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(pauseNanos);
+    }
+  }
+}
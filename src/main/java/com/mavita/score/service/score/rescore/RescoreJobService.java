@@ -0,0 +1,272 @@
+package com.mavita.score.service.score.rescore;
+
+import com.mavita.score.config.ScoreRescoreProperties;
+import com.mavita.score.domain.score.RescoreCheckpoint;
+import com.mavita.score.domain.score.ScoreSnapshot;
+import com.mavita.score.repository.score.RescoreCheckpointRepository;
+import com.mavita.score.repository.score.ScoreSnapshotRepository;
+import com.mavita.score.service.health.HealthService;
+import com.mavita.score.service.health.dto.HealthDTO;
+import com.mavita.score.service.profile.ProfileService;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.rescore.dto.RescoreStatusDTO;
+import com.mavita.score.service.score.snapshot.ScoreSnapshotService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recomputes the score snapshot of every user, e.g. after a scoring rule changed.
+ *
+ * <p>Workflow:
+ *
+ * <ol>
+ *   <li>Profiles are read through a single cursor in {@code userUuid} order, starting after the
+ *       last checkpoint when resuming.
+ *   <li>For each batch of {@link ScoreRescoreProperties#batchSize()} profiles, the stored
+ *       snapshots are read, then the profiles and the health documents, each with one {@code $in}
+ *       query, and joined by {@code userUuid}.
+ *   <li>The batch is scored on a dedicated {@link ForkJoinPool}.
+ *   <li>The snapshots are written with one unordered bulk write; snapshots of users whose answers
+ *       can no longer be scored are removed in the same write.
+ *   <li>The checkpoint is saved, then the job pauses if the bulk writes got slower than {@link
+ *       ScoreRescoreProperties#targetWriteLatency()} (see {@link LatencyThrottle}).
+ * </ol>
+ *
+ * <p>Users keep writing while the job runs. Each snapshot is only written if the stored one is
+ * still the one read before the inputs were loaded, so a snapshot refreshed or dropped by a write
+ * that landed mid-batch is never reverted to the answers the batch read; such users are counted as
+ * superseded. The profiles are reloaded for that reason, the cursor only provides the order.
+ *
+ * <p>Only one job runs across instances: the checkpoint carries a lease held by the instance
+ * running the job and renewed with every checkpoint (see {@link
+ * ScoreRescoreProperties#leaseDuration()}). A job that crashed or was cancelled is resumed from its
+ * checkpoint by the next {@link #start(boolean)}, unless a restart is requested; a crashed job can
+ * only be resumed by another instance once its lease expired.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RescoreJobService {
+
+  private final ProfileService profileService;
+  private final HealthService healthService;
+  private final ScoreSnapshotService snapshotService;
+  private final ScoreSnapshotRepository snapshotRepository;
+  private final RescoreCheckpointRepository checkpointRepository;
+  private final ScoreRescoreProperties properties;
+
+  private final String owner = UUID.randomUUID().toString();
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile boolean cancelRequested;
+
+  /**
+   * Starts the job in the background, resuming the previous one if it did not complete.
+   *
+   * @param restart whether to ignore an unfinished checkpoint and start from the first profile
+   * @return the initial status, or empty when a job is already running on this or another
+   *     instance
+   */
+  public Optional<RescoreStatusDTO> start(boolean restart) {
+    if (!running.compareAndSet(false, true)) {
+      return Optional.empty();
+    }
+
+    try {
+      final Instant now = Instant.now();
+      final RescoreCheckpoint checkpoint =
+          checkpointRepository
+              .findById(RescoreCheckpoint.JOB_ID)
+              .filter(previous -> !restart)
+              .filter(previous -> previous.getStatus() != RescoreCheckpoint.Status.COMPLETED)
+              .orElseGet(() -> newCheckpoint(now));
+      checkpoint.setStatus(RescoreCheckpoint.Status.RUNNING);
+      checkpoint.setTotal(profileService.count());
+      checkpoint.setUpdatedAt(now);
+      checkpoint.setFinishedAt(null);
+      checkpoint.setError(null);
+      checkpoint.setOwner(owner);
+      checkpoint.setLeaseExpiresAt(now.plus(properties.leaseDuration()));
+      if (!checkpointRepository.acquire(checkpoint, now)) {
+        running.set(false);
+        return Optional.empty();
+      }
+
+      cancelRequested = false;
+      Thread.ofPlatform().name("score-rescore").daemon().start(() -> run(checkpoint));
+      return Optional.of(RescoreStatusDTO.of(checkpoint));
+    } catch (RuntimeException ex) {
+      running.set(false);
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns the progress of the current or last job.
+   *
+   * @return the status, or empty when the job never ran
+   */
+  public Optional<RescoreStatusDTO> status() {
+    return checkpointRepository.findById(RescoreCheckpoint.JOB_ID).map(RescoreStatusDTO::of);
+  }
+
+  /**
+   * Asks the job running on this instance to stop after its current batch. It can be resumed
+   * later.
+   *
+   * @return whether a job was running on this instance
+   */
+  public boolean cancel() {
+    if (!running.get()) {
+      return false;
+    }
+    cancelRequested = true;
+    return true;
+  }
+
+  private void run(RescoreCheckpoint checkpoint) {
+    final ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+    final LatencyThrottle throttle =
+        new LatencyThrottle(properties.targetWriteLatency(), properties.maxPause());
+    log.info("Rescoring started after user {}", checkpoint.getLastUserUuid());
+    boolean owned = true;
+
+    try (Stream<ProfileDTO> profiles = profileService.streamAll(checkpoint.getLastUserUuid())) {
+      final Iterator<ProfileDTO> iterator = profiles.iterator();
+      final List<ProfileDTO> batch = new ArrayList<>(properties.batchSize());
+
+      while (iterator.hasNext() && !cancelRequested) {
+        batch.add(iterator.next());
+        if (batch.size() == properties.batchSize() || !iterator.hasNext()) {
+          processBatch(batch, checkpoint, pool, throttle);
+          batch.clear();
+          throttle.pause();
+        }
+      }
+      checkpoint.setStatus(
+          cancelRequested
+              ? RescoreCheckpoint.Status.CANCELLED
+              : RescoreCheckpoint.Status.COMPLETED);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      checkpoint.setStatus(RescoreCheckpoint.Status.CANCELLED);
+    } catch (LeaseLostException ex) {
+      log.warn("Rescoring taken over by another instance after user {}", ex.lastUserUuid);
+      owned = false;
+    } catch (RuntimeException ex) {
+      log.error("Rescoring failed after user {}", checkpoint.getLastUserUuid(), ex);
+      checkpoint.setStatus(RescoreCheckpoint.Status.FAILED);
+      checkpoint.setError(ex.getMessage());
+    } finally {
+      pool.shutdown();
+      if (owned) {
+        checkpoint.setFinishedAt(Instant.now());
+        checkpoint.setUpdatedAt(checkpoint.getFinishedAt());
+        checkpoint.setLeaseExpiresAt(null);
+        checkpointRepository.replaceIfOwned(checkpoint);
+      }
+      running.set(false);
+      log.info(
+          "Rescoring {} after {} profiles ({} failed, {} skipped, {} superseded)",
+          checkpoint.getStatus(),
+          checkpoint.getProcessed(),
+          checkpoint.getFailed(),
+          checkpoint.getSkipped(),
+          checkpoint.getSuperseded());
+    }
+  }
+
+  private void processBatch(
+      List<ProfileDTO> batch,
+      RescoreCheckpoint checkpoint,
+      ForkJoinPool pool,
+      LatencyThrottle throttle) {
+    final LocalDate today = LocalDate.now();
+    final List<UUID> userUuids = batch.stream().map(ProfileDTO::userUuid).toList();
+    // Read before the inputs, so a snapshot written from older inputs cannot match.
+    final Map<UUID, ScoreSnapshot> stored =
+        snapshotRepository.findByUserUuidIn(userUuids).stream()
+            .collect(Collectors.toMap(ScoreSnapshot::getUserUuid, Function.identity()));
+    final Map<UUID, ProfileDTO> profiles = profileService.findAllById(userUuids);
+    final Map<UUID, HealthDTO> healths = healthService.findAllById(userUuids);
+    final List<ScoreInputsDTO> inputs =
+        userUuids.stream()
+            .filter(userUuid -> profiles.containsKey(userUuid) && healths.containsKey(userUuid))
+            .map(userUuid -> new ScoreInputsDTO(profiles.get(userUuid), healths.get(userUuid)))
+            .toList();
+
+    final List<ScoreSnapshot> results =
+        pool.submit(() -> inputs.parallelStream().map(input -> compute(input, today)).toList())
+            .join();
+
+    final List<ScoreSnapshot> snapshots = new ArrayList<>(results.size());
+    final List<UUID> removed = new ArrayList<>();
+    for (int i = 0; i < results.size(); i++) {
+      if (results.get(i) != null) {
+        snapshots.add(results.get(i));
+      } else {
+        removed.add(inputs.get(i).profile().userUuid());
+      }
+    }
+
+    final long start = System.nanoTime();
+    final int superseded = snapshotRepository.bulkReplaceIfUnchanged(snapshots, removed, stored);
+    throttle.observe(System.nanoTime() - start);
+
+    checkpoint.setLastUserUuid(batch.getLast().userUuid());
+    checkpoint.setProcessed(checkpoint.getProcessed() + batch.size());
+    checkpoint.setFailed(checkpoint.getFailed() + removed.size());
+    checkpoint.setSkipped(checkpoint.getSkipped() + batch.size() - inputs.size());
+    checkpoint.setSuperseded(checkpoint.getSuperseded() + superseded);
+    checkpoint.setThrottleMillis(throttle.pauseMillis());
+    checkpoint.setUpdatedAt(Instant.now());
+    checkpoint.setLeaseExpiresAt(checkpoint.getUpdatedAt().plus(properties.leaseDuration()));
+    if (!checkpointRepository.replaceIfOwned(checkpoint)) {
+      throw new LeaseLostException(checkpoint.getLastUserUuid());
+    }
+  }
+
+  private ScoreSnapshot compute(ScoreInputsDTO input, LocalDate today) {
+    try {
+      return snapshotService.compute(input, today);
+    } catch (RuntimeException ex) {
+      log.debug("Could not rescore user {}", input.profile().userUuid(), ex);
+      return null;
+    }
+  }
+
+  private static RescoreCheckpoint newCheckpoint(Instant now) {
+    final RescoreCheckpoint checkpoint = new RescoreCheckpoint();
+    checkpoint.setId(RescoreCheckpoint.JOB_ID);
+    checkpoint.setStartedAt(now);
+    return checkpoint;
+  }
+
+  /** Thrown when another instance took the job over after the lease of this one expired. */
+  private static final class LeaseLostException extends RuntimeException {
+
+    private final transient UUID lastUserUuid;
+
+    LeaseLostException(UUID lastUserUuid) {
+      super("Rescore lease lost", null, false, false);
+      this.lastUserUuid = lastUserUuid;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.mavita.score.service.score.rescore.dto;
+
+import com.mavita.score.domain.score.RescoreCheckpoint;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of the rescoring job.
+ *
+ * <p>Example JSON:
+ *
+ * <pre>{@code
+ * {
+ *   "status": "RUNNING",
+ *   "total": 1000000,
+ *   "processed": 420000,
+ *   "failed": 12,
+ *   "skipped": 3051,
+ *   "superseded": 4,
+ *   "throttleMillis": 0,
+ *   "lastUserUuid": "7d0a8e8f-8c1e-4b0b-9f6a-7a1a8f1c2d3e",
+ *   "startedAt": "2025-08-14T20:30:00Z",
+ *   "updatedAt": "2025-08-14T20:34:12Z",
+ *   "finishedAt": null,
+ *   "error": null,
+ *   "owner": "3f2c9a1e-0b7d-4c55-8e0a-51c1d2b3a4f5"
+ * }
+ * }</pre>
+ *
+ * @param status the job's lifecycle status
+ * @param total number of profiles when the job started (an estimate for resumed jobs)
+ * @param processed number of profiles read so far, including failed and skipped ones
+ * @param failed profiles whose answers could not be scored; their snapshot was removed
+ * @param skipped profiles without health data
+ * @param superseded profiles whose snapshot was left as it was because the user's own write
+ *     replaced or dropped it while the batch was scored
+ * @param throttleMillis current pause between batches caused by database latency
+ * @param lastUserUuid checkpoint the job resumes from
+ * @param startedAt when the job was first started
+ * @param updatedAt when the last batch was written
+ * @param finishedAt when the job stopped, if it did
+ * @param error why the job failed, if it did
+ * @param owner the instance running the job, or the one that last ran it
+ */
+public record RescoreStatusDTO(
+    RescoreCheckpoint.Status status,
+    long total,
+    long processed,
+    long failed,
+    long skipped,
+    long superseded,
+    long throttleMillis,
+    UUID lastUserUuid,
+    Instant startedAt,
+    Instant updatedAt,
+    Instant finishedAt,
+    String error,
+    String owner) {
+
+  public static RescoreStatusDTO of(RescoreCheckpoint checkpoint) {
+    return new RescoreStatusDTO(
+        checkpoint.getStatus(),
+        checkpoint.getTotal(),
+        checkpoint.getProcessed(),
+        checkpoint.getFailed(),
+        checkpoint.getSkipped(),
+        checkpoint.getSuperseded(),
+        checkpoint.getThrottleMillis(),
+        checkpoint.getLastUserUuid(),
+        checkpoint.getStartedAt(),
+        checkpoint.getUpdatedAt(),
+        checkpoint.getFinishedAt(),
+        checkpoint.getError(),
+        checkpoint.getOwner());
+  }
+}
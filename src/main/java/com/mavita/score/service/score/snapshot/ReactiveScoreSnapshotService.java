@@ -0,0 +1,230 @@
+package com.mavita.score.service.score.snapshot;
+
+import com.mavita.score.config.ScoreFetchProperties;
+import com.mavita.score.domain.score.ScoreSnapshot;
+import com.mavita.score.exception.ScoreDataTimeoutException;
+import com.mavita.score.exception.UnknownIndicatorException;
+import com.mavita.score.repository.score.ReactiveScoreSnapshotRepository;
+import com.mavita.score.service.HealthScoreService;
+import com.mavita.score.service.health.ReactiveHealthService;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.profile.ReactiveProfileService;
+import com.mavita.score.service.profile.dto.ProfileDTO;
+import com.mavita.score.service.score.cache.IndicatorJsonCache;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.snapshot.dto.CurrentScoreJsonDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of the read path of {@link ScoreSnapshotService}, used by the reactive
+ * endpoints.
+ *
+ * <p>A fresh snapshot is read with the reactive driver and encoded on the event loop, which is
+ * cheap once the {@link IndicatorJsonCache} holds it. Otherwise the profile and the health data
+ * are loaded concurrently ({@link Mono#zip}) within the {@code score.fetch.timeout} deadline, and
+ * the scoring runs on the bounded {@code scoreScheduler} so the event loops never do CPU-heavy
+ * work. Recomputed snapshots are stored as by {@link ScoreSnapshotService#refresh(UUID)}, and
+ * appended to the history on {@link Schedulers#boundedElastic()}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveScoreSnapshotService {
+
+  private final ReactiveScoreSnapshotRepository snapshotRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final ReactiveProfileService profileService;
+  private final ReactiveHealthService healthService;
+  private final ScoreSnapshotService snapshotService;
+  private final HealthScoreService healthScoreService;
+  private final ScoringEngine scoringEngine;
+  private final IndicatorJsonCache indicatorJsonCache;
+  private final ScoreFetchProperties fetchProperties;
+  private final Scheduler scoreScheduler;
+
+  /**
+   * Returns the current indicators of the given user as a JSON array with their entity tag, like
+   * {@link ScoreSnapshotService#readCurrentScoreJson(String)}.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @return the UTF-8 encoded JSON array, {@code []} without a tag when the user has no scores;
+   *     fails with {@link IllegalArgumentException} if {@code userUuid} is {@code null} or blank
+   */
+  public Mono<CurrentScoreJsonDTO> getCurrentScoreJson(String userUuid) {
+    return Mono.defer(
+        () -> {
+          final UUID uuid = parse(userUuid);
+          if (!presenceFilter.mightHaveScores(uuid)) {
+            return Mono.fromSupplier(ScoreSnapshotService::emptyJson);
+          }
+          return currentSnapshot(uuid)
+              .map(snapshot -> snapshotService.toJson(snapshot, null))
+              .switchIfEmpty(Mono.fromSupplier(ScoreSnapshotService::emptyJson));
+        });
+  }
+
+  /**
+   * Returns some of the current indicators of the given user as a JSON array, like {@link
+   * ScoreSnapshotService#getCurrentScoreJson(String, Collection)}: when the snapshot is not fresh,
+   * only the factors the selected indicators need are computed and nothing is stored.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @param ids the selected indicator ids
+   * @return the UTF-8 encoded JSON array, tagged when it comes from the snapshot, {@code []}
+   *     without a tag when the user has no scores; fails with {@link IllegalArgumentException} if
+   *     {@code userUuid} is {@code null} or blank, or with {@link UnknownIndicatorException} if the
+   *     active rule set does not define one of the ids
+   */
+  public Mono<CurrentScoreJsonDTO> getCurrentScoreJson(String userUuid, Collection<String> ids) {
+    return Mono.defer(
+        () -> {
+          final UUID uuid = parse(userUuid);
+          final long factors = scoringEngine.requiredFactors(ids);
+          if (!presenceFilter.mightHaveScores(uuid)) {
+            return Mono.fromSupplier(ScoreSnapshotService::emptyJson);
+          }
+          return snapshotRepository
+              .findByUserUuid(uuid)
+              .filter(
+                  snapshot ->
+                      ScoreSnapshotService.isFresh(
+                          snapshot, LocalDate.now(), scoringEngine.ruleVersion()))
+              .map(snapshot -> snapshotService.toJson(snapshot, ids))
+              .switchIfEmpty(
+                  Mono.defer(
+                      () ->
+                          findInputs(uuid, factors)
+                              .publishOn(scoreScheduler)
+                              .map(
+                                  inputs ->
+                                      new CurrentScoreJsonDTO(
+                                          indicatorJsonCache.toJson(
+                                              scoringEngine.indicators(
+                                                  healthScoreService.calculateScore(
+                                                      inputs, factors),
+                                                  ids)),
+                                          null))))
+              .switchIfEmpty(Mono.fromSupplier(ScoreSnapshotService::emptyJson));
+        });
+  }
+
+  /**
+   * Reads the snapshot of a user, recomputing and storing it when it is missing or stale.
+   *
+   * @param userUuid the user's UUID
+   * @return the fresh snapshot, or empty when the profile or the health data does not exist
+   */
+  private Mono<ScoreSnapshot> currentSnapshot(UUID userUuid) {
+    return snapshotRepository
+        .findByUserUuid(userUuid)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            stored ->
+                stored
+                    .filter(
+                        snapshot ->
+                            ScoreSnapshotService.isFresh(
+                                snapshot, LocalDate.now(), scoringEngine.ruleVersion()))
+                    .map(Mono::just)
+                    .orElseGet(() -> refresh(userUuid, stored.orElse(null))));
+  }
+
+  /**
+   * Recomputes and stores the snapshot of a user whose snapshot is missing or stale, like {@link
+   * ScoreSnapshotService#refresh(UUID)}: the result is only stored if {@code current} is still the
+   * stored snapshot, and the read starts over otherwise.
+   *
+   * @param userUuid the user's UUID
+   * @param current the stored snapshot, or {@code null} if there is none
+   * @return the stored snapshot, or empty when the profile or the health data does not exist (in
+   *     which case any previous snapshot is removed)
+   */
+  private Mono<ScoreSnapshot> refresh(UUID userUuid, ScoreSnapshot current) {
+    final LocalDate today = LocalDate.now();
+    return findInputs(userUuid, ScoreFactor.ALL)
+        .publishOn(scoreScheduler)
+        .map(inputs -> Optional.of(snapshotService.compute(inputs, today)))
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            computed ->
+                computed.isPresent()
+                    ? store(userUuid, computed.get(), current)
+                    : remove(userUuid, current));
+  }
+
+  private Mono<ScoreSnapshot> store(UUID userUuid, ScoreSnapshot snapshot, ScoreSnapshot current) {
+    return snapshotRepository
+        .replaceIfUnchanged(snapshot, current)
+        .flatMap(
+            stored -> {
+              if (!stored) {
+                snapshotService.countRefresh("conflict");
+                return currentSnapshot(userUuid);
+              }
+              snapshotService.countRefresh("full");
+              Schedulers.boundedElastic().schedule(() -> snapshotService.appendHistory(snapshot));
+              return Mono.just(snapshot);
+            });
+  }
+
+  private Mono<ScoreSnapshot> remove(UUID userUuid, ScoreSnapshot current) {
+    return (current == null ? Mono.just(true) : snapshotRepository.deleteIfUnchanged(current))
+        .flatMap(
+            deleted -> {
+              if (!deleted) {
+                snapshotService.countRefresh("conflict");
+                return currentSnapshot(userUuid);
+              }
+              snapshotService.countRefresh("deleted");
+              return Mono.empty();
+            });
+  }
+
+  /**
+   * Loads the data needed to evaluate some factors of the specified user, like {@link
+   * HealthScoreService#findInputs(String, long)}: both lookups run concurrently, and the health
+   * document is only checked for existence when no factor in {@code factors} reads it.
+   *
+   * @param userUuid the user's UUID
+   * @param factors mask of the factors that will be evaluated (see {@link ScoreFactor#bit()})
+   * @return the loaded inputs, or empty when the profile or the health data does not exist; fails
+   *     with {@link ScoreDataTimeoutException} if the data is not loaded within the deadline
+   */
+  private Mono<ScoreInputsDTO> findInputs(UUID userUuid, long factors) {
+    final Mono<ProfileDTO> profile = profileService.findById(userUuid);
+    final Mono<ScoreInputsDTO> inputs =
+        (factors & ~ScoreFactor.PROFILE) != 0
+            ? Mono.zip(profile, healthService.findById(userUuid), ScoreInputsDTO::new)
+            : Mono.zip(
+                profile,
+                healthService.exists(userUuid).filter(Boolean::booleanValue),
+                (found, exists) -> new ScoreInputsDTO(found, null));
+    return inputs.timeout(
+        fetchProperties.timeout(),
+        Mono.error(
+            () ->
+                new ScoreDataTimeoutException("Profile and health data were not loaded in time")));
+  }
+
+  private static UUID parse(String userUuid) {
+    if (userUuid == null || userUuid.isBlank()) {
+      throw new IllegalArgumentException("userUuid must not be null or blank");
+    }
+    return UUID.fromString(userUuid);
+  }
+}
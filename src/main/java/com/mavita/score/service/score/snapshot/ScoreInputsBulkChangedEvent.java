@@ -0,0 +1,13 @@
+package com.mavita.score.service.score.snapshot;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after the profiles or the health data of many users have been written in bulk.
+ *
+ * @param userUuids the users whose scoring inputs changed
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record ScoreInputsBulkChangedEvent(Set<UUID> userUuids) {}
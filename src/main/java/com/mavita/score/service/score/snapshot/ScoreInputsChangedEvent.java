@@ -0,0 +1,15 @@
+package com.mavita.score.service.score.snapshot;
+
+import com.mavita.score.service.score.engine.ScoreFactor;
+import java.util.UUID;
+
+/**
+ * Published after the profile or the health data of a user has been written.
+ *
+ * @param userUuid the user whose scoring inputs changed
+ * @param changedFactors mask of the factors whose input changed (see {@link ScoreFactor#changed});
+ *     {@link ScoreFactor#ALL} when the document was created
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record ScoreInputsChangedEvent(UUID userUuid, long changedFactors) {}
@@ -0,0 +1,455 @@
+package com.mavita.score.service.score.snapshot;
+
+import com.mavita.score.config.ScoreStaleProperties;
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.domain.score.ScoreSnapshot;
+import com.mavita.score.exception.UnknownIndicatorException;
+import com.mavita.score.repository.score.ScoreSnapshotRepository;
+import com.mavita.score.service.HealthPointerScoreService;
+import com.mavita.score.service.HealthScoreService;
+import com.mavita.score.service.health.HealthService;
+import com.mavita.score.service.presence.UserPresenceFilter;
+import com.mavita.score.service.profile.ProfileService;
+import com.mavita.score.service.score.cache.IndicatorJsonCache;
+import com.mavita.score.service.score.cache.LastGoodStore;
+import com.mavita.score.service.score.cache.LastGoodStore.Reading;
+import com.mavita.score.service.score.engine.ScoreFactor;
+import com.mavita.score.service.score.engine.ScoringEngine;
+import com.mavita.score.service.score.global.dto.HealthScoreSummaryDTO;
+import com.mavita.score.service.score.global.dto.ScoreInputsDTO;
+import com.mavita.score.service.score.history.ScoreHistoryService;
+import com.mavita.score.service.score.pointer.dto.IndicatorScoreDTO;
+import com.mavita.score.service.score.snapshot.dto.CurrentScoreJsonDTO;
+import com.mavita.score.utils.Fingerprint;
+import com.mavita.score.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Maintains the materialized {@link ScoreSnapshot} of each user.
+ *
+ * <p>Scores are read far more often than the answers change, so the work is moved to the write
+ * path:
+ *
+ * <ul>
+ *   <li>When the profile or the health data is written, a {@link ScoreInputsChangedEvent} triggers
+ *       {@link #refresh(UUID, long)}, which computes the {@link HealthScoreSummaryDTO} and all
+ *       indicators and stores them in the {@code score_snapshot} collection. When a fresh snapshot
+ *       exists, only the factors whose inputs changed and the indicators that sum them are
+ *       recomputed.
+ *   <li>{@link #getCurrentScore(String)} serves the stored indicators with a single indexed lookup;
+ *       {@link #getCurrentScoreJson(String)} serves them already encoded.
+ *       Missing snapshots (e.g. users created before snapshots existed), snapshots whose age band
+ *       expired and snapshots computed with another rule set version are recomputed on read and
+ *       stored again. Concurrent reads of the same user share one recomputation ({@link
+ *       SingleFlight}, counted as {@code score.singleflight.calls{name=snapshot-refresh}}).
+ *   <li>{@link #readCurrentScoreJson(String)} bounds that read by {@link
+ *       ScoreStaleProperties#budget()}: past it, the snapshot last served to the user is served
+ *       again, flagged as stale, while the read completes in the background (see {@link
+ *       LastGoodStore}).
+ *   <li>The JSON is served with an entity tag derived from the snapshot it was encoded from (see
+ *       {@link CurrentScoreJsonDTO}), so a client holding it can be answered with a 304 after the
+ *       one snapshot read, without scoring.
+ *   <li>Users the {@link UserPresenceFilter} knows to have no profile or no health data have no
+ *       scores: their reads are answered without touching the database.
+ *   <li>Every refresh is also appended to the user's history through {@link
+ *       ScoreHistoryService}.
+ *   <li>Writes in bulk publish a {@link ScoreInputsBulkChangedEvent} instead, which drops the
+ *       affected snapshots with a single bulk delete; they are recomputed on their next read.
+ * </ul>
+ *
+ * <p>Refreshes are counted as {@code score.snapshot.refresh}, tagged {@code
+ * mode=skipped|incremental|full|deleted|invalidated|conflict}; refreshes triggered by a write that
+ * failed are counted as {@code score.snapshot.refresh.failures}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class ScoreSnapshotService {
+
+  private static final byte[] EMPTY_JSON_ARRAY = {'[', ']'};
+
+  private final ScoreSnapshotRepository snapshotRepository;
+  private final UserPresenceFilter presenceFilter;
+  private final HealthScoreService healthScoreService;
+  private final HealthPointerScoreService healthPointerScoreService;
+  private final ScoringEngine scoringEngine;
+  private final ScoreHistoryService historyService;
+  private final IndicatorJsonCache indicatorJsonCache;
+  private final MeterRegistry meterRegistry;
+  private final SingleFlight<UUID, Optional<ScoreSnapshot>> readRefreshes;
+  private final LastGoodStore<ScoreSnapshot> lastGood;
+
+  public ScoreSnapshotService(
+      ScoreSnapshotRepository snapshotRepository,
+      UserPresenceFilter presenceFilter,
+      HealthScoreService healthScoreService,
+      HealthPointerScoreService healthPointerScoreService,
+      ScoringEngine scoringEngine,
+      ScoreHistoryService historyService,
+      IndicatorJsonCache indicatorJsonCache,
+      ScoreStaleProperties staleProperties,
+      ExecutorService scoreFetchExecutor,
+      MeterRegistry meterRegistry) {
+    this.snapshotRepository = snapshotRepository;
+    this.presenceFilter = presenceFilter;
+    this.healthScoreService = healthScoreService;
+    this.healthPointerScoreService = healthPointerScoreService;
+    this.scoringEngine = scoringEngine;
+    this.historyService = historyService;
+    this.indicatorJsonCache = indicatorJsonCache;
+    this.meterRegistry = meterRegistry;
+    this.readRefreshes = new SingleFlight<>("snapshot-refresh", meterRegistry);
+    this.lastGood =
+        new LastGoodStore<>(
+            "last-good-snapshots", staleProperties, scoreFetchExecutor, meterRegistry);
+  }
+
+  /**
+   * Returns the current indicators of the given user.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @return a (possibly empty) list of indicators
+   * @throws IllegalArgumentException if {@code userUuid} is {@code null} or blank
+   */
+  public List<IndicatorScoreDTO> getCurrentScore(String userUuid) {
+    return currentSnapshot(userUuid).map(ScoreSnapshot::getIndicators).orElseGet(List::of);
+  }
+
+  /**
+   * Returns the current indicators of the given user as a JSON array, encoded through the {@link
+   * IndicatorJsonCache}.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @return the UTF-8 encoded JSON array, {@code []} when the user has no scores
+   * @throws IllegalArgumentException if {@code userUuid} is {@code null} or blank
+   */
+  public byte[] getCurrentScoreJson(String userUuid) {
+    return currentSnapshot(userUuid)
+        .map(
+            snapshot ->
+                indicatorJsonCache.toJson(
+                    snapshot.getRuleVersion(), snapshot.getSummary(), snapshot.getIndicators()))
+        .orElseGet(() -> EMPTY_JSON_ARRAY.clone());
+  }
+
+  /**
+   * Returns the current indicators of the given user as a JSON array like {@link
+   * #getCurrentScoreJson(String)}, with their entity tag, or the last ones served to the user when
+   * reading them runs over the budget.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @return the UTF-8 encoded JSON array, {@code []} without a tag when the user has no scores,
+   *     flagged as stale when it holds the last indicators served
+   * @throws IllegalArgumentException if {@code userUuid} is {@code null} or blank
+   */
+  public Reading<CurrentScoreJsonDTO> readCurrentScoreJson(String userUuid) {
+    if (userUuid == null || userUuid.isBlank()) {
+      throw new IllegalArgumentException("userUuid must not be null or blank");
+    }
+
+    final UUID uuid = UUID.fromString(userUuid);
+    if (!presenceFilter.mightHaveScores(uuid)) {
+      return new Reading<>(emptyJson(), false, Instant.now());
+    }
+    final Reading<CurrentScoreJsonDTO> reading =
+        lastGood
+            .read(uuid, () -> currentSnapshot(userUuid).orElse(null))
+            .map(snapshot -> toJson(snapshot, null));
+    return reading.value() != null
+        ? reading
+        : new Reading<>(emptyJson(), reading.stale(), reading.readAt());
+  }
+
+  /**
+   * Returns some of the current indicators of the given user as a JSON array.
+   *
+   * <p>A fresh snapshot is filtered, and tagged. Otherwise only the selected indicators are
+   * computed, from the factors they need ({@link
+   * HealthPointerScoreService#calculateTotalScore(String, Collection)}), and nothing is stored: the
+   * next full read refreshes the snapshot. Such indicators have no tag.
+   *
+   * @param userUuid the user's UUID as a string (must not be {@code null} or blank)
+   * @param ids the selected indicator ids
+   * @return the UTF-8 encoded JSON array, {@code []} without a tag when the user has no scores
+   * @throws IllegalArgumentException if {@code userUuid} is {@code null} or blank
+   * @throws UnknownIndicatorException if the active rule set does not define one of the ids
+   */
+  public CurrentScoreJsonDTO getCurrentScoreJson(String userUuid, Collection<String> ids) {
+    if (userUuid == null || userUuid.isBlank()) {
+      throw new IllegalArgumentException("userUuid must not be null or blank");
+    }
+    scoringEngine.requiredFactors(ids);
+    final UUID uuid = UUID.fromString(userUuid);
+    if (!presenceFilter.mightHaveScores(uuid)) {
+      return emptyJson();
+    }
+
+    return snapshotRepository
+        .findByUserUuid(uuid)
+        .filter(snapshot -> isFresh(snapshot, LocalDate.now(), scoringEngine.ruleVersion()))
+        .map(snapshot -> toJson(snapshot, ids))
+        .orElseGet(
+            () ->
+                new CurrentScoreJsonDTO(
+                    indicatorJsonCache.toJson(
+                        healthPointerScoreService.calculateTotalScore(userUuid, ids)),
+                    null));
+  }
+
+  /**
+   * Encodes the indicators of a snapshot, all or some of them, and tags them.
+   *
+   * <p>The tag is a fingerprint of the snapshot: its user, when and from which rule set version and
+   * input hashes it was computed, and when its age band expires, plus the selected ids. A stored
+   * snapshot is only ever replaced by one computed later, so a tag covers the moment the indicators
+   * were last updated and always stands for the same JSON.
+   *
+   * @param snapshot the snapshot
+   * @param ids the selected indicator ids, or {@code null} for all
+   * @return the JSON and its tag
+   */
+  CurrentScoreJsonDTO toJson(ScoreSnapshot snapshot, Collection<String> ids) {
+    final byte[] json =
+        ids == null
+            ? indicatorJsonCache.toJson(
+                snapshot.getRuleVersion(), snapshot.getSummary(), snapshot.getIndicators())
+            : indicatorJsonCache.toJson(
+                snapshot.getRuleVersion(), snapshot.getSummary(), snapshot.getIndicators(), ids);
+    final long tag =
+        Fingerprint.start()
+            .add(snapshot.getUserUuid().toString())
+            .add(Objects.toString(snapshot.getComputedAt(), null))
+            .add(snapshot.getRuleVersion())
+            .add(Objects.toString(snapshot.getProfileHash(), null))
+            .add(Objects.toString(snapshot.getHealthHash(), null))
+            .add(Objects.toString(snapshot.getValidUntil(), null))
+            .add(ids == null ? null : ids.stream().sorted().toList())
+            .value();
+    return new CurrentScoreJsonDTO(json, '"' + Long.toHexString(tag) + '"');
+  }
+
+  /** The indicators of a user without scores, untagged. */
+  static CurrentScoreJsonDTO emptyJson() {
+    return new CurrentScoreJsonDTO(EMPTY_JSON_ARRAY.clone(), null);
+  }
+
+  private Optional<ScoreSnapshot> currentSnapshot(String userUuid) {
+    if (userUuid == null || userUuid.isBlank()) {
+      throw new IllegalArgumentException("userUuid must not be null or blank");
+    }
+
+    final UUID uuid = UUID.fromString(userUuid);
+    if (!presenceFilter.mightHaveScores(uuid)) {
+      return Optional.empty();
+    }
+    final Optional<ScoreSnapshot> stored = snapshotRepository.findByUserUuid(uuid);
+    return stored
+        .filter(snapshot -> isFresh(snapshot, LocalDate.now(), scoringEngine.ruleVersion()))
+        .or(() -> readRefreshes.execute(uuid, () -> refresh(uuid, ScoreFactor.ALL, stored)));
+  }
+
+  /**
+   * Recomputes the snapshot of a user whose profile or health data was written.
+   *
+   * <p>Scoring failures (e.g. answers that no rule accepts) must not fail the write that triggered
+   * the event: they are logged, the stale snapshot is dropped and the error surfaces on the next
+   * read instead.
+   *
+   * @param event the change notification
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onScoreInputsChanged(ScoreInputsChangedEvent event) {
+    try {
+      refresh(event.userUuid(), event.changedFactors());
+    } catch (RuntimeException ex) {
+      meterRegistry
+          .counter("score.snapshot.refresh.failures", "exception", ex.getClass().getSimpleName())
+          .increment();
+      log.warn("Could not refresh score snapshot of user {}", event.userUuid(), ex);
+      lastGood.put(event.userUuid(), null);
+      // The stale snapshot must go even when the refresh was abandoned at the request deadline.
+      try (Deadline.Scope scope = Deadline.attach(null)) {
+        snapshotRepository.deleteByUserUuid(event.userUuid());
+      }
+    }
+  }
+
+  /**
+   * Drops the snapshots of users written in bulk. Refreshing them one by one would cost a read and
+   * a write per user while the bulk load is running; each is recomputed on its next read instead.
+   * Like refresh failures, a failure is logged and does not fail the write.
+   *
+   * @param event the change notification
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onScoreInputsBulkChanged(ScoreInputsBulkChangedEvent event) {
+    lastGood.invalidateAll(event.userUuids());
+    try {
+      snapshotRepository.deleteByUserUuidIn(event.userUuids());
+      meterRegistry
+          .counter("score.snapshot.refresh", "mode", "invalidated")
+          .increment(event.userUuids().size());
+    } catch (RuntimeException ex) {
+      meterRegistry
+          .counter("score.snapshot.refresh.failures", "exception", ex.getClass().getSimpleName())
+          .increment();
+      log.warn("Could not drop the score snapshots of {} users", event.userUuids().size(), ex);
+    }
+  }
+
+  /**
+   * Loads the user's inputs, computes the summary and indicators and stores them.
+   *
+   * @param userUuid the user's UUID
+   * @return the stored snapshot, or empty when the profile or the health data does not exist (in
+   *     which case any previous snapshot is removed)
+   */
+  public Optional<ScoreSnapshot> refresh(UUID userUuid) {
+    return refresh(userUuid, ScoreFactor.ALL);
+  }
+
+  /**
+   * Brings the snapshot of a user up to date after some factors' inputs changed.
+   *
+   * <p>If the stored snapshot is fresh, a write that changed no factor leaves it untouched, and
+   * otherwise only {@code changedFactors} and the indicators that sum them are recomputed. In every
+   * other case (no snapshot, stale snapshot) everything is recomputed.
+   *
+   * <p>The result is stored only if the snapshot read beforehand is still the stored one (see
+   * {@link ScoreSnapshotRepository#replaceIfUnchanged}). Otherwise another refresh stored a
+   * snapshot in between, possibly from older inputs than the ones loaded here, so the refresh
+   * starts over from that snapshot; the retries are counted as {@code
+   * score.snapshot.refresh{mode=conflict}}. As the inputs are always loaded after the snapshot is
+   * read, the last snapshot stored is computed from the latest inputs.
+   *
+   * @param userUuid the user's UUID
+   * @param changedFactors mask of the factors whose inputs changed (see {@link ScoreFactor#bit()})
+   * @return the stored snapshot, or empty when the profile or the health data does not exist (in
+   *     which case any previous snapshot is removed)
+   */
+  public Optional<ScoreSnapshot> refresh(UUID userUuid, long changedFactors) {
+    return refresh(userUuid, changedFactors, snapshotRepository.findByUserUuid(userUuid));
+  }
+
+  private Optional<ScoreSnapshot> refresh(
+      UUID userUuid, long changedFactors, Optional<ScoreSnapshot> stored) {
+    Optional<ScoreSnapshot> read = stored;
+    while (true) {
+      final LocalDate today = LocalDate.now();
+      final ScoreSnapshot current = read.orElse(null);
+      final boolean fresh = current != null && isFresh(current, today, scoringEngine.ruleVersion());
+      if (fresh && changedFactors == 0) {
+        countRefresh("skipped");
+        return read;
+      }
+
+      final ScoreInputsDTO inputs = healthScoreService.findInputs(userUuid.toString());
+      if (inputs == null) {
+        if (current == null || snapshotRepository.deleteIfUnchanged(current)) {
+          lastGood.put(userUuid, null);
+          countRefresh("deleted");
+          return Optional.empty();
+        }
+      } else {
+        Deadline.checkCurrent("scoring");
+        final boolean incremental = fresh && changedFactors != ScoreFactor.ALL;
+        final ScoreSnapshot snapshot =
+            incremental
+                ? update(current, inputs, changedFactors, today)
+                : compute(inputs, today);
+        if (snapshotRepository.replaceIfUnchanged(snapshot, current)) {
+          countRefresh(incremental ? "incremental" : "full");
+          lastGood.put(userUuid, snapshot);
+          appendHistory(snapshot);
+          return Optional.of(snapshot);
+        }
+      }
+
+      countRefresh("conflict");
+      read = snapshotRepository.findByUserUuid(userUuid);
+    }
+  }
+
+  /**
+   * Computes the snapshot of already loaded inputs without storing it. Performs no I/O.
+   *
+   * @param inputs the user's profile and health data
+   * @param today the current date, which determines the age band and the snapshot's validity
+   * @return the computed snapshot, without {@code id}
+   */
+  public ScoreSnapshot compute(ScoreInputsDTO inputs, LocalDate today) {
+    // Read before scoring: if the rules are swapped meanwhile, the snapshot keeps the older
+    // version and is recomputed on the next read.
+    final String ruleVersion = scoringEngine.ruleVersion();
+    final HealthScoreSummaryDTO summary =
+        healthPointerScoreService.calculateSummary(inputs.profile(), inputs.health());
+    final List<IndicatorScoreDTO> indicators =
+        healthPointerScoreService.calculateIndicators(summary);
+
+    return new ScoreSnapshot(
+        null,
+        inputs.profile().userUuid(),
+        summary,
+        indicators,
+        scoringEngine.nextAgeBandChange(inputs.profile().birthDate(), today),
+        Instant.now(),
+        ruleVersion,
+        ProfileService.contentHash(inputs.profile()),
+        HealthService.contentHash(inputs.health()));
+  }
+
+  private ScoreSnapshot update(
+      ScoreSnapshot current, ScoreInputsDTO inputs, long changedFactors, LocalDate today) {
+    final String ruleVersion = scoringEngine.ruleVersion();
+    if (!ruleVersion.equals(current.getRuleVersion())) {
+      return compute(inputs, today);
+    }
+
+    final HealthScoreSummaryDTO summary = current.getSummary();
+    scoringEngine.evaluate(inputs.profile(), inputs.health(), summary, changedFactors);
+    return new ScoreSnapshot(
+        null,
+        current.getUserUuid(),
+        summary,
+        scoringEngine.indicators(summary, current.getIndicators(), changedFactors),
+        scoringEngine.nextAgeBandChange(inputs.profile().birthDate(), today),
+        Instant.now(),
+        ruleVersion,
+        ProfileService.contentHash(inputs.profile()),
+        HealthService.contentHash(inputs.health()));
+  }
+
+  void countRefresh(String mode) {
+    meterRegistry.counter("score.snapshot.refresh", "mode", mode).increment();
+  }
+
+  void appendHistory(ScoreSnapshot snapshot) {
+    try {
+      historyService.append(
+          snapshot.getUserUuid(),
+          snapshot.getSummary(),
+          snapshot.getIndicators(),
+          snapshot.getComputedAt());
+    } catch (RuntimeException ex) {
+      log.warn("Could not append score history of user {}", snapshot.getUserUuid(), ex);
+    }
+  }
+
+  static boolean isFresh(ScoreSnapshot snapshot, LocalDate today, String ruleVersion) {
+    return ruleVersion.equals(snapshot.getRuleVersion())
+        && (snapshot.getValidUntil() == null || today.isBefore(snapshot.getValidUntil()));
+  }
+}
@@ -0,0 +1,16 @@
+package com.mavita.score.service.score.snapshot.dto;
+
+/**
+ * The current indicators of a user, encoded as the score endpoint serves them, with the entity tag
+ * that identifies them.
+ *
+ * <p>The tag is derived from the snapshot the JSON was encoded from, so the two cannot disagree:
+ * two responses carry the same tag only if they were encoded from the same stored snapshot.
+ *
+ * @param json the UTF-8 encoded JSON array of indicators
+ * @param tag the quoted strong entity tag, or {@code null} when the indicators do not come from a
+ *     stored snapshot (the user has no scores, or they were computed without being stored)
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public record CurrentScoreJsonDTO(byte[] json, String tag) {}
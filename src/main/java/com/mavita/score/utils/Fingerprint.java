@@ -0,0 +1,118 @@
+package com.mavita.score.utils;
+
+import java.util.List;
+
+/**
+ * Incremental 64-bit fingerprint of a sequence of values.
+ *
+ * <p>Values are folded with FNV-1a and the final state goes through the MurmurHash3 {@code fmix64}
+ * finalizer, which is enough to make accidental collisions negligible for cache keys and change
+ * detection. It is not a cryptographic hash and must not be used where an attacker could choose
+ * inputs to force a collision.
+ *
+ * <p>{@code null} values are encoded with a dedicated marker and every value is followed by a
+ * separator, so {@code ("ab", "c")} and {@code ("a", "bc")} produce different fingerprints.
+ *
+ * <p>Instances are not thread-safe; create one per computation.
+ */
+public final class Fingerprint {
+
+  private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long PRIME = 0x100000001b3L;
+  private static final long NULL_MARKER = 0x9e3779b97f4a7c15L;
+  private static final long SEPARATOR = 0x1fL;
+
+  private long state = OFFSET_BASIS;
+
+  /**
+   * Starts a new fingerprint.
+   *
+   * @return an empty fingerprint
+   */
+  public static Fingerprint start() {
+    return new Fingerprint();
+  }
+
+  /**
+   * Adds a string value.
+   *
+   * @param value the value (may be {@code null})
+   * @return this fingerprint
+   */
+  public Fingerprint add(String value) {
+    if (value == null) return mix(NULL_MARKER);
+    for (int i = 0; i < value.length(); i++) {
+      state = (state ^ value.charAt(i)) * PRIME;
+    }
+    return mix(SEPARATOR);
+  }
+
+  /**
+   * Adds a list of strings, including its size.
+   *
+   * @param values the values (may be {@code null})
+   * @return this fingerprint
+   */
+  public Fingerprint add(List<String> values) {
+    if (values == null) return mix(NULL_MARKER);
+    mix(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      add(values.get(i));
+    }
+    return this;
+  }
+
+  /**
+   * Adds a boolean value.
+   *
+   * @param value the value (may be {@code null})
+   * @return this fingerprint
+   */
+  public Fingerprint add(Boolean value) {
+    if (value == null) return mix(NULL_MARKER);
+    return mix(value ? 1L : 0L);
+  }
+
+  /**
+   * Adds a double value by its IEEE-754 bit pattern.
+   *
+   * @param value the value (may be {@code null})
+   * @return this fingerprint
+   */
+  public Fingerprint add(Double value) {
+    if (value == null) return mix(NULL_MARKER);
+    return mix(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Adds a long value.
+   *
+   * @param value the value
+   * @return this fingerprint
+   */
+  public Fingerprint add(long value) {
+    return mix(value);
+  }
+
+  /**
+   * Returns the finalized 64-bit fingerprint of all values added so far.
+   *
+   * @return the fingerprint
+   */
+  public long value() {
+    long h = state;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private Fingerprint mix(long value) {
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      state = (state ^ ((value >>> shift) & 0xffL)) * PRIME;
+    }
+    return this;
+  }
+}
@@ -14,6 +14,10 @@ import java.util.Optional;
  * simple claims like {@code sub}. It does not verify the signature. For security-sensitive flows,
  * validate the token using your Resource Server (Spring Security / JwtDecoder) before trusting its
  * content.
+ *
+ * <p>Requests to the {@code /api} endpoints are authenticated by {@link
+ * com.mavita.score.security.JwtAuthenticationFilter}, which verifies the token and exposes its
+ * subject as a request attribute.
  */
 public final class JwtUtils {
 
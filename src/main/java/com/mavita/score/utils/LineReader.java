@@ -0,0 +1,96 @@
+package com.mavita.score.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits a UTF-8 stream into lines like {@link java.io.BufferedReader#readLine()}, but never holds
+ * more than {@code maxLength} bytes of a line: the rest of a longer line is discarded as it is
+ * read, so a body without line breaks cannot fill the memory.
+ *
+ * <p>Lines end with {@code \n} or {@code \r\n}. Instances are not thread-safe.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class LineReader {
+
+  private static final byte NEWLINE = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  private final InputStream in;
+  private final int maxLength;
+  private final byte[] buffer = new byte[8192];
+  private byte[] line = new byte[1024];
+  private int position;
+  private int limit;
+  private boolean tooLong;
+
+  /**
+   * Creates a reader of a stream.
+   *
+   * @param in the stream, read in chunks of 8 KB and never closed
+   * @param maxLength the longest line returned, in bytes
+   */
+  public LineReader(InputStream in, int maxLength) {
+    this.in = in;
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Returns the next line without its terminator, or {@code null} at the end of the stream. The
+   * line is empty if it was longer than the maximum, which {@link #tooLong()} then reports.
+   *
+   * @return the line, or {@code null} at the end of the stream
+   * @throws IOException if reading the stream fails
+   */
+  public String readLine() throws IOException {
+    int length = 0;
+    boolean read = false;
+    tooLong = false;
+    while (true) {
+      if (position == limit) {
+        position = 0;
+        limit = Math.max(in.read(buffer), 0);
+        if (limit == 0) {
+          return read ? decode(length) : null;
+        }
+      }
+      read = true;
+
+      int end = position;
+      while (end < limit && buffer[end] != NEWLINE) end++;
+      length = append(length, end - position);
+      if (end < limit) {
+        position = end + 1;
+        return decode(length);
+      }
+      position = end;
+    }
+  }
+
+  /** Whether the last line returned by {@link #readLine()} was longer than the maximum. */
+  public boolean tooLong() {
+    return tooLong;
+  }
+
+  private int append(int length, int count) {
+    if (tooLong || count == 0) return length;
+    if (length + count > maxLength) {
+      tooLong = true;
+      return 0;
+    }
+    if (length + count > line.length) {
+      line = Arrays.copyOf(line, Math.min(Math.max(line.length * 2, length + count), maxLength));
+    }
+    System.arraycopy(buffer, position, line, length, count);
+    return length + count;
+  }
+
+  private String decode(int length) {
+    if (length > 0 && line[length - 1] == CARRIAGE_RETURN) length--;
+    return new String(line, 0, length, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,177 @@
+package com.mavita.score.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of UUIDs that answers "definitely absent" or "possibly present", in a few bits per element.
+ *
+ * <p>A Bloom filter sized for {@code n} elements and a false positive rate {@code p} degrades past
+ * {@code n}. This one grows instead (Almeida et al., "Scalable Bloom Filters"): when the current
+ * stage is full, a new stage twice as large is added, with half the false positive rate, so the
+ * compound rate stays under {@code 2p} however many elements are added. A lookup probes every
+ * stage, i.e. one more stage per doubling of the elements.
+ *
+ * <p>Elements cannot be removed. Bits are set with atomic operations, so additions and lookups
+ * may run concurrently; an element whose {@link #add(UUID)} returned is visible to every later
+ * {@link #mightContain(UUID)}.
+ *
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class ScalableBloomFilter {
+
+  private static final int GROWTH = 2;
+  private static final double TIGHTENING = 0.5;
+
+  private volatile Stage[] stages;
+
+  /**
+   * Creates an empty filter.
+   *
+   * @param expectedElements the capacity of the first stage
+   * @param falsePositiveRate the false positive rate of the first stage, in {@code (0, 1)}
+   */
+  public ScalableBloomFilter(long expectedElements, double falsePositiveRate) {
+    if (expectedElements < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("Invalid Bloom filter sizing");
+    }
+    this.stages = new Stage[] {new Stage(expectedElements, falsePositiveRate)};
+  }
+
+  /**
+   * Tells whether {@code uuid} may have been added.
+   *
+   * @param uuid the element
+   * @return {@code false} if it was definitely never added
+   */
+  public boolean mightContain(UUID uuid) {
+    final long h1 = mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+    final long h2 = mix(h1 ^ uuid.getLeastSignificantBits()) | 1;
+    for (Stage stage : stages) {
+      if (stage.mightContain(h1, h2)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds {@code uuid}, growing the filter if the current stage is full.
+   *
+   * @param uuid the element
+   */
+  public void add(UUID uuid) {
+    final long h1 = mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+    final long h2 = mix(h1 ^ uuid.getLeastSignificantBits()) | 1;
+    for (Stage stage : stages) {
+      if (stage.mightContain(h1, h2)) {
+        return;
+      }
+    }
+
+    Stage last = last();
+    if (last.count.get() >= last.capacity) {
+      last = grow(last);
+    }
+    last.add(h1, h2);
+  }
+
+  /** Returns the number of elements added, approximately (duplicates are mostly not counted). */
+  public long size() {
+    long size = 0;
+    for (Stage stage : stages) {
+      size += stage.count.get();
+    }
+    return size;
+  }
+
+  /** Returns the memory held by the bit arrays, in bytes. */
+  public long sizeInBytes() {
+    long bytes = 0;
+    for (Stage stage : stages) {
+      bytes += (long) stage.bits.length() * Long.BYTES;
+    }
+    return bytes;
+  }
+
+  private Stage last() {
+    final Stage[] current = stages;
+    return current[current.length - 1];
+  }
+
+  private synchronized Stage grow(Stage full) {
+    final Stage[] current = stages;
+    final Stage last = current[current.length - 1];
+    if (last != full) {
+      return last;
+    }
+    final Stage[] grown = new Stage[current.length + 1];
+    System.arraycopy(current, 0, grown, 0, current.length);
+    grown[current.length] =
+        new Stage(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+    stages = grown;
+    return grown[current.length];
+  }
+
+  /** MurmurHash3 {@code fmix64} finalizer. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  /** A classic Bloom filter; the probe positions come from two hashes (Kirsch-Mitzenmacher). */
+  private static final class Stage {
+
+    private final long capacity;
+    private final double falsePositiveRate;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+    private final AtomicLong count = new AtomicLong();
+
+    Stage(long capacity, double falsePositiveRate) {
+      this.capacity = capacity;
+      this.falsePositiveRate = falsePositiveRate;
+      final double optimalBits =
+          -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+      final int words = Math.toIntExact(Math.max(1, (long) Math.ceil(optimalBits / Long.SIZE)));
+      this.bits = new AtomicLongArray(words);
+      this.bitCount = (long) words * Long.SIZE;
+      this.hashes = Math.max(1, (int) Math.round(optimalBits / capacity * Math.log(2)));
+    }
+
+    boolean mightContain(long h1, long h2) {
+      long hash = h1;
+      for (int i = 0; i < hashes; i++) {
+        final long bit = Long.remainderUnsigned(hash, bitCount);
+        if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+        hash += h2;
+      }
+      return true;
+    }
+
+    void add(long h1, long h2) {
+      long hash = h1;
+      for (int i = 0; i < hashes; i++) {
+        final long bit = Long.remainderUnsigned(hash, bitCount);
+        final int word = (int) (bit >>> 6);
+        final long mask = 1L << bit;
+        long current;
+        while (((current = bits.get(word)) & mask) == 0
+            && !bits.compareAndSet(word, current, current | mask)) {
+          // Another bit of the word was set concurrently; retry.
+        }
+        hash += h2;
+      }
+      count.incrementAndGet();
+    }
+  }
+}
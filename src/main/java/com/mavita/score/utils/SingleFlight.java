@@ -0,0 +1,114 @@
+package com.mavita.score.utils;
+
+import com.mavita.score.deadline.Deadline;
+import com.mavita.score.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ *
+ * <p>The first caller of {@link #execute(Object, Supplier)} for a key computes the value on its own
+ * thread; callers arriving while it runs wait for it and receive the same value, or the same
+ * exception. Nothing is cached: once the computation completes, the next caller computes again, so
+ * results are never staler than the ones of an uncoalesced call that started at the same time.
+ *
+ * <p>The computation runs under the {@link Deadline} of its first caller. A waiting caller stops
+ * waiting at its own deadline, and computes again itself when the computation it waited for was
+ * abandoned because the deadline of the first caller ran out.
+ *
+ * <p>Calls are counted as {@code score.singleflight.calls}, tagged with the {@code name} given at
+ * construction and {@code outcome=computed|shared}; the share of {@code shared} calls is the
+ * reuse rate.
+ *
+ * <p>The computation must not call {@link #execute(Object, Supplier)} of the same instance with the
+ * same key, which would wait for itself.
+ *
+ * @param <K> the key type, with value-based {@code equals} and {@code hashCode}
+ * @param <V> the value type; values are shared between callers, so they should be immutable
+ * @author Leandro Marques
+ * @since 1.0.0
+ */
+public final class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter computed;
+  private final Counter shared;
+
+  /**
+   * Creates a coalescer whose calls are counted under the given name.
+   *
+   * @param name the value of the {@code name} tag of the metrics
+   * @param meterRegistry where the metrics are registered
+   */
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.computed =
+        meterRegistry.counter("score.singleflight.calls", "name", name, "outcome", "computed");
+    this.shared =
+        meterRegistry.counter("score.singleflight.calls", "name", name, "outcome", "shared");
+  }
+
+  /**
+   * Returns the value of {@code key}, computing it unless a concurrent call already does.
+   *
+   * @param key the key identifying the computation
+   * @param computation computes the value; only called by the first of concurrent callers
+   * @return the computed value
+   * @throws RuntimeException the exception thrown by the computation, rethrown to every caller
+   */
+  public V execute(K key, Supplier<V> computation) {
+    final CompletableFuture<V> call = new CompletableFuture<>();
+    final CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      shared.increment();
+      try {
+        return await(running);
+      } catch (RuntimeException ex) {
+        if (Deadline.isExceeded(ex) && Deadline.current().map(d -> !d.expired()).orElse(true)) {
+          return execute(key, computation);
+        }
+        throw ex;
+      }
+    }
+
+    computed.increment();
+    try {
+      final V value = computation.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      call.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /** Returns the number of computations currently running. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> running) {
+    try {
+      return running.get(Deadline.boundNanos(Long.MAX_VALUE), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      throw new DeadlineExceededException(
+          "The request deadline ran out before the shared computation completed");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a shared computation", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) throw cause;
+      if (ex.getCause() instanceof Error cause) throw cause;
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+}